@@ -7,6 +7,7 @@ import org.springframework.web.cors.UrlBasedCorsConfigurationSource;
 import org.springframework.web.filter.CorsFilter;
 
 import java.util.Arrays;
+import java.util.List;
 
 /**
  * CORS configuration to allow frontend to access the API.
@@ -14,14 +15,17 @@ import java.util.Arrays;
 @Configuration
 public class CorsConfig {
 
+    static final List<String> ALLOWED_ORIGINS = List.of("http://localhost:3000", "http://localhost:3001");
+
     @Bean
     public CorsFilter corsFilter() {
         UrlBasedCorsConfigurationSource source = new UrlBasedCorsConfigurationSource();
         CorsConfiguration config = new CorsConfiguration();
         config.setAllowCredentials(true);
-        config.setAllowedOrigins(Arrays.asList("http://localhost:3000", "http://localhost:3001"));
+        config.setAllowedOrigins(ALLOWED_ORIGINS);
         config.setAllowedHeaders(Arrays.asList("*"));
         config.setAllowedMethods(Arrays.asList("GET", "POST", "PUT", "DELETE", "OPTIONS"));
+        config.setExposedHeaders(Arrays.asList("X-Next-Cursor", "ETag"));
         source.registerCorsConfiguration("/**", config);
         return new CorsFilter(source);
     }
@@ -0,0 +1,20 @@
+package com.gotocompany.cards.config;
+
+import com.gotocompany.cards.util.IdGenerator;
+import com.gotocompany.cards.util.IdStrategy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Id generation configuration.
+ * Selects the built-in generator used for new game and deck ids.
+ */
+@Configuration
+public class IdConfig {
+
+    @Bean
+    public IdGenerator idGenerator(@Value("${cards.ids.strategy:TIME_ORDERED}") IdStrategy strategy) {
+        return strategy;
+    }
+}
@@ -0,0 +1,28 @@
+package com.gotocompany.cards.config;
+
+import com.gotocompany.cards.controller.GameFeedWebSocketHandler;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.socket.config.annotation.EnableWebSocket;
+import org.springframework.web.socket.config.annotation.WebSocketConfigurer;
+import org.springframework.web.socket.config.annotation.WebSocketHandlerRegistry;
+
+/**
+ * Registers the WebSocket transport of the game feed.
+ */
+@Configuration
+@EnableWebSocket
+public class WebSocketConfig implements WebSocketConfigurer {
+
+    private final GameFeedWebSocketHandler gameFeedHandler;
+
+    public WebSocketConfig(GameFeedWebSocketHandler gameFeedHandler) {
+        this.gameFeedHandler = gameFeedHandler;
+    }
+
+    @Override
+    public void registerWebSocketHandlers(WebSocketHandlerRegistry registry) {
+        // The handshake is not covered by the CORS filter, so origins are checked here
+        registry.addHandler(gameFeedHandler, GameFeedWebSocketHandler.PATH)
+                .setAllowedOrigins(CorsConfig.ALLOWED_ORIGINS.toArray(new String[0]));
+    }
+}
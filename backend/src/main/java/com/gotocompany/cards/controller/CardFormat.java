@@ -0,0 +1,58 @@
+package com.gotocompany.cards.controller;
+
+import org.springframework.http.MediaType;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Wire formats offered by the card endpoints, chosen from the request's Accept header.
+ * JSON is the default; the others are for machine clients that don't need a JSON
+ * object per card.
+ */
+enum CardFormat {
+    /** Array of card objects, as {@link com.gotocompany.cards.dto.CardDto}. */
+    JSON(MediaType.APPLICATION_JSON),
+    /** Two-character card codes separated by spaces, e.g. {@code AH TD KS}. */
+    COMPACT(MediaType.TEXT_PLAIN),
+    /** One byte per card holding its ordinal (see {@link com.gotocompany.cards.model.Card#ordinal()}). */
+    BINARY(MediaType.APPLICATION_OCTET_STREAM),
+    /** Card objects as in JSON, encoded as CBOR. */
+    CBOR(MediaType.APPLICATION_CBOR),
+    /** Card objects as in JSON, encoded as Smile. */
+    SMILE(new MediaType("application", "x-jackson-smile"));
+
+    private final MediaType mediaType;
+
+    CardFormat(MediaType mediaType) {
+        this.mediaType = mediaType;
+    }
+
+    MediaType getMediaType() {
+        return mediaType;
+    }
+
+    /**
+     * Returns the format the Accept header prefers, by quality and then by order.
+     * Without a header, or when no offered format is acceptable, JSON is returned.
+     */
+    static CardFormat negotiate(String accept) {
+        if (accept == null || accept.isBlank()) {
+            return JSON;
+        }
+        List<MediaType> accepted = new ArrayList<>(MediaType.parseMediaTypes(accept));
+        accepted.sort(Comparator.comparingDouble(MediaType::getQualityValue).reversed());
+        for (MediaType type : accepted) {
+            if (type.getQualityValue() == 0) {
+                continue;
+            }
+            for (CardFormat format : values()) {
+                if (type.includes(format.mediaType)) {
+                    return format;
+                }
+            }
+        }
+        return JSON;
+    }
+}
@@ -0,0 +1,161 @@
+package com.gotocompany.cards.controller;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.databind.CBORMapper;
+import com.fasterxml.jackson.dataformat.smile.databind.SmileMapper;
+import com.gotocompany.cards.dto.CardDto;
+import com.gotocompany.cards.model.Card;
+import com.gotocompany.cards.model.enums.FaceValue;
+import com.gotocompany.cards.model.enums.Suit;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+import java.util.function.IntUnaryOperator;
+
+/**
+ * Streams lists of cards in a {@link CardFormat}, straight to the response.
+ * Each of the 52 distinct cards is encoded once up front, so writing a card copies
+ * its cached encoding and nothing proportional to the list is built before it is sent.
+ */
+class CardWriter {
+    private static final int BUFFER_SIZE = 8192;
+    private static final String FACE_CODES = "A23456789TJQK"; // By FaceValue ordinal
+    private static final String SUIT_CODES = "HSCD"; // By Suit ordinal
+
+    private final ObjectMapper objectMapper;
+    private final ObjectMapper cborMapper = new CBORMapper();
+    private final ObjectMapper smileMapper = new SmileMapper();
+    private final String[] cardJson = new String[Card.DISTINCT_CARDS]; // Serialized CardDto by ordinal
+    private final CardDto[] cardDtos = new CardDto[Card.DISTINCT_CARDS];
+    private final byte[][] cardCodes = new byte[Card.DISTINCT_CARDS][];
+
+    CardWriter(ObjectMapper objectMapper) {
+        this.objectMapper = objectMapper;
+        try {
+            for (int ordinal = 0; ordinal < Card.DISTINCT_CARDS; ordinal++) {
+                Card card = Card.fromOrdinal(ordinal);
+                cardDtos[ordinal] = new CardDto(card);
+                cardJson[ordinal] = objectMapper.writeValueAsString(cardDtos[ordinal]);
+                cardCodes[ordinal] = code(card).getBytes(StandardCharsets.US_ASCII);
+            }
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Cannot serialize cards", e);
+        }
+    }
+
+    /**
+     * Returns the two-character code of a card: its face value (A, 2-9, T, J, Q, K)
+     * followed by its suit (H, S, C, D), e.g. {@code KH} for the King of Hearts.
+     */
+    static String code(Card card) {
+        return "" + FACE_CODES.charAt(card.getFaceValue().ordinal()) + SUIT_CODES.charAt(card.getSuit().ordinal());
+    }
+
+    /**
+     * Returns a response that streams the cards in the given format.
+     */
+    ResponseEntity<StreamingResponseBody> write(List<Card> cards, CardFormat format) {
+        return respond(format, out -> write(out, format, cards.size(), i -> cards.get(i).ordinal()));
+    }
+
+    /**
+     * Returns a response that streams the cards with the given ordinals in the given format.
+     */
+    ResponseEntity<StreamingResponseBody> write(byte[] ordinals, CardFormat format) {
+        if (format == CardFormat.BINARY) {
+            return respond(format, out -> out.write(ordinals));
+        }
+        return respond(format, out -> write(out, format, ordinals.length, i -> ordinals[i]));
+    }
+
+    /**
+     * Returns a response with the count of each card, in ordinal order, for the compact
+     * and binary formats. The compact format lists {@code code:count} pairs separated by
+     * spaces; the binary one holds a big-endian 32-bit count per ordinal.
+     */
+    ResponseEntity<byte[]> writeCounts(Map<Suit, Map<FaceValue, Integer>> cardCounts, CardFormat format) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(format == CardFormat.BINARY ? Card.DISTINCT_CARDS * 4 : 512);
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            for (int ordinal = 0; ordinal < Card.DISTINCT_CARDS; ordinal++) {
+                Card card = Card.fromOrdinal(ordinal);
+                int count = cardCounts.get(card.getSuit()).get(card.getFaceValue());
+                if (format == CardFormat.BINARY) {
+                    out.writeInt(count);
+                } else {
+                    if (ordinal > 0) {
+                        out.write(' ');
+                    }
+                    out.write(cardCodes[ordinal]);
+                    out.write(':');
+                    out.writeBytes(Integer.toString(count));
+                }
+            }
+        } catch (IOException e) {
+            throw new IllegalStateException("Cannot write card counts", e);
+        }
+        return ResponseEntity.ok()
+                .contentType(format.getMediaType())
+                .body(bytes.toByteArray());
+    }
+
+    private static ResponseEntity<StreamingResponseBody> respond(CardFormat format, StreamingResponseBody body) {
+        return ResponseEntity.ok()
+                .contentType(format.getMediaType())
+                .body(body);
+    }
+
+    private void write(OutputStream out, CardFormat format, int size, IntUnaryOperator ordinalAt) throws IOException {
+        switch (format) {
+            case JSON -> {
+                try (JsonGenerator generator = createGenerator(objectMapper, out)) {
+                    generator.writeStartArray();
+                    for (int i = 0; i < size; i++) {
+                        generator.writeRawValue(cardJson[ordinalAt.applyAsInt(i)]);
+                    }
+                    generator.writeEndArray();
+                }
+            }
+            case CBOR, SMILE -> {
+                // Binary formats can't splice raw values, so cards go through the generator
+                try (JsonGenerator generator = createGenerator(format == CardFormat.CBOR ? cborMapper : smileMapper, out)) {
+                    generator.writeStartArray();
+                    for (int i = 0; i < size; i++) {
+                        generator.writeObject(cardDtos[ordinalAt.applyAsInt(i)]);
+                    }
+                    generator.writeEndArray();
+                }
+            }
+            case COMPACT, BINARY -> {
+                OutputStream buffered = new BufferedOutputStream(out, BUFFER_SIZE);
+                for (int i = 0; i < size; i++) {
+                    int ordinal = ordinalAt.applyAsInt(i);
+                    if (format == CardFormat.BINARY) {
+                        buffered.write(ordinal);
+                    } else {
+                        if (i > 0) {
+                            buffered.write(' ');
+                        }
+                        buffered.write(cardCodes[ordinal]);
+                    }
+                }
+                buffered.flush();
+            }
+        }
+    }
+
+    private static JsonGenerator createGenerator(ObjectMapper mapper, OutputStream out) throws IOException {
+        // The container owns the response stream; the generator only flushes it
+        return mapper.getFactory().createGenerator(out)
+                .disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+    }
+}
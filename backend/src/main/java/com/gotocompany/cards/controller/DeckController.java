@@ -9,6 +9,7 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
 import java.util.List;
+import java.util.stream.Collectors;
 
 /**
  * REST controller for deck operations.
@@ -33,10 +34,25 @@ public class DeckController {
                 .body(new CreateDeckResponse(deck.getId()));
     }
 
+    @PostMapping(params = "count")
+    @Operation(summary = "Create many decks", description = "Creates the given number of standard 52-card decks")
+    public ResponseEntity<List<CreateDeckResponse>> createDecks(@RequestParam int count) {
+        var decks = deckService.createDecks(count);
+        List<CreateDeckResponse> responses = decks.stream()
+                .map(deck -> new CreateDeckResponse(deck.getId()))
+                .collect(Collectors.toList());
+        return ResponseEntity.status(HttpStatus.CREATED).body(responses);
+    }
+
     @GetMapping("/unassigned")
-    @Operation(summary = "Get unassigned decks", description = "Returns IDs of decks that are not currently added to any game")
-    public ResponseEntity<List<String>> getUnassignedDeckIds() {
-        var deckIds = deckService.getUnassignedDeckIds();
+    @Operation(summary = "Get unassigned decks", description = "Returns IDs of decks that are not currently added to any game. "
+            + "Use limit to get a page of IDs in order, and after (the last ID of the previous page) to get the next one")
+    public ResponseEntity<List<String>> getUnassignedDeckIds(
+            @RequestParam(required = false) String after,
+            @RequestParam(required = false) Integer limit) {
+        var deckIds = after == null && limit == null
+                ? deckService.getUnassignedDeckIds()
+                : deckService.getUnassignedDeckIds(after, limit != null ? limit : Integer.MAX_VALUE);
         return ResponseEntity.ok(deckIds);
     }
 }
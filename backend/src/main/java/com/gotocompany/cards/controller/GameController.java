@@ -1,17 +1,34 @@
 package com.gotocompany.cards.controller;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
 import com.gotocompany.cards.dto.*;
+import com.gotocompany.cards.exception.CommandFailedException;
+import com.gotocompany.cards.model.Game;
+import com.gotocompany.cards.model.Player;
+import com.gotocompany.cards.service.GameCommand;
+import com.gotocompany.cards.service.GameFeed;
 import com.gotocompany.cards.service.GameService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.NativeWebRequest;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Locale;
+import java.util.Map;
 import java.util.Set;
-import java.util.stream.Collectors;
+import java.util.function.Function;
 
 /**
  * REST controller for game operations.
@@ -22,16 +39,30 @@ import java.util.stream.Collectors;
 @Tag(name = "Games", description = "API for managing card games")
 public class GameController {
 
+    static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
+    private static final String CARD_FORMATS = "text/plain for card codes such as KH, "
+            + "application/octet-stream for one byte per card ordinal, application/cbor or application/x-jackson-smile";
+    private static final String DEFAULT_PAGE_SIZE = "100";
+    private static final long FEED_TIMEOUT_MILLIS = 30 * 60 * 1000L; // Clients reconnect and read the game again
+    private static final long FEED_SEND_TIME_LIMIT_MILLIS = 10_000;
+    private static final int FEED_BUFFER_SIZE_LIMIT = 512 * 1024;
+
     private final GameService gameService;
+    private final CardWriter cardWriter;
+    private final GameEventWriter eventWriter;
 
-    public GameController(GameService gameService) {
+    public GameController(GameService gameService, ObjectMapper objectMapper) {
         this.gameService = gameService;
+        this.cardWriter = new CardWriter(objectMapper);
+        this.eventWriter = new GameEventWriter(objectMapper);
     }
 
     @PostMapping
-    @Operation(summary = "Create a new game", description = "Creates a new game with an empty shoe and no players")
+    @Operation(summary = "Create a new game", description = "Creates a new game with an empty shoe and no players. "
+            + "Optionally selects the random mode (STRONG or FAST) used to shuffle its shoe, "
+            + "and lazy shuffling, which randomizes cards as they are dealt")
     public ResponseEntity<CreateGameResponse> createGame(@Valid @RequestBody CreateGameRequest request) {
-        var game = gameService.createGame(request.getName());
+        var game = gameService.createGame(request.getName(), request.getRandomMode(), request.getLazyShuffle());
         return ResponseEntity.status(HttpStatus.CREATED)
                 .body(new CreateGameResponse(game.getId(), game.getName()));
     }
@@ -44,27 +75,159 @@ public class GameController {
     }
 
     @GetMapping
-    @Operation(summary = "Get all current games", description = "Returns a list of all current games")
-    public ResponseEntity<List<GameDto>> getGames(){
-        var games = gameService.getGames();
-        List<GameDto> gameDtos = games.stream()
-                .map(game -> new GameDto(game))
-                .collect(Collectors.toList());
-        return ResponseEntity.ok(gameDtos);
+    @Operation(summary = "Get current games", description = "Returns a page of current games in ID order, as summaries without shoes or hands. "
+            + "Pass the X-Next-Cursor header of a full page as after to get the next page")
+    public ResponseEntity<List<GameSummaryDto>> getGames(
+            @RequestParam(required = false) String after,
+            @RequestParam(defaultValue = DEFAULT_PAGE_SIZE) int limit) {
+        return page(gameService.getGames(after, limit, GameSummaryDto::new), limit, GameSummaryDto::getId);
+    }
+
+    @GetMapping(params = "view=full")
+    @Operation(summary = "Get current games with full state", description = "Returns a page of current games in ID order, "
+            + "including each game's shoe and players. Use fields to return only some fields, e.g. shoeSize,players.name")
+    public ResponseEntity<List<GameDto>> getFullGames(
+            @RequestParam(required = false) String after,
+            @RequestParam(defaultValue = DEFAULT_PAGE_SIZE) int limit,
+            @RequestParam(required = false) String fields) {
+        FieldSelection selection = GameDto.select(fields);
+        Function<Game, GameDto> projection = game -> new GameDto(game, selection);
+        List<GameDto> games = selection.includes("shoe")
+                ? gameService.getGamesWithShoe(after, limit, projection)
+                : gameService.getGames(after, limit, projection);
+        return page(games, limit, GameDto::getId);
+    }
+
+    @GetMapping("/{gameId}")
+    @Operation(summary = "Get a game", description = "Returns the game's state. "
+            + "Use fields to return only some fields, e.g. shoeSize or players.name,players.handValue")
+    public ResponseEntity<GameDto> getGame(
+            @PathVariable String gameId,
+            @RequestParam(required = false) String fields,
+            WebRequest webRequest) {
+        FieldSelection selection = GameDto.select(fields);
+        if (notModified(webRequest, gameId)) {
+            return null;
+        }
+        Function<Game, GameDto> projection = game -> new GameDto(game, selection);
+        return ResponseEntity.ok(selection.includes("shoe")
+                ? gameService.getGameWithShoe(gameId, projection)
+                : gameService.getGame(gameId, projection));
+    }
+
+    /**
+     * Answers a conditional GET from the game's version alone, before any game state is
+     * read, and sets the ETag of that version on the response. Returns true when the
+     * client's If-None-Match shows its copy is current; the response is then a 304.
+     * The version is read first, so a body built afterwards is never older than its ETag.
+     * The ETag is specific to the format the response is written in, and the response
+     * varies by Accept, so a cached body in one format is never taken for another.
+     */
+    private boolean notModified(WebRequest webRequest, String gameId, CardFormat format) {
+        long version = gameService.getGameVersion(gameId);
+        String etag = format == CardFormat.JSON
+                ? "\"" + version + "\""
+                : "\"" + version + "-" + format.name().toLowerCase(Locale.ROOT) + "\"";
+        if (webRequest instanceof NativeWebRequest nativeRequest) {
+            HttpServletResponse response = nativeRequest.getNativeResponse(HttpServletResponse.class);
+            if (response != null) {
+                response.addHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT);
+            }
+        }
+        return webRequest.checkNotModified(etag);
+    }
+
+    /**
+     * As {@link #notModified(WebRequest, String, CardFormat)}, for responses written by the
+     * message converter the Accept header selects: JSON, CBOR or Smile.
+     */
+    private boolean notModified(WebRequest webRequest, String gameId) {
+        return notModified(webRequest, gameId, CardFormat.negotiate(webRequest.getHeader(HttpHeaders.ACCEPT)));
+    }
+
+    /**
+     * Returns the game version an If-Match header requires, or {@link Game#ANY_VERSION}
+     * without the header or for {@code *}. Accepts any ETag returned by the GET endpoints.
+     */
+    static long expectedVersion(String ifMatch) {
+        if (ifMatch == null || ifMatch.isBlank() || ifMatch.trim().equals("*")) {
+            return Game.ANY_VERSION;
+        }
+        String etag = ifMatch.trim();
+        if (etag.length() < 3 || etag.charAt(0) != '"' || etag.charAt(etag.length() - 1) != '"') {
+            throw new IllegalArgumentException("If-Match must be a single ETag of the game");
+        }
+        String version = etag.substring(1, etag.length() - 1);
+        int formatStart = version.indexOf('-'); // Format-specific ETags carry the same version
+        if (formatStart >= 0) {
+            version = version.substring(0, formatStart);
+        }
+        try {
+            return Long.parseLong(version);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("If-Match must be a single ETag of the game");
+        }
+    }
+
+    private static <T> ResponseEntity<List<T>> page(List<T> games, int limit, Function<T, String> id) {
+        var response = ResponseEntity.ok();
+        if (games.size() == limit) {
+            response.header(NEXT_CURSOR_HEADER, id.apply(games.get(games.size() - 1)));
+        }
+        return response.body(games);
+    }
+
+    @GetMapping(value = "/{gameId}/feed", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    @Operation(summary = "Follow game changes", description = "Streams the game's changes as server-sent events named "
+            + "changes, each holding a JSON array of deltas (DEALT, PLAYER_ADDED, PLAYER_REMOVED, DECKS_ADDED, SHUFFLED, "
+            + "RESET) with the version each change moved the game to. Read the game after subscribing and apply the "
+            + "deltas after the version read. RESYNC means deltas were dropped and the game must be read again. "
+            + "The same feed is available over WebSocket at /api/games/{gameId}/feed/ws")
+    public SseEmitter followGame(@PathVariable String gameId) {
+        SseEmitter emitter = new SseEmitter(FEED_TIMEOUT_MILLIS);
+        GameFeed.Subscription subscription = gameService.subscribe(gameId,
+                new SseFeedSink(emitter, eventWriter, gameService.getFeedWriters(),
+                        FEED_SEND_TIME_LIMIT_MILLIS, FEED_BUFFER_SIZE_LIMIT));
+        emitter.onCompletion(subscription::cancel);
+        emitter.onTimeout(subscription::cancel);
+        emitter.onError(e -> subscription.cancel());
+        return emitter;
     }
 
     @PostMapping("/{gameId}/decks")
     @Operation(summary = "Add a deck to game", description = "Adds a deck to the game's shoe. Once added, a deck cannot be removed.")
     public ResponseEntity<Void> addDeckToGame(
             @PathVariable String gameId,
-            @Valid @RequestBody AddDeckRequest request) {
-        gameService.addDeckToGame(gameId, request.getDeckId());
+            @Valid @RequestBody AddDeckRequest request,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        gameService.addDeckToGame(gameId, request.getDeckId(), expectedVersion(ifMatch));
         return ResponseEntity.ok().build();
     }
 
+    @PostMapping("/{gameId}/decks/bulk")
+    @Operation(summary = "Add many decks to game", description = "Adds the listed decks (deckIds), or the given number of newly created decks (count), "
+            + "to the game's shoe in one operation. Returns the IDs of the decks added")
+    public ResponseEntity<List<String>> addDecksToGame(
+            @PathVariable String gameId,
+            @Valid @RequestBody AddDecksRequest request,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        if ((request.getDeckIds() == null) == (request.getCount() == null)) {
+            throw new IllegalArgumentException("Exactly one of deckIds and count must be given");
+        }
+        long expectedVersion = expectedVersion(ifMatch);
+        if (request.getCount() != null) {
+            return ResponseEntity.ok(gameService.addNewDecksToGame(gameId, request.getCount(), expectedVersion));
+        }
+        gameService.addDecksToGame(gameId, request.getDeckIds(), expectedVersion);
+        return ResponseEntity.ok(request.getDeckIds());
+    }
+
     @GetMapping("/{gameId}/decks")
     @Operation(summary = "Get added decks for a game", description = "Returns the IDs of all decks added to the game")
-    public ResponseEntity<Set<String>> getDecks(@PathVariable String gameId) {
+    public ResponseEntity<Set<String>> getDecks(@PathVariable String gameId, WebRequest webRequest) {
+        if (notModified(webRequest, gameId)) {
+            return null;
+        }
         var deckIds = gameService.getAddedDeckIds(gameId);
         return ResponseEntity.ok(deckIds);
     }
@@ -73,8 +236,9 @@ public class GameController {
     @Operation(summary = "Add a player to game", description = "Adds a player to the game")
     public ResponseEntity<Void> addPlayer(
             @PathVariable String gameId,
-            @Valid @RequestBody AddPlayerRequest request) {
-        gameService.addPlayer(gameId, request.getPlayerName());
+            @Valid @RequestBody AddPlayerRequest request,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        gameService.addPlayer(gameId, request.getPlayerName(), expectedVersion(ifMatch));
         return ResponseEntity.ok().build();
     }
 
@@ -82,73 +246,195 @@ public class GameController {
     @Operation(summary = "Remove a player from game", description = "Removes a player from the game")
     public ResponseEntity<Void> removePlayer(
             @PathVariable String gameId,
-            @PathVariable String playerName) {
-        gameService.removePlayer(gameId, playerName);
+            @PathVariable String playerName,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        gameService.removePlayer(gameId, playerName, expectedVersion(ifMatch));
         return ResponseEntity.noContent().build();
     }
 
     @PostMapping("/{gameId}/deal")
-    @Operation(summary = "Deal cards to a player", description = "Deals the specified number of cards from the game deck to a player")
-    public ResponseEntity<List<CardDto>> dealCards(
+    @Operation(summary = "Deal cards to a player", description = "Deals the specified number of cards from the game deck to a player. "
+            + "The dealt cards are streamed as a JSON array of cards, or in the format chosen by the Accept header: "
+            + CARD_FORMATS)
+    public ResponseEntity<StreamingResponseBody> dealCards(
             @PathVariable String gameId,
-            @Valid @RequestBody DealCardsRequest request) {
-        var cards = gameService.dealCards(gameId, request.getPlayerName(), request.getCount());
-        List<CardDto> cardDtos = cards.stream()
-                .map(CardDto::new)
-                .collect(Collectors.toList());
-        return ResponseEntity.ok(cardDtos);
+            @Valid @RequestBody DealCardsRequest request,
+            @RequestHeader(value = HttpHeaders.ACCEPT, required = false) String accept,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        CardFormat format = CardFormat.negotiate(accept);
+        var cards = gameService.dealCards(gameId, request.getPlayerName(), request.getCount(), expectedVersion(ifMatch));
+        return cardWriter.write(cards, format);
+    }
+
+    @PostMapping("/{gameId}/deal/round")
+    @Operation(summary = "Deal a round", description = "Deals the specified number of cards to each player in the player order, "
+            + "one card at a time around the table, or to every player in order of name when no order is given. "
+            + "Returns the cards dealt to each player as card codes such as KH")
+    public ResponseEntity<DealRoundResponse> dealRound(
+            @PathVariable String gameId,
+            @Valid @RequestBody DealRoundRequest request,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        var hands = gameService.dealRound(gameId, request.getCount(), request.getPlayerOrder(), expectedVersion(ifMatch));
+        Map<String, List<String>> codes = new LinkedHashMap<>();
+        hands.forEach((playerName, cards) -> codes.put(playerName, cards.stream().map(CardWriter::code).toList()));
+        return ResponseEntity.ok(new DealRoundResponse(codes));
+    }
+
+    @PostMapping("/{gameId}/commands")
+    @Operation(summary = "Execute commands", description = "Applies a list of commands (ADD_PLAYER, REMOVE_PLAYER, "
+            + "ADD_DECKS, DEAL, SHUFFLE, RESET) to the game in order, with no other change to the game in between, "
+            + "and returns the result of each. The commands are applied all or nothing as one change of the game: "
+            + "if a command would fail, none is applied and the response has the status of its failure and its "
+            + "position. If-Match applies to the batch")
+    public ResponseEntity<GameCommandsResponse> executeCommands(
+            @PathVariable String gameId,
+            @Valid @RequestBody GameCommandsRequest request,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        List<GameCommandRequest> requests = request.getCommands();
+        List<GameCommand> commands = new ArrayList<>(requests.size());
+        for (int i = 0; i < requests.size(); i++) {
+            try {
+                commands.add(toCommand(requests.get(i)));
+            } catch (IllegalArgumentException e) {
+                throw new CommandFailedException(i, e);
+            }
+        }
+        var results = gameService.executeCommands(gameId, commands, expectedVersion(ifMatch), result -> new CommandResultDto(
+                result.getType().name(),
+                result.getCards() != null ? result.getCards().stream().map(CardDto::new).toList() : null,
+                result.getDeckIds()));
+        return ResponseEntity.ok(new GameCommandsResponse(results));
+    }
+
+    static GameCommand toCommand(GameCommandRequest request) {
+        GameCommand.Type type;
+        try {
+            type = GameCommand.Type.valueOf(request.getType().trim().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Unknown command type: " + request.getType());
+        }
+        return GameCommand.of(type, request.getPlayerName(), request.getCount(), request.getDeckIds());
     }
 
     @GetMapping("/{gameId}/players/{playerName}/cards")
-    @Operation(summary = "Get player's cards", description = "Returns the list of cards held by a player")
-    public ResponseEntity<List<CardDto>> getPlayerCards(
+    @Operation(summary = "Get player's cards", description = "Returns the list of cards held by a player, streamed as a JSON array of cards, "
+            + "or in the format chosen by the Accept header: " + CARD_FORMATS)
+    public ResponseEntity<StreamingResponseBody> getPlayerCards(
             @PathVariable String gameId,
-            @PathVariable String playerName) {
+            @PathVariable String playerName,
+            @RequestHeader(value = HttpHeaders.ACCEPT, required = false) String accept,
+            WebRequest webRequest) {
+        CardFormat format = CardFormat.negotiate(accept);
+        if (notModified(webRequest, gameId, format)) {
+            return null;
+        }
         var cards = gameService.getPlayerCards(gameId, playerName);
-        List<CardDto> cardDtos = cards.stream()
-                .map(CardDto::new)
-                .collect(Collectors.toList());
-        return ResponseEntity.ok(cardDtos);
+        return cardWriter.write(cards, format);
+    }
+
+    @GetMapping("/{gameId}/shoe")
+    @Operation(summary = "Get the shoe", description = "Returns the cards in the game's shoe from top to bottom, streamed as a JSON array of cards, "
+            + "or in the format chosen by the Accept header: " + CARD_FORMATS)
+    public ResponseEntity<StreamingResponseBody> getShoe(
+            @PathVariable String gameId,
+            @RequestHeader(value = HttpHeaders.ACCEPT, required = false) String accept,
+            WebRequest webRequest) {
+        CardFormat format = CardFormat.negotiate(accept);
+        if (notModified(webRequest, gameId, format)) {
+            return null;
+        }
+        byte[] ordinals = gameService.getShoeOrdinals(gameId);
+        return cardWriter.write(ordinals, format);
     }
 
     @GetMapping("/{gameId}/players")
-    @Operation(summary = "Get players sorted by hand value", description = "Returns all players sorted by total hand value in descending order")
+    @Operation(summary = "Get players sorted by hand value", description = "Returns players sorted by total hand value in descending order. "
+            + "Use top to get only the K highest hands, or offset and limit to get a range of the leaderboard. "
+            + "Use fields to return only some fields, e.g. name,handValue")
     public ResponseEntity<List<PlayerDto>> getPlayersSorted(
-            @PathVariable String gameId) {
-        var players = gameService.getPlayersSorted(gameId);
-        List<PlayerDto> playerDtos = players.stream()
-                .map(PlayerDto::new)
-                .collect(Collectors.toList());
+            @PathVariable String gameId,
+            @RequestParam(required = false) Integer top,
+            @RequestParam(required = false) Integer offset,
+            @RequestParam(required = false) Integer limit,
+            @RequestParam(required = false) String fields,
+            WebRequest webRequest) {
+        FieldSelection selection = PlayerDto.select(fields);
+        if (notModified(webRequest, gameId)) {
+            return null;
+        }
+        Function<Player, PlayerDto> projection = player -> new PlayerDto(player, selection);
+        List<PlayerDto> playerDtos;
+        if (top != null) {
+            playerDtos = gameService.getPlayersSorted(gameId, 0, top, projection);
+        } else {
+            playerDtos = gameService.getPlayersSorted(gameId,
+                    offset != null ? offset : 0,
+                    limit != null ? limit : Integer.MAX_VALUE,
+                    projection);
+        }
         return ResponseEntity.ok(playerDtos);
     }
 
+    @GetMapping(value = "/{gameId}/players", params = "rank-of")
+    @Operation(summary = "Get a player's rank", description = "Returns the player's position in the hand value leaderboard, starting at 1")
+    public ResponseEntity<PlayerRankDto> getPlayerRank(
+            @PathVariable String gameId,
+            @RequestParam("rank-of") String playerName,
+            WebRequest webRequest) {
+        if (notModified(webRequest, gameId)) {
+            return null;
+        }
+        int rank = gameService.getPlayerRank(gameId, playerName);
+        return ResponseEntity.ok(new PlayerRankDto(playerName, rank));
+    }
+
     @GetMapping("/{gameId}/undealt/suits")
     @Operation(summary = "Get undealt cards by suit", description = "Returns the count of undealt cards grouped by suit")
     public ResponseEntity<UndealtCardsBySuitDto> getUndealtCardsBySuit(
-            @PathVariable String gameId) {
+            @PathVariable String gameId,
+            WebRequest webRequest) {
+        if (notModified(webRequest, gameId)) {
+            return null;
+        }
         var suitCounts = gameService.getUndealtCardsBySuit(gameId);
         return ResponseEntity.ok(new UndealtCardsBySuitDto(suitCounts));
     }
 
     @GetMapping("/{gameId}/undealt/cards")
-    @Operation(summary = "Get undealt cards count", description = "Returns the count of each card remaining, sorted by suit and face value")
-    public ResponseEntity<UndealtCardsCountDto> getUndealtCardsCount(
-            @PathVariable String gameId) {
+    @Operation(summary = "Get undealt cards count", description = "Returns the count of each card remaining, sorted by suit and face value. "
+            + "With Accept text/plain the counts are code:count pairs such as KH:2; with application/octet-stream they are "
+            + "a big-endian 32-bit count per card ordinal")
+    public ResponseEntity<?> getUndealtCardsCount(
+            @PathVariable String gameId,
+            @RequestHeader(value = HttpHeaders.ACCEPT, required = false) String accept,
+            WebRequest webRequest) {
+        CardFormat format = CardFormat.negotiate(accept);
+        if (notModified(webRequest, gameId, format)) {
+            return null;
+        }
         var cardCounts = gameService.getUndealtCardsCount(gameId);
+        if (format == CardFormat.COMPACT || format == CardFormat.BINARY) {
+            return cardWriter.writeCounts(cardCounts, format);
+        }
+        // JSON, CBOR and Smile are written by the message converter the Accept header selects
         return ResponseEntity.ok(new UndealtCardsCountDto(cardCounts));
     }
 
     @PostMapping("/{gameId}/shuffle")
     @Operation(summary = "Shuffle game deck", description = "Shuffles the game deck (shoe) using Fisher-Yates algorithm")
-    public ResponseEntity<Void> shuffleGameDeck(@PathVariable String gameId) {
-        gameService.shuffleGameDeck(gameId);
+    public ResponseEntity<Void> shuffleGameDeck(
+            @PathVariable String gameId,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        gameService.shuffleGameDeck(gameId, expectedVersion(ifMatch));
         return ResponseEntity.ok().build();
     }
 
     @PostMapping("/{gameId}/reset")
     @Operation(summary = "Reset game", description = "Returns all dealt cards to the shoe while keeping players in the game")
-    public ResponseEntity<Void> resetGame(@PathVariable String gameId) {
-        gameService.resetGame(gameId);
+    public ResponseEntity<Void> resetGame(
+            @PathVariable String gameId,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        gameService.resetGame(gameId, expectedVersion(ifMatch));
         return ResponseEntity.ok().build();
     }
 
@@ -0,0 +1,70 @@
+package com.gotocompany.cards.controller;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.gotocompany.cards.model.Card;
+import com.gotocompany.cards.service.GameEvent;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.io.UncheckedIOException;
+import java.util.List;
+
+/**
+ * Encodes batches of {@link GameEvent}s as JSON arrays for the game feed. Each event is
+ * encoded once and the encoding is reused for every subscriber it is sent to. Events are
+ * objects such as {@code {"type":"DEALT","version":7,"player":"Alice","cards":["KH","TC"]}},
+ * with cards as {@link CardWriter#code} codes and fields that don't apply left out;
+ * {@code firstVersion} is only present when it differs from {@code version}.
+ */
+class GameEventWriter {
+
+    private final ObjectMapper objectMapper;
+
+    GameEventWriter(ObjectMapper objectMapper) {
+        this.objectMapper = objectMapper;
+    }
+
+    /**
+     * Returns the events as a JSON array.
+     */
+    String write(List<GameEvent> events) {
+        StringBuilder json = new StringBuilder(64 * events.size() + 2).append('[');
+        for (int i = 0; i < events.size(); i++) {
+            if (i > 0) {
+                json.append(',');
+            }
+            json.append(events.get(i).<String>encode(this::encode));
+        }
+        return json.append(']').toString();
+    }
+
+    private String encode(GameEvent event) {
+        StringWriter json = new StringWriter(64);
+        try (JsonGenerator generator = objectMapper.getFactory().createGenerator(json)) {
+            generator.writeStartObject();
+            generator.writeStringField("type", event.getType().name());
+            if (event.getFirstVersion() != event.getVersion()) {
+                generator.writeNumberField("firstVersion", event.getFirstVersion());
+            }
+            generator.writeNumberField("version", event.getVersion());
+            if (event.getPlayerName() != null) {
+                generator.writeStringField("player", event.getPlayerName());
+            }
+            if (event.getCards() != null) {
+                generator.writeArrayFieldStart("cards");
+                for (Card card : event.getCards()) {
+                    generator.writeString(CardWriter.code(card));
+                }
+                generator.writeEndArray();
+            }
+            if (event.getShoeSize() >= 0) {
+                generator.writeNumberField("shoeSize", event.getShoeSize());
+            }
+            generator.writeEndObject();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot write game event", e);
+        }
+        return json.toString();
+    }
+}
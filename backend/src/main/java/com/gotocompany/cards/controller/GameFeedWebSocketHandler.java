@@ -0,0 +1,86 @@
+package com.gotocompany.cards.controller;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.gotocompany.cards.service.GameEvent;
+import com.gotocompany.cards.service.GameFeed;
+import com.gotocompany.cards.service.GameService;
+import org.springframework.stereotype.Component;
+import org.springframework.web.socket.CloseStatus;
+import org.springframework.web.socket.TextMessage;
+import org.springframework.web.socket.WebSocketSession;
+import org.springframework.web.socket.handler.ConcurrentWebSocketSessionDecorator;
+import org.springframework.web.socket.handler.TextWebSocketHandler;
+
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * Serves the game feed over WebSocket at {@value #PATH}, where each text message holds
+ * the same JSON array of deltas as an event of the server-sent feed. A client that stops
+ * reading for longer than the send time limit, or lets more than the buffer limit pile up,
+ * is disconnected.
+ */
+@Component
+public class GameFeedWebSocketHandler extends TextWebSocketHandler {
+
+    public static final String PATH = "/api/games/*/feed/ws";
+    private static final String SUBSCRIPTION = "gameFeedSubscription";
+    private static final int SEND_TIME_LIMIT_MILLIS = 10_000;
+    private static final int BUFFER_SIZE_LIMIT = 512 * 1024;
+
+    private final GameService gameService;
+    private final GameEventWriter eventWriter;
+
+    public GameFeedWebSocketHandler(GameService gameService, ObjectMapper objectMapper) {
+        this.gameService = gameService;
+        this.eventWriter = new GameEventWriter(objectMapper);
+    }
+
+    @Override
+    public void afterConnectionEstablished(WebSocketSession session) throws IOException {
+        WebSocketSession target = new ConcurrentWebSocketSessionDecorator(session, SEND_TIME_LIMIT_MILLIS, BUFFER_SIZE_LIMIT);
+        GameFeed.Subscription subscription;
+        try {
+            subscription = gameService.subscribe(gameId(session), new GameFeed.Sink() {
+                @Override
+                public void send(List<GameEvent> events) throws IOException {
+                    target.sendMessage(new TextMessage(eventWriter.write(events)));
+                }
+
+                @Override
+                public void close() {
+                    try {
+                        target.close(CloseStatus.NORMAL);
+                    } catch (IOException e) {
+                        // Already gone
+                    }
+                }
+            });
+        } catch (IllegalArgumentException e) {
+            session.close(CloseStatus.POLICY_VIOLATION.withReason(e.getMessage()));
+            return;
+        }
+        session.getAttributes().put(SUBSCRIPTION, subscription);
+    }
+
+    @Override
+    public void afterConnectionClosed(WebSocketSession session, CloseStatus status) {
+        Object subscription = session.getAttributes().remove(SUBSCRIPTION);
+        if (subscription != null) {
+            ((GameFeed.Subscription) subscription).cancel();
+        }
+    }
+
+    /**
+     * Returns the game ID from a session URI matching {@link #PATH}.
+     */
+    static String gameId(WebSocketSession session) {
+        String path = session.getUri() != null ? session.getUri().getPath() : "";
+        String[] segments = path.split("/");
+        if (segments.length < 4 || !segments[segments.length - 1].equals("ws")
+                || !segments[segments.length - 2].equals("feed")) {
+            throw new IllegalArgumentException("Invalid feed path: " + path);
+        }
+        return segments[segments.length - 3];
+    }
+}
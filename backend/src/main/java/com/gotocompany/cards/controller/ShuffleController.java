@@ -0,0 +1,37 @@
+package com.gotocompany.cards.controller;
+
+import com.gotocompany.cards.dto.ShufflePoolStatsDto;
+import com.gotocompany.cards.service.ShuffleService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+/**
+ * REST controller for shuffle infrastructure.
+ * Errors are handled centrally by GlobalExceptionHandler.
+ */
+@RestController
+@RequestMapping("/api/shuffle")
+@Tag(name = "Shuffle", description = "API for inspecting the shuffle service")
+public class ShuffleController {
+
+    private final ShuffleService shuffleService;
+
+    public ShuffleController(ShuffleService shuffleService) {
+        this.shuffleService = shuffleService;
+    }
+
+    @GetMapping("/pool")
+    @Operation(summary = "Get permutation pool statistics", description = "Returns whether the pre-shuffled permutation pool is enabled, its hit/miss counters and its current size")
+    public ResponseEntity<ShufflePoolStatsDto> getPoolStats() {
+        return ResponseEntity.ok(new ShufflePoolStatsDto(
+                shuffleService.isEnabled(),
+                shuffleService.getHits(),
+                shuffleService.getMisses(),
+                shuffleService.getPooledPermutations(),
+                shuffleService.getPooledBytes()));
+    }
+}
@@ -0,0 +1,102 @@
+package com.gotocompany.cards.controller;
+
+import com.gotocompany.cards.service.GameEvent;
+import com.gotocompany.cards.service.GameFeed;
+import org.springframework.http.MediaType;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Sends the game feed to a server-sent event stream without holding up the feed's shared
+ * senders. Writes to the response run on a separate executor, and batches that arrive while
+ * a write is still in progress are buffered behind it, like a
+ * {@link org.springframework.web.socket.handler.ConcurrentWebSocketSessionDecorator} does for
+ * the WebSocket feed. A client whose write has taken longer than the send time limit, or that
+ * lets more than the buffer limit pile up, fails the next send and loses its subscription.
+ * The executor is bounded: when a write can be neither started nor queued, the send fails
+ * too, so a burst of events drops subscribers rather than adding threads.
+ */
+class SseFeedSink implements GameFeed.Sink {
+    private final SseEmitter emitter;
+    private final GameEventWriter eventWriter;
+    private final Executor writers;
+    private final long sendTimeLimitNanos;
+    private final int bufferSizeLimit;
+    private final Queue<Message> buffer = new ArrayDeque<>(); // Guarded by this
+    private int bufferSize; // Characters buffered, guarded by this
+    private long writeStarted = -1; // System.nanoTime() of the write in progress, or -1; guarded by this
+
+    private record Message(long version, String data) {
+    }
+
+    SseFeedSink(SseEmitter emitter, GameEventWriter eventWriter, Executor writers,
+                long sendTimeLimitMillis, int bufferSizeLimit) {
+        this.emitter = emitter;
+        this.eventWriter = eventWriter;
+        this.writers = writers;
+        this.sendTimeLimitNanos = TimeUnit.MILLISECONDS.toNanos(sendTimeLimitMillis);
+        this.bufferSizeLimit = bufferSizeLimit;
+    }
+
+    @Override
+    public void send(List<GameEvent> events) throws IOException {
+        Message message = new Message(events.get(events.size() - 1).getVersion(), eventWriter.write(events));
+        synchronized (this) {
+            if (writeStarted >= 0) {
+                if (System.nanoTime() - writeStarted > sendTimeLimitNanos) {
+                    throw new IOException("Send time limit exceeded");
+                }
+                if (bufferSize + message.data().length() > bufferSizeLimit) {
+                    throw new IOException("Buffer size limit exceeded");
+                }
+                buffer.add(message);
+                bufferSize += message.data().length();
+                return;
+            }
+            writeStarted = System.nanoTime();
+        }
+        try {
+            writers.execute(() -> write(message));
+        } catch (RejectedExecutionException e) {
+            throw new IOException("No feed writer available", e);
+        }
+    }
+
+    /**
+     * Writes a message and then whatever was buffered behind it, until the buffer is empty.
+     */
+    private void write(Message message) {
+        while (message != null) {
+            try {
+                emitter.send(SseEmitter.event()
+                        .name("changes")
+                        .id(Long.toString(message.version()))
+                        .data(message.data(), MediaType.APPLICATION_JSON));
+            } catch (IOException | RuntimeException e) {
+                emitter.completeWithError(e); // Its error callback cancels the subscription
+                return;
+            }
+            synchronized (this) {
+                message = buffer.poll();
+                if (message != null) {
+                    bufferSize -= message.data().length();
+                    writeStarted = System.nanoTime();
+                } else {
+                    writeStarted = -1;
+                }
+            }
+        }
+    }
+
+    @Override
+    public void close() {
+        emitter.complete();
+    }
+}
@@ -0,0 +1,40 @@
+package com.gotocompany.cards.dto;
+
+import jakarta.validation.constraints.Min;
+
+import java.util.List;
+
+/**
+ * Request DTO for adding many decks to a game at once.
+ * Either lists existing decks to add, or gives the number of new decks to create and add.
+ */
+public class AddDecksRequest {
+    private List<String> deckIds;
+
+    @Min(value = 1, message = "Count must be at least 1")
+    private Integer count;
+
+    public AddDecksRequest() {
+    }
+
+    public AddDecksRequest(List<String> deckIds, Integer count) {
+        this.deckIds = deckIds;
+        this.count = count;
+    }
+
+    public List<String> getDeckIds() {
+        return deckIds;
+    }
+
+    public void setDeckIds(List<String> deckIds) {
+        this.deckIds = deckIds;
+    }
+
+    public Integer getCount() {
+        return count;
+    }
+
+    public void setCount(Integer count) {
+        this.count = count;
+    }
+}
@@ -0,0 +1,38 @@
+package com.gotocompany.cards.dto;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.JsonSerializer;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+import com.gotocompany.cards.model.Card;
+
+import java.io.IOException;
+
+/**
+ * Writes card ordinals (see {@link Card#ordinal()}) as an array of {@link CardDto}s.
+ * Each of the 52 distinct cards has one shared CardDto, so a DTO holding a shoe or a hand
+ * keeps one byte per card and nothing per card is built while it is written.
+ */
+public class CardOrdinalsSerializer extends StdSerializer<byte[]> {
+    private static final CardDto[] CARD_DTOS = new CardDto[Card.DISTINCT_CARDS];
+
+    static {
+        for (int ordinal = 0; ordinal < Card.DISTINCT_CARDS; ordinal++) {
+            CARD_DTOS[ordinal] = new CardDto(Card.fromOrdinal(ordinal));
+        }
+    }
+
+    public CardOrdinalsSerializer() {
+        super(byte[].class);
+    }
+
+    @Override
+    public void serialize(byte[] ordinals, JsonGenerator generator, SerializerProvider provider) throws IOException {
+        JsonSerializer<Object> cardSerializer = provider.findValueSerializer(CardDto.class);
+        generator.writeStartArray(ordinals, ordinals.length);
+        for (byte ordinal : ordinals) {
+            cardSerializer.serialize(CARD_DTOS[ordinal], generator, provider);
+        }
+        generator.writeEndArray();
+    }
+}
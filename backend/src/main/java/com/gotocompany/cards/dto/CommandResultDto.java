@@ -0,0 +1,49 @@
+package com.gotocompany.cards.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import java.util.List;
+
+/**
+ * DTO for the result of an applied command: the cards dealt by DEAL and the deck IDs
+ * added by ADD_DECKS; other commands only report their type.
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class CommandResultDto {
+    private String type;
+    private List<CardDto> cards;
+    private List<String> deckIds;
+
+    public CommandResultDto() {
+    }
+
+    public CommandResultDto(String type, List<CardDto> cards, List<String> deckIds) {
+        this.type = type;
+        this.cards = cards;
+        this.deckIds = deckIds;
+    }
+
+    public String getType() {
+        return type;
+    }
+
+    public void setType(String type) {
+        this.type = type;
+    }
+
+    public List<CardDto> getCards() {
+        return cards;
+    }
+
+    public void setCards(List<CardDto> cards) {
+        this.cards = cards;
+    }
+
+    public List<String> getDeckIds() {
+        return deckIds;
+    }
+
+    public void setDeckIds(List<String> deckIds) {
+        this.deckIds = deckIds;
+    }
+}
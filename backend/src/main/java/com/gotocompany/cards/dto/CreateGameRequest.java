@@ -1,5 +1,6 @@
 package com.gotocompany.cards.dto;
 
+import com.gotocompany.cards.util.RandomMode;
 import jakarta.validation.constraints.NotBlank;
 
 public class CreateGameRequest {
@@ -7,6 +8,12 @@ public class CreateGameRequest {
     @NotBlank(message = "Game name must not be blank")
     private String name;
 
+    // Optional; the server's configured default is used when absent
+    private RandomMode randomMode;
+
+    // Optional; when true the shoe is randomized card by card as it is dealt
+    private Boolean lazyShuffle;
+
     public CreateGameRequest() {
     }
 
@@ -21,6 +28,22 @@ public class CreateGameRequest {
     public void setName(String name) {
         this.name = name;
     }
+
+    public RandomMode getRandomMode() {
+        return randomMode;
+    }
+
+    public void setRandomMode(RandomMode randomMode) {
+        this.randomMode = randomMode;
+    }
+
+    public Boolean getLazyShuffle() {
+        return lazyShuffle;
+    }
+
+    public void setLazyShuffle(Boolean lazyShuffle) {
+        this.lazyShuffle = lazyShuffle;
+    }
 }
 
 
@@ -0,0 +1,42 @@
+package com.gotocompany.cards.dto;
+
+import jakarta.validation.constraints.Min;
+
+import java.util.List;
+
+/**
+ * Request DTO for dealing a round of cards to the players of a game.
+ */
+public class DealRoundRequest {
+    @Min(value = 1, message = "Count must be at least 1")
+    private int count;
+
+    private List<String> playerOrder;
+
+    public DealRoundRequest() {
+    }
+
+    public DealRoundRequest(int count, List<String> playerOrder) {
+        this.count = count;
+        this.playerOrder = playerOrder;
+    }
+
+    public int getCount() {
+        return count;
+    }
+
+    public void setCount(int count) {
+        this.count = count;
+    }
+
+    /**
+     * Returns the players to deal to, in dealing order, or null to deal to every player.
+     */
+    public List<String> getPlayerOrder() {
+        return playerOrder;
+    }
+
+    public void setPlayerOrder(List<String> playerOrder) {
+        this.playerOrder = playerOrder;
+    }
+}
@@ -0,0 +1,27 @@
+package com.gotocompany.cards.dto;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Response DTO for a dealt round: the cards dealt to each player, in dealing order,
+ * as two-character card codes such as {@code KH}.
+ */
+public class DealRoundResponse {
+    private Map<String, List<String>> hands;
+
+    public DealRoundResponse() {
+    }
+
+    public DealRoundResponse(Map<String, List<String>> hands) {
+        this.hands = hands;
+    }
+
+    public Map<String, List<String>> getHands() {
+        return hands;
+    }
+
+    public void setHands(Map<String, List<String>> hands) {
+        this.hands = hands;
+    }
+}
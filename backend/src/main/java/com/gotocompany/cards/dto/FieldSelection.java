@@ -0,0 +1,85 @@
+package com.gotocompany.cards.dto;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Fields of a response selected by a {@code fields} query parameter, such as
+ * {@code shoeSize,players.name,players.handValue}. Naming a field with nested fields
+ * selects all of them; {@code field.nested} selects only some. Without a parameter every
+ * field is selected.
+ */
+public final class FieldSelection {
+    public static final FieldSelection ALL = new FieldSelection(null);
+
+    private final Map<String, FieldSelection> fields; // Null selects every field
+
+    private FieldSelection(Map<String, FieldSelection> fields) {
+        this.fields = fields;
+    }
+
+    /**
+     * Parses a {@code fields} parameter, checking each name against {@code known}, which
+     * maps every field to the names of its nested fields (empty when it has none).
+     */
+    public static FieldSelection parse(String spec, Map<String, Set<String>> known) {
+        if (spec == null) {
+            return ALL;
+        }
+        Map<String, List<String>> nestedByField = new LinkedHashMap<>();
+        for (String part : spec.split(",")) {
+            String field = part.trim();
+            if (field.isEmpty()) {
+                continue;
+            }
+            int dot = field.indexOf('.');
+            String name = dot < 0 ? field : field.substring(0, dot);
+            Set<String> nestedKnown = known.get(name);
+            if (nestedKnown == null) {
+                throw new IllegalArgumentException("Unknown field: " + name);
+            }
+            List<String> nested = nestedByField.computeIfAbsent(name, k -> new ArrayList<>());
+            if (dot < 0) {
+                nested.add(null); // Selects every nested field
+                continue;
+            }
+            String nestedName = field.substring(dot + 1);
+            if (!nestedKnown.contains(nestedName)) {
+                throw new IllegalArgumentException("Unknown field: " + field);
+            }
+            nested.add(nestedName);
+        }
+        if (nestedByField.isEmpty()) {
+            throw new IllegalArgumentException("At least one field must be selected");
+        }
+        Map<String, FieldSelection> fields = new LinkedHashMap<>();
+        nestedByField.forEach((name, nested) -> fields.put(name,
+                nested.contains(null) ? ALL : new FieldSelection(toAll(nested))));
+        return new FieldSelection(fields);
+    }
+
+    private static Map<String, FieldSelection> toAll(List<String> names) {
+        Map<String, FieldSelection> fields = new LinkedHashMap<>();
+        for (String name : names) {
+            fields.put(name, ALL);
+        }
+        return fields;
+    }
+
+    /**
+     * Returns whether the field is selected.
+     */
+    public boolean includes(String field) {
+        return fields == null || fields.containsKey(field);
+    }
+
+    /**
+     * Returns the selection of the nested fields of a selected field.
+     */
+    public FieldSelection nested(String field) {
+        return fields == null ? ALL : fields.getOrDefault(field, ALL);
+    }
+}
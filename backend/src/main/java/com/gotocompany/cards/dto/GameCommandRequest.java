@@ -0,0 +1,63 @@
+package com.gotocompany.cards.dto;
+
+import jakarta.validation.constraints.NotBlank;
+
+import java.util.List;
+
+/**
+ * Request DTO for one command of a batch: ADD_PLAYER and REMOVE_PLAYER take a player name,
+ * DEAL a player name and count, ADD_DECKS deck IDs or a count of new decks, and SHUFFLE
+ * and RESET nothing.
+ */
+public class GameCommandRequest {
+    @NotBlank(message = "Command type cannot be blank")
+    private String type;
+
+    private String playerName;
+
+    private Integer count;
+
+    private List<String> deckIds;
+
+    public GameCommandRequest() {
+    }
+
+    public GameCommandRequest(String type, String playerName, Integer count, List<String> deckIds) {
+        this.type = type;
+        this.playerName = playerName;
+        this.count = count;
+        this.deckIds = deckIds;
+    }
+
+    public String getType() {
+        return type;
+    }
+
+    public void setType(String type) {
+        this.type = type;
+    }
+
+    public String getPlayerName() {
+        return playerName;
+    }
+
+    public void setPlayerName(String playerName) {
+        this.playerName = playerName;
+    }
+
+    public Integer getCount() {
+        return count;
+    }
+
+    public void setCount(Integer count) {
+        this.count = count;
+    }
+
+    public List<String> getDeckIds() {
+        return deckIds;
+    }
+
+    public void setDeckIds(List<String> deckIds) {
+        this.deckIds = deckIds;
+    }
+}
@@ -0,0 +1,30 @@
+package com.gotocompany.cards.dto;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+
+import java.util.List;
+
+/**
+ * Request DTO for a batch of commands applied to one game in order.
+ */
+public class GameCommandsRequest {
+    @Valid
+    @NotEmpty(message = "Commands cannot be empty")
+    private List<GameCommandRequest> commands;
+
+    public GameCommandsRequest() {
+    }
+
+    public GameCommandsRequest(List<GameCommandRequest> commands) {
+        this.commands = commands;
+    }
+
+    public List<GameCommandRequest> getCommands() {
+        return commands;
+    }
+
+    public void setCommands(List<GameCommandRequest> commands) {
+        this.commands = commands;
+    }
+}
@@ -0,0 +1,25 @@
+package com.gotocompany.cards.dto;
+
+import java.util.List;
+
+/**
+ * Response DTO for a batch of commands, with one result per command in order.
+ */
+public class GameCommandsResponse {
+    private List<CommandResultDto> results;
+
+    public GameCommandsResponse() {
+    }
+
+    public GameCommandsResponse(List<CommandResultDto> results) {
+        this.results = results;
+    }
+
+    public List<CommandResultDto> getResults() {
+        return results;
+    }
+
+    public void setResults(List<CommandResultDto> results) {
+        this.results = results;
+    }
+}
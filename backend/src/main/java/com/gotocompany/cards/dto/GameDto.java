@@ -1,36 +1,80 @@
 package com.gotocompany.cards.dto;
 
-import java.util.List;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+
+import java.util.LinkedHashMap;
 import java.util.Map;
 import java.util.Set;
-import java.util.function.Function;
-import java.util.stream.Collectors;
 
-import com.gotocompany.cards.model.Card;
 import com.gotocompany.cards.model.Game;
-import com.gotocompany.cards.model.Player;
 
 /**
- * DTO for player representation in API responses.
+ * DTO for game representation in API responses.
+ * Fields left out of the {@link FieldSelection} are not read from the game and are omitted.
  */
+@JsonInclude(JsonInclude.Include.NON_NULL)
 public class GameDto {
+    public static final Map<String, Set<String>> FIELDS = Map.of(
+            "id", Set.of(),
+            "name", Set.of(),
+            "shoe", Set.of(),
+            "players", PlayerDto.FIELDS.keySet(),
+            "addedDeckIds", Set.of(),
+            "shoeSize", Set.of(),
+            "playerCount", Set.of());
+
     private String id;
     private String name;
-    private List<Card> shoe;
-    private Map<String, Player> players;
+    private byte[] shoe; // Card ordinals from top to bottom
+    private Map<String, PlayerDto> players;
     private Set<String> addedDeckIds;
-    private int shoeSize;
-    private int playerCount;
+    private Integer shoeSize;
+    private Integer playerCount;
 
     public GameDto(Game game) {
-        this.id = game.getId();
-        this.name = game.getName();
-        this.shoe = game.getShoe();
-        this.players = game.getPlayers().stream()
-                .collect(Collectors.toMap(Player::getName, Function.identity()));
-        this.addedDeckIds = game.getAddedDeckIds();
-        this.shoeSize = game.getShoeSize();
-        this.playerCount = game.getPlayers().size();
+        this(game, FieldSelection.ALL);
+    }
+
+    /**
+     * Builds the selected fields inside a game query, copying the state so it can be
+     * serialized after the query ends. The shoe is copied as card ordinals, one byte per card,
+     * and written as cards by {@link CardOrdinalsSerializer}. Selecting the shoe needs
+     * {@link Game#readWithShoe}.
+     */
+    public GameDto(Game game, FieldSelection fields) {
+        if (fields.includes("id")) {
+            this.id = game.getId();
+        }
+        if (fields.includes("name")) {
+            this.name = game.getName();
+        }
+        if (fields.includes("shoe")) {
+            this.shoe = game.getShoeOrdinals();
+        }
+        if (fields.includes("players")) {
+            FieldSelection playerFields = fields.nested("players");
+            this.players = new LinkedHashMap<>();
+            game.getPlayersByName().forEach((playerName, player) ->
+                    this.players.put(playerName, new PlayerDto(player, playerFields)));
+        }
+        if (fields.includes("addedDeckIds")) {
+            this.addedDeckIds = Set.copyOf(game.getAddedDeckIds());
+        }
+        if (fields.includes("shoeSize")) {
+            this.shoeSize = game.getShoeSize();
+        }
+        if (fields.includes("playerCount")) {
+            this.playerCount = game.getPlayerCount();
+        }
+    }
+
+    /**
+     * Parses a {@code fields} parameter naming GameDto fields, and nested PlayerDto fields
+     * as {@code players.<field>}.
+     */
+    public static FieldSelection select(String fields) {
+        return FieldSelection.parse(fields, FIELDS);
     }
 
     public String getId() {
@@ -41,11 +85,12 @@ public class GameDto {
         return name;
     }
 
-    public List<Card> getShoe() {
+    @JsonSerialize(using = CardOrdinalsSerializer.class)
+    public byte[] getShoe() {
         return shoe;
     }
 
-    public Map<String, Player> getPlayers() {
+    public Map<String, PlayerDto> getPlayers() {
         return players;
     }
 
@@ -53,11 +98,11 @@ public class GameDto {
         return addedDeckIds;
     }
 
-    public int getShoeSize() {
+    public Integer getShoeSize() {
         return shoeSize;
     }
 
-    public int getPlayerCount() {
+    public Integer getPlayerCount() {
         return playerCount;
     }
 
@@ -69,11 +114,11 @@ public class GameDto {
         this.name = name;
     }
 
-    public void setShoe(List<Card> shoe) {
+    public void setShoe(byte[] shoe) {
         this.shoe = shoe;
     }
 
-    public void setPlayers(Map<String, Player> players) {
+    public void setPlayers(Map<String, PlayerDto> players) {
         this.players = players;
     }
 
@@ -81,11 +126,11 @@ public class GameDto {
         this.addedDeckIds = addedDeckIds;
     }
 
-    public void setShoeSize(int shoeSize) {
+    public void setShoeSize(Integer shoeSize) {
         this.shoeSize = shoeSize;
     }
 
-    public void setPlayerCount(int playerCount) {
+    public void setPlayerCount(Integer playerCount) {
         this.playerCount = playerCount;
     }
 }
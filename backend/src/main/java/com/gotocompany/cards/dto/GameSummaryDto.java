@@ -0,0 +1,65 @@
+package com.gotocompany.cards.dto;
+
+import com.gotocompany.cards.model.Game;
+
+/**
+ * DTO for the summary of a game in game listings, without its shoe or players' hands.
+ */
+public class GameSummaryDto {
+    private String id;
+    private String name;
+    private int shoeSize;
+    private int playerCount;
+    private int deckCount;
+
+    public GameSummaryDto() {
+    }
+
+    public GameSummaryDto(Game game) {
+        this.id = game.getId();
+        this.name = game.getName();
+        this.shoeSize = game.getShoeSize();
+        this.playerCount = game.getPlayerCount();
+        this.deckCount = game.getAddedDeckCount();
+    }
+
+    public String getId() {
+        return id;
+    }
+
+    public void setId(String id) {
+        this.id = id;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public void setName(String name) {
+        this.name = name;
+    }
+
+    public int getShoeSize() {
+        return shoeSize;
+    }
+
+    public void setShoeSize(int shoeSize) {
+        this.shoeSize = shoeSize;
+    }
+
+    public int getPlayerCount() {
+        return playerCount;
+    }
+
+    public void setPlayerCount(int playerCount) {
+        this.playerCount = playerCount;
+    }
+
+    public int getDeckCount() {
+        return deckCount;
+    }
+
+    public void setDeckCount(int deckCount) {
+        this.deckCount = deckCount;
+    }
+}
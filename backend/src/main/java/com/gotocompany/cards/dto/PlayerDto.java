@@ -1,29 +1,56 @@
 package com.gotocompany.cards.dto;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
 import com.gotocompany.cards.model.Player;
 
-import java.util.List;
-import java.util.stream.Collectors;
+import java.util.Map;
+import java.util.Set;
 
 /**
  * DTO for player representation in API responses.
+ * Fields left out of the {@link FieldSelection} are not read from the player and are omitted.
  */
+@JsonInclude(JsonInclude.Include.NON_NULL)
 public class PlayerDto {
+    public static final Map<String, Set<String>> FIELDS = Map.of(
+            "name", Set.of(),
+            "hand", Set.of(),
+            "handValue", Set.of(),
+            "handSize", Set.of());
+
     private String name;
-    private List<CardDto> hand;
-    private int handValue;
-    private int handSize;
+    private byte[] hand; // Card ordinals, written as cards by CardOrdinalsSerializer
+    private Integer handValue;
+    private Integer handSize;
 
     public PlayerDto() {
     }
 
     public PlayerDto(Player player) {
-        this.name = player.getName();
-        this.hand = player.getHand().stream()
-                .map(CardDto::new)
-                .collect(Collectors.toList());
-        this.handValue = player.getHandValue();
-        this.handSize = player.getHandSize();
+        this(player, FieldSelection.ALL);
+    }
+
+    public PlayerDto(Player player, FieldSelection fields) {
+        if (fields.includes("name")) {
+            this.name = player.getName();
+        }
+        if (fields.includes("hand")) {
+            this.hand = player.getHandOrdinals();
+        }
+        if (fields.includes("handValue")) {
+            this.handValue = player.getHandValue();
+        }
+        if (fields.includes("handSize")) {
+            this.handSize = player.getHandSize();
+        }
+    }
+
+    /**
+     * Parses a {@code fields} parameter naming PlayerDto fields.
+     */
+    public static FieldSelection select(String fields) {
+        return FieldSelection.parse(fields, FIELDS);
     }
 
     public String getName() {
@@ -34,27 +61,28 @@ public class PlayerDto {
         this.name = name;
     }
 
-    public List<CardDto> getHand() {
+    @JsonSerialize(using = CardOrdinalsSerializer.class)
+    public byte[] getHand() {
         return hand;
     }
 
-    public void setHand(List<CardDto> hand) {
+    public void setHand(byte[] hand) {
         this.hand = hand;
     }
 
-    public int getHandValue() {
+    public Integer getHandValue() {
         return handValue;
     }
 
-    public void setHandValue(int handValue) {
+    public void setHandValue(Integer handValue) {
         this.handValue = handValue;
     }
 
-    public int getHandSize() {
+    public Integer getHandSize() {
         return handSize;
     }
 
-    public void setHandSize(int handSize) {
+    public void setHandSize(Integer handSize) {
         this.handSize = handSize;
     }
 }
@@ -0,0 +1,33 @@
+package com.gotocompany.cards.dto;
+
+/**
+ * DTO for a player's position in the hand value leaderboard.
+ */
+public class PlayerRankDto {
+    private String playerName;
+    private int rank;
+
+    public PlayerRankDto() {
+    }
+
+    public PlayerRankDto(String playerName, int rank) {
+        this.playerName = playerName;
+        this.rank = rank;
+    }
+
+    public String getPlayerName() {
+        return playerName;
+    }
+
+    public void setPlayerName(String playerName) {
+        this.playerName = playerName;
+    }
+
+    public int getRank() {
+        return rank;
+    }
+
+    public void setRank(int rank) {
+        this.rank = rank;
+    }
+}
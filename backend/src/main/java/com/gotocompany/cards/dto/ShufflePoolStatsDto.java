@@ -0,0 +1,63 @@
+package com.gotocompany.cards.dto;
+
+/**
+ * DTO for the state and hit/miss counters of the pre-shuffled permutation pool.
+ */
+public class ShufflePoolStatsDto {
+    private boolean enabled;
+    private long hits;
+    private long misses;
+    private int pooledPermutations;
+    private long pooledBytes;
+
+    public ShufflePoolStatsDto() {
+    }
+
+    public ShufflePoolStatsDto(boolean enabled, long hits, long misses, int pooledPermutations, long pooledBytes) {
+        this.enabled = enabled;
+        this.hits = hits;
+        this.misses = misses;
+        this.pooledPermutations = pooledPermutations;
+        this.pooledBytes = pooledBytes;
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public long getHits() {
+        return hits;
+    }
+
+    public void setHits(long hits) {
+        this.hits = hits;
+    }
+
+    public long getMisses() {
+        return misses;
+    }
+
+    public void setMisses(long misses) {
+        this.misses = misses;
+    }
+
+    public int getPooledPermutations() {
+        return pooledPermutations;
+    }
+
+    public void setPooledPermutations(int pooledPermutations) {
+        this.pooledPermutations = pooledPermutations;
+    }
+
+    public long getPooledBytes() {
+        return pooledBytes;
+    }
+
+    public void setPooledBytes(long pooledBytes) {
+        this.pooledBytes = pooledBytes;
+    }
+}
@@ -0,0 +1,24 @@
+package com.gotocompany.cards.exception;
+
+/**
+ * Error response for a failed command batch, with the position of the failed command.
+ */
+public class CommandErrorResponse extends ErrorResponse {
+    private int failedCommand;
+
+    public CommandErrorResponse() {
+    }
+
+    public CommandErrorResponse(int status, String error, String message, String path, int failedCommand) {
+        super(status, error, message, path);
+        this.failedCommand = failedCommand;
+    }
+
+    public int getFailedCommand() {
+        return failedCommand;
+    }
+
+    public void setFailedCommand(int failedCommand) {
+        this.failedCommand = failedCommand;
+    }
+}
@@ -0,0 +1,26 @@
+package com.gotocompany.cards.exception;
+
+/**
+ * Thrown when a command of a batch fails. A batch is applied all or nothing, so none of
+ * its commands were applied. The cause is the failure of the command itself.
+ */
+public class CommandFailedException extends RuntimeException {
+    private final int commandIndex;
+
+    public CommandFailedException(int commandIndex, RuntimeException cause) {
+        super("Command " + commandIndex + " failed: " + cause.getMessage(), cause);
+        this.commandIndex = commandIndex;
+    }
+
+    /**
+     * Returns the position of the failed command in the batch, starting at 0.
+     */
+    public int getCommandIndex() {
+        return commandIndex;
+    }
+
+    @Override
+    public synchronized RuntimeException getCause() {
+        return (RuntimeException) super.getCause();
+    }
+}
@@ -40,6 +40,50 @@ public class GlobalExceptionHandler {
         return ResponseEntity.status(HttpStatus.CONFLICT).body(errorResponse);
     }
 
+    @ExceptionHandler(StaleVersionException.class)
+    public ResponseEntity<ErrorResponse> handleStaleVersionException(
+            StaleVersionException ex, WebRequest request) {
+        ErrorResponse errorResponse = new ErrorResponse(
+                HttpStatus.PRECONDITION_FAILED.value(),
+                "Precondition Failed",
+                ex.getMessage(),
+                request.getDescription(false).replace("uri=", "")
+        );
+        // The current version lets the client re-read and retry without guessing
+        return ResponseEntity.status(HttpStatus.PRECONDITION_FAILED)
+                .eTag("\"" + ex.getCurrentVersion() + "\"")
+                .body(errorResponse);
+    }
+
+    @ExceptionHandler(CommandFailedException.class)
+    public ResponseEntity<CommandErrorResponse> handleCommandFailedException(
+            CommandFailedException ex, WebRequest request) {
+        // A failed command maps to the status its failure would get on its own endpoint
+        RuntimeException cause = ex.getCause();
+        HttpStatus status;
+        if (cause instanceof StaleVersionException) {
+            status = HttpStatus.PRECONDITION_FAILED;
+        } else if (cause instanceof IllegalStateException) {
+            status = HttpStatus.CONFLICT;
+        } else if (cause instanceof IllegalArgumentException) {
+            status = HttpStatus.BAD_REQUEST;
+        } else {
+            status = HttpStatus.INTERNAL_SERVER_ERROR;
+        }
+        CommandErrorResponse errorResponse = new CommandErrorResponse(
+                status.value(),
+                status.getReasonPhrase(),
+                ex.getMessage(),
+                request.getDescription(false).replace("uri=", ""),
+                ex.getCommandIndex()
+        );
+        ResponseEntity.BodyBuilder response = ResponseEntity.status(status);
+        if (cause instanceof StaleVersionException stale) {
+            response.eTag("\"" + stale.getCurrentVersion() + "\"");
+        }
+        return response.body(errorResponse);
+    }
+
     @ExceptionHandler(MethodArgumentNotValidException.class)
     public ResponseEntity<ErrorResponse> handleValidationException(
             MethodArgumentNotValidException ex, WebRequest request) {
@@ -0,0 +1,24 @@
+package com.gotocompany.cards.exception;
+
+/**
+ * Thrown when a mutation was made conditional on a version of a game that is no longer
+ * current. Nothing has been changed when it is thrown.
+ */
+public class StaleVersionException extends IllegalStateException {
+    private final long expectedVersion;
+    private final long currentVersion;
+
+    public StaleVersionException(long expectedVersion, long currentVersion) {
+        super("Game version is " + currentVersion + ", expected " + expectedVersion);
+        this.expectedVersion = expectedVersion;
+        this.currentVersion = currentVersion;
+    }
+
+    public long getExpectedVersion() {
+        return expectedVersion;
+    }
+
+    public long getCurrentVersion() {
+        return currentVersion;
+    }
+}
@@ -8,10 +8,31 @@ import java.util.Objects;
 /**
  * Represents a playing card with a suit and face value.
  * Cards are immutable to ensure consistency and thread safety.
+ * Prefer {@link #of(Suit, FaceValue)}, which returns one of 52 shared instances,
+ * over allocating new cards.
  */
 public class Card {
+    private static final int FACE_VALUES_PER_SUIT = FaceValue.values().length;
+
+    /**
+     * Number of distinct cards in a standard deck (4 suits x 13 face values).
+     */
+    public static final int DISTINCT_CARDS = Suit.values().length * FACE_VALUES_PER_SUIT;
+
+    private static final Card[] BY_ORDINAL = new Card[DISTINCT_CARDS];
+
+    static {
+        for (Suit suit : Suit.values()) {
+            for (FaceValue faceValue : FaceValue.values()) {
+                Card card = new Card(suit, faceValue);
+                BY_ORDINAL[card.ordinal()] = card;
+            }
+        }
+    }
+
     private final Suit suit;
     private final FaceValue faceValue;
+    private final String displayName;
 
     public Card(Suit suit, FaceValue faceValue) {
         if (suit == null || faceValue == null) {
@@ -19,6 +40,7 @@ public class Card {
         }
         this.suit = suit;
         this.faceValue = faceValue;
+        this.displayName = faceValue.getDisplayName() + " of " + suit.getDisplayName();
     }
 
     public Suit getSuit() {
@@ -37,6 +59,34 @@ public class Card {
         return faceValue.getValue();
     }
 
+    /**
+     * Returns the position of this card in a standard deck ordered by suit, then face value.
+     * The ordinal is in the range [0, 52) and is used for compact primitive encodings.
+     */
+    public int ordinal() {
+        return suit.ordinal() * FACE_VALUES_PER_SUIT + faceValue.ordinal();
+    }
+
+    /**
+     * Returns the canonical instance of the card with the given suit and face value.
+     */
+    public static Card of(Suit suit, FaceValue faceValue) {
+        if (suit == null || faceValue == null) {
+            throw new IllegalArgumentException("Suit and face value cannot be null");
+        }
+        return BY_ORDINAL[suit.ordinal() * FACE_VALUES_PER_SUIT + faceValue.ordinal()];
+    }
+
+    /**
+     * Returns the canonical instance of the card with the given ordinal.
+     */
+    public static Card fromOrdinal(int ordinal) {
+        if (ordinal < 0 || ordinal >= DISTINCT_CARDS) {
+            throw new IllegalArgumentException("Card ordinal out of range: " + ordinal);
+        }
+        return BY_ORDINAL[ordinal];
+    }
+
     @Override
     public boolean equals(Object o) {
         if (this == o) return true;
@@ -52,7 +102,7 @@ public class Card {
 
     @Override
     public String toString() {
-        return faceValue.getDisplayName() + " of " + suit.getDisplayName();
+        return displayName;
     }
 }
 
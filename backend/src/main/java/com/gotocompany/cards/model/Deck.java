@@ -3,63 +3,124 @@ package com.gotocompany.cards.model;
 import com.gotocompany.cards.model.enums.FaceValue;
 import com.gotocompany.cards.model.enums.Suit;
 
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 
 /**
  * Represents a standard 52-card deck of playing cards.
  * Each deck contains one card of each suit and face value combination.
+ * All decks share a single immutable template of canonical cards, so a deck
+ * only holds its id and assignment state.
+ * A deck is assigned to at most one game; {@link #claim(String)} makes the assignment
+ * atomically, so concurrent games racing for the same deck cannot both get it.
  */
 public class Deck {
+    private static final List<Card> STANDARD_CARDS = createStandardDeck();
+    private static final byte[] STANDARD_ORDINALS = toOrdinals(STANDARD_CARDS);
+    private static final String UNKNOWN_GAME = ""; // Owner of decks marked added without a game
+    private static final VarHandle GAME_ID;
+
+    static {
+        try {
+            GAME_ID = MethodHandles.lookup().findVarHandle(Deck.class, "gameId", String.class);
+        } catch (ReflectiveOperationException e) {
+            throw new ExceptionInInitializerError(e);
+        }
+    }
+
     private final String id;
-    private final List<Card> cards;
-    private boolean added;
+    private volatile String gameId; // Game the deck was added to, null while unassigned
 
     public Deck(String id) {
         this.id = id;
-        this.cards = createStandardDeck();
-        this.added = false;
     }
 
     /**
      * Creates a standard 52-card deck with all suits and face values.
      */
-    private List<Card> createStandardDeck() {
+    private static List<Card> createStandardDeck() {
         List<Card> deck = new ArrayList<>();
         for (Suit suit : Suit.values()) {
             for (FaceValue faceValue : FaceValue.values()) {
-                deck.add(new Card(suit, faceValue));
+                deck.add(Card.of(suit, faceValue));
             }
         }
-        return deck;
+        return Collections.unmodifiableList(deck);
+    }
+
+    private static byte[] toOrdinals(List<Card> cards) {
+        byte[] ordinals = new byte[cards.size()];
+        for (int i = 0; i < ordinals.length; i++) {
+            ordinals[i] = (byte) cards.get(i).ordinal();
+        }
+        return ordinals;
     }
 
     public String getId() {
         return id;
     }
 
+    /**
+     * Returns the cards of the deck as a shared, unmodifiable list.
+     */
     public List<Card> getCards() {
-        return new ArrayList<>(cards); // Return copy to maintain immutability
+        return STANDARD_CARDS;
+    }
+
+    /**
+     * Returns the card ordinals of the deck in order.
+     * The array is shared between all decks and must not be modified.
+     */
+    byte[] getCardOrdinals() {
+        return STANDARD_ORDINALS;
     }
 
     public boolean isAdded() {
-        return added;
+        return gameId != null;
     }
-    
+
+    /**
+     * Returns the ID of the game this deck was added to, or null while it is unassigned.
+     */
+    public String getGameId() {
+        return gameId;
+    }
+
+    /**
+     * Assigns this deck to a game unless it is already assigned.
+     * Returns whether the assignment was made.
+     */
+    public boolean claim(String gameId) {
+        if (gameId == null) {
+            throw new IllegalArgumentException("Game id cannot be null");
+        }
+        return GAME_ID.compareAndSet(this, null, gameId);
+    }
+
+    /**
+     * Marks the deck as added to an unspecified game, or as unassigned.
+     * Prefer {@link #claim(String)}, which records the game and cannot overwrite another assignment.
+     */
     public void setAdded(boolean added) {
-        this.added = added;
+        if (added) {
+            GAME_ID.compareAndSet(this, null, UNKNOWN_GAME);
+        } else {
+            this.gameId = null;
+        }
     }
 
     /**
      * Returns the number of cards in the deck.
      */
     public int size() {
-        return cards.size();
+        return STANDARD_CARDS.size();
     }
 
     @Override
     public String toString() {
-        return "Deck{id='" + id + "', size=" + cards.size() + "}";
+        return "Deck{id='" + id + "', size=" + size() + "}";
     }
 }
-
@@ -1,19 +1,58 @@
 package com.gotocompany.cards.model;
 
+import com.gotocompany.cards.exception.StaleVersionException;
+import com.gotocompany.cards.model.enums.FaceValue;
+import com.gotocompany.cards.model.enums.Suit;
+import com.gotocompany.cards.util.RandomMode;
 import com.gotocompany.cards.util.ShuffleUtil;
+
+import java.lang.invoke.VarHandle;
 import java.util.*;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.StampedLock;
+import java.util.function.Function;
+import java.util.function.ObjLongConsumer;
+import java.util.function.Supplier;
 
 /**
  * Represents a game with a shoe (game deck) consisting of multiple decks
  * and a group of players.
+ *
+ * A game is not thread-safe by itself. Callers that share it between threads run
+ * mutations through {@link #write(Supplier)} and queries through {@link #read(Supplier)},
+ * which first reads optimistically without blocking and only takes the read lock
+ * when a write overlapped the attempt.
+ *
+ * Deals can also run concurrently with each other through {@link #dealConcurrently}.
+ * Those hold the lock in shared mode, so they only exclude structural writes, claim their
+ * cards from the shoe with a compare-and-set and then update just the receiving player.
+ * Queries detect overlapping deals through a pair of started/finished counters.
  */
 public class Game {
+    private static final FaceValue[] FACE_VALUES = FaceValue.values();
+    /**
+     * Expected version that matches any version of a game.
+     */
+    public static final long ANY_VERSION = -1;
+
+    private static final Object SHUFFLE_PENDING = new Object(); // Marks a query that must wait for a lazy shuffle
+
     private final String id;
     private final String name;
-    private final List<Card> shoe; // The game deck (shoe) containing cards from all added decks
+    private final Shoe shoe; // The game deck (shoe) containing cards from all added decks
     private final Map<String, Player> players;
     private final Set<String> addedDeckIds; // Track which decks have been added
-    
+    private final Leaderboard leaderboard; // Players ordered by hand value
+    private final Map<String, Player> playersView;
+    private final Set<String> addedDeckIdsView;
+    private RandomMode randomMode; // Source of randomness for shuffles
+    private boolean lazyShuffle; // Randomize cards as they are dealt rather than up front
+    private final StampedLock lock = new StampedLock(); // Guards all of the state above
+    private final AtomicLong dealsStarted = new AtomicLong(); // Concurrent deals begun
+    private final AtomicLong dealsFinished = new AtomicLong(); // Concurrent deals completed
+    private final Object dealOrder = new Object(); // Orders versioning and reporting of concurrent deals
+    private final AtomicLong version = new AtomicLong(); // Bumped after every mutation
+
     public Game(String id, String name) {
         if (id == null || id.isBlank()) {
             throw new IllegalArgumentException("Game id cannot be blank");
@@ -23,9 +62,195 @@ public class Game {
         }
         this.id = id;
         this.name = name;
-        this.shoe = new ArrayList<>();
+        this.shoe = new Shoe();
         this.players = new HashMap<>();
         this.addedDeckIds = new HashSet<>();
+        this.leaderboard = new Leaderboard();
+        this.playersView = Collections.unmodifiableMap(players);
+        this.addedDeckIdsView = Collections.unmodifiableSet(addedDeckIds);
+        this.randomMode = RandomMode.STRONG;
+    }
+
+    /**
+     * Runs a mutation of this game while holding its write lock and returns the result.
+     * The lock is not reentrant, so the mutation must not call back into read or write.
+     * The version is bumped once the mutation returns. A mutation that throws leaves it alone,
+     * so mutations must validate their arguments before they change anything.
+     */
+    public <T> T write(Supplier<T> writer) {
+        return write(ANY_VERSION, writer);
+    }
+
+    /**
+     * Runs a mutation of this game while holding its write lock.
+     */
+    public void write(Runnable writer) {
+        write(() -> {
+            writer.run();
+            return null;
+        });
+    }
+
+    /**
+     * Runs a mutation like {@link #write(Supplier)}, but only if the game is still at
+     * {@code expectedVersion} once the lock is held, so that no other mutation can slip
+     * in between the check and the change. Otherwise throws {@link StaleVersionException}
+     * and leaves the game, including its version, untouched. {@link #ANY_VERSION} skips the check.
+     */
+    public <T> T write(long expectedVersion, Supplier<T> writer) {
+        long stamp = lock.writeLock();
+        try {
+            return apply(expectedVersion, writer);
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    /**
+     * Runs a mutation like {@link #write(long, Supplier)}.
+     */
+    public void write(long expectedVersion, Runnable writer) {
+        write(expectedVersion, () -> {
+            writer.run();
+            return null;
+        });
+    }
+
+    /**
+     * Runs a batch of mutations under a single acquisition of the write lock. The batch
+     * applies each mutation through the given {@link Batch}, and each is checked and
+     * versioned as if run by {@link #write(long, Supplier)} on its own. Returns what the batch returns.
+     */
+    public <R> R writeBatch(Function<Batch, R> batch) {
+        long stamp = lock.writeLock();
+        try {
+            return batch.apply(new Batch() {
+                @Override
+                public <T> T write(long expectedVersion, Supplier<T> writer) {
+                    return apply(expectedVersion, writer);
+                }
+            });
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    /**
+     * Applies one mutation of a {@link #writeBatch} while the write lock is held.
+     */
+    public interface Batch {
+        <T> T write(long expectedVersion, Supplier<T> writer);
+    }
+
+    private <T> T apply(long expectedVersion, Supplier<T> writer) {
+        long current = version.get();
+        if (expectedVersion != ANY_VERSION && expectedVersion != current) {
+            throw new StaleVersionException(expectedVersion, current);
+        }
+        T result = writer.get();
+        version.incrementAndGet();
+        return result;
+    }
+
+    /**
+     * Runs code that doesn't change what queries observe under the write lock,
+     * leaving the version alone.
+     */
+    private <T> T exclusive(Supplier<T> code) {
+        long stamp = lock.writeLock();
+        try {
+            return code.get();
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    /**
+     * Returns the version of this game's state, which starts at 0 and grows after every
+     * mutation, so two reads of the same version saw the same state. Reading it takes no
+     * lock; a mutation in progress is only counted once its effects are visible.
+     */
+    public long getVersion() {
+        return version.get();
+    }
+
+    /**
+     * Returns the version this game will be at once the mutation being applied by
+     * {@link #write} completes. Only meaningful inside a writer, while the write lock is held.
+     */
+    public long getPendingVersion() {
+        return version.get() + 1;
+    }
+
+    /**
+     * Runs a query against this game and returns its result. The query first runs without
+     * any lock and its result is kept if no write or deal happened meanwhile; otherwise it
+     * runs again under the read lock, and if a concurrent deal overlapped that attempt too,
+     * under the write lock. The query may therefore observe a write in progress, so it
+     * must only read, must copy whatever it returns out of the live state, and must not
+     * depend on side effects. Exceptions thrown while a write overlapped are discarded.
+     */
+    public <T> T read(Supplier<T> reader) {
+        long stamp = lock.tryOptimisticRead();
+        if (stamp != 0L) {
+            long dealsDone = dealsFinished.get();
+            try {
+                T result = reader.get();
+                if (lock.validate(stamp) && noDealsSince(dealsDone)) {
+                    return result;
+                }
+            } catch (RuntimeException e) {
+                if (lock.validate(stamp) && noDealsSince(dealsDone)) {
+                    throw e;
+                }
+                // Saw a torn state from a concurrent write; retry under the read lock
+            }
+        }
+        stamp = lock.readLock();
+        try {
+            long dealsDone = dealsFinished.get();
+            try {
+                T result = reader.get();
+                if (noDealsSince(dealsDone)) {
+                    return result;
+                }
+            } catch (RuntimeException e) {
+                if (noDealsSince(dealsDone)) {
+                    throw e;
+                }
+            }
+        } finally {
+            lock.unlockRead(stamp);
+        }
+        return exclusive(reader); // Concurrent deals kept overlapping; exclude them
+    }
+
+    /**
+     * Runs a query that reads the order of the shoe, like {@link #read(Supplier)}.
+     * Reading the order finishes a pending lazy shuffle, which is a write, so when one is
+     * pending it is first completed under the write lock and the query runs afterwards.
+     */
+    @SuppressWarnings("unchecked")
+    public <T> T readWithShoe(Supplier<T> reader) {
+        while (true) {
+            Object result = read(() -> shoe.isShufflePending() ? SHUFFLE_PENDING : reader.get());
+            if (result != SHUFFLE_PENDING) {
+                return (T) result;
+            }
+            exclusive(() -> {
+                shoe.completeShuffle(); // Fixes an order no query has seen yet; not a visible change
+                return null;
+            });
+        }
+    }
+
+    /**
+     * Returns whether no concurrent deal was in progress at any point since
+     * {@code dealsDone} deals had finished.
+     */
+    private boolean noDealsSince(long dealsDone) {
+        VarHandle.acquireFence(); // Order the preceding reads of game state before the check
+        return dealsStarted.get() == dealsDone;
     }
 
     public String getId() {
@@ -36,11 +261,57 @@ public class Game {
         return name;
     }
 
+    public RandomMode getRandomMode() {
+        return randomMode;
+    }
+
+    /**
+     * Selects the source of randomness used when this game's shoe is shuffled.
+     */
+    public void setRandomMode(RandomMode randomMode) {
+        if (randomMode == null) {
+            throw new IllegalArgumentException("Random mode cannot be null");
+        }
+        this.randomMode = randomMode;
+    }
+
+    public boolean isLazyShuffle() {
+        return lazyShuffle;
+    }
+
+    /**
+     * Selects whether {@link #shuffle()} randomizes the whole shoe up front, or only marks
+     * it as shuffled and picks each dealt card uniformly from the cards not yet dealt.
+     * Both produce the same distribution; the lazy mode makes shuffling constant time
+     * and only pays for the cards actually dealt.
+     */
+    public void setLazyShuffle(boolean lazyShuffle) {
+        this.lazyShuffle = lazyShuffle;
+    }
+
     /**
      * Returns a copy of the shoe (game deck).
      */
     public List<Card> getShoe() {
-        return new ArrayList<>(shoe);
+        return shoe.toList();
+    }
+
+    /**
+     * Returns a read-only view of the shoe (game deck) from top to bottom.
+     * Unlike {@link #getShoe()} nothing is copied, and the view reflects later changes.
+     * Its cards can only be read once a pending lazy shuffle has completed, so read them
+     * through {@link #readWithShoe}; otherwise reading them throws IllegalStateException.
+     */
+    public List<Card> getShoeView() {
+        return shoe.asList();
+    }
+
+    /**
+     * Returns a copy of the shoe from top to bottom as card ordinals (see {@link Card#ordinal()}),
+     * one byte per card. Reads the shoe order, so call it through {@link #readWithShoe}.
+     */
+    public byte[] getShoeOrdinals() {
+        return shoe.toOrdinals();
     }
 
     /**
@@ -50,6 +321,25 @@ public class Game {
         return shoe.size();
     }
 
+    /**
+     * Returns the number of undealt cards of the given suit and face value.
+     * Answered from counters maintained as cards move, without scanning the shoe.
+     */
+    public int getUndealtCount(Suit suit, FaceValue faceValue) {
+        return shoe.count(Card.of(suit, faceValue).ordinal());
+    }
+
+    /**
+     * Returns the number of undealt cards of the given suit.
+     */
+    public int getUndealtCount(Suit suit) {
+        int total = 0;
+        for (FaceValue faceValue : FACE_VALUES) {
+            total += getUndealtCount(suit, faceValue);
+        }
+        return total;
+    }
+
     /**
      * Adds all cards from a deck to the shoe.
      * Once a deck is added, it cannot be removed (as per requirements).
@@ -62,10 +352,34 @@ public class Game {
         if (addedDeckIds.contains(deckId)) {
             throw new IllegalStateException("Deck " + deckId + " has already been added to the game");
         }
-        shoe.addAll(deck.getCards());
+        shoe.addOrdinals(deck.getCardOrdinals());
         addedDeckIds.add(deckId);
     }
 
+    /**
+     * Adds all cards from several decks to the shoe in one pass, growing it at most once.
+     * Nothing is added if any of the decks has already been added.
+     */
+    public void addDecks(List<Deck> decks) {
+        if (decks == null) {
+            throw new IllegalArgumentException("Decks cannot be null");
+        }
+        Set<String> newDeckIds = new HashSet<>();
+        List<byte[]> ordinals = new ArrayList<>(decks.size());
+        for (Deck deck : decks) {
+            if (deck == null) {
+                throw new IllegalArgumentException("Deck cannot be null");
+            }
+            String deckId = deck.getId();
+            if (addedDeckIds.contains(deckId) || !newDeckIds.add(deckId)) {
+                throw new IllegalStateException("Deck " + deckId + " has already been added to the game");
+            }
+            ordinals.add(deck.getCardOrdinals());
+        }
+        shoe.addOrdinals(ordinals);
+        addedDeckIds.addAll(newDeckIds);
+    }
+
     /**
      * Checks if a deck has been added to this game.
      */
@@ -74,10 +388,17 @@ public class Game {
     }
 
     /**
-     * Returns the IDs of all decks added to this game.
+     * Returns a read-only view of the IDs of all decks added to this game.
      */
     public Set<String> getAddedDeckIds() {
-        return new HashSet<>(addedDeckIds);
+        return addedDeckIdsView;
+    }
+
+    /**
+     * Returns the number of decks added to this game.
+     */
+    public int getAddedDeckCount() {
+        return addedDeckIds.size();
     }
 
     /**
@@ -87,7 +408,11 @@ public class Game {
         if (player == null) {
             throw new IllegalArgumentException("Player cannot be null");
         }
-        players.put(player.getName(), player);
+        Player replaced = players.put(player.getName(), player);
+        if (replaced != null) {
+            leaderboard.remove(replaced);
+        }
+        leaderboard.add(player);
     }
 
     /**
@@ -98,6 +423,7 @@ public class Game {
         if (player == null) {
             throw new IllegalArgumentException("Player " + playerName + " not found in game");
         }
+        leaderboard.remove(player);
         shoe.addAll(player.releaseHand());
     }
 
@@ -109,10 +435,47 @@ public class Game {
     }
 
     /**
-     * Returns a copy of all players in the game.
+     * Returns a read-only view of all players in the game.
      */
     public Collection<Player> getPlayers() {
-        return new ArrayList<>(players.values());
+        return playersView.values();
+    }
+
+    /**
+     * Returns a read-only view of the players in the game keyed by name.
+     */
+    public Map<String, Player> getPlayersByName() {
+        return playersView;
+    }
+
+    /**
+     * Returns the number of players in the game.
+     */
+    public int getPlayerCount() {
+        return players.size();
+    }
+
+    /**
+     * Returns the players ranked from {@code from} (inclusive) to {@code to} (exclusive),
+     * where rank 0 holds the highest hand value and ties are ordered by name.
+     * The range is clamped to the number of players.
+     */
+    public List<Player> getPlayersByRank(int from, int to) {
+        if (from < 0 || to < from) {
+            throw new IllegalArgumentException("Invalid rank range: " + from + " to " + to);
+        }
+        return leaderboard.range(from, to);
+    }
+
+    /**
+     * Returns the zero-based leaderboard rank of a player.
+     */
+    public int getPlayerRank(String playerName) {
+        Player player = players.get(playerName);
+        if (player == null) {
+            throw new IllegalArgumentException("Player " + playerName + " not found in game");
+        }
+        return leaderboard.rankOf(player);
     }
 
     /**
@@ -132,25 +495,176 @@ public class Game {
             throw new IllegalArgumentException("Player " + playerName + " not found in game");
         }
 
-        List<Card> dealtCards = new ArrayList<>();
+        leaderboard.remove(player);
+        List<Card> dealtCards = new ArrayList<>(count);
         for (int i = 0; i < count; i++) {
-            Card card = shoe.remove(0); // Remove from front (top of deck)
+            Card card = shoe.draw(); // Remove from front (top of deck)
             dealtCards.add(card);
             player.addCard(card);
         }
+        leaderboard.add(player);
+
+        return dealtCards;
+    }
+
+    /**
+     * Deals a round of {@code count} cards to each of the given players the way a dealer does:
+     * one card at a time around the table in the given order, {@code count} times.
+     * All the cards are drawn from the shoe in one pass and each hand is added in bulk.
+     * Nothing is dealt unless every player exists and the shoe holds enough cards.
+     * Returns the cards dealt to each player, in the given order.
+     */
+    public Map<String, List<Card>> dealRound(int count, List<String> playerOrder) {
+        if (count <= 0) {
+            throw new IllegalArgumentException("Count must be positive");
+        }
+        if (playerOrder == null || playerOrder.isEmpty()) {
+            throw new IllegalArgumentException("Player order must not be empty");
+        }
+        // Checked before any player is looked up, so an oversized round fails at once
+        long total = (long) count * playerOrder.size();
+        if (total > shoe.size()) {
+            throw new IllegalStateException("Not enough cards in shoe. Requested: " + total + ", Available: " + shoe.size());
+        }
+        Player[] seats = new Player[playerOrder.size()];
+        Set<String> seated = new HashSet<>();
+        for (int i = 0; i < seats.length; i++) {
+            String playerName = playerOrder.get(i);
+            seats[i] = players.get(playerName);
+            if (seats[i] == null) {
+                throw new IllegalArgumentException("Player " + playerName + " not found in game");
+            }
+            if (!seated.add(playerName)) {
+                throw new IllegalArgumentException("Player " + playerName + " appears more than once in the player order");
+            }
+        }
+
+        List<Card> drawn = shoe.draw((int) total);
+        Map<String, List<Card>> hands = new LinkedHashMap<>();
+        for (int seat = 0; seat < seats.length; seat++) {
+            List<Card> hand = new ArrayList<>(count);
+            for (int i = seat; i < drawn.size(); i += seats.length) {
+                hand.add(drawn.get(i));
+            }
+            leaderboard.remove(seats[seat]);
+            seats[seat].addCards(hand);
+            leaderboard.add(seats[seat]);
+            hands.put(seats[seat].getName(), hand);
+        }
+        return hands;
+    }
+
+    /**
+     * Deals the specified number of cards from the shoe to a player while other deals
+     * run at the same time. Takes the game's lock in shared mode, claims a contiguous range
+     * from the top of the shoe with a single compare-and-set and then updates only the
+     * receiving player and its leaderboard entry. Falls back to an exclusive
+     * {@link #dealCards} while a lazy shuffle is pending, because drawing then reorders the shoe.
+     * Must not be called while holding this game's lock.
+     */
+    public List<Card> dealConcurrently(String playerName, int count) {
+        return dealConcurrently(playerName, count, (dealtCards, dealtVersion) -> {
+        });
+    }
+
+    /**
+     * Deals like {@link #dealConcurrently(String, int)} and passes the dealt cards and the
+     * version the deal moved the game to to {@code onDealt} before the lock is released,
+     * so the callback runs before any later exclusive mutation of the game. Concurrent deals
+     * call it one at a time in version order, so it must be quick and must not block.
+     */
+    public List<Card> dealConcurrently(String playerName, int count, ObjLongConsumer<List<Card>> onDealt) {
+        if (count <= 0) {
+            throw new IllegalArgumentException("Count must be positive");
+        }
+        long stamp = lock.readLock();
+        try {
+            if (!shoe.isShufflePending()) {
+                return dealShared(playerName, count, onDealt);
+            }
+        } finally {
+            lock.unlockRead(stamp);
+        }
+        return write(() -> {
+            List<Card> dealtCards = dealCards(playerName, count);
+            onDealt.accept(dealtCards, getPendingVersion());
+            return dealtCards;
+        });
+    }
+
+    private List<Card> dealShared(String playerName, int count, ObjLongConsumer<List<Card>> onDealt) {
+        if (count > shoe.size()) {
+            throw new IllegalStateException("Not enough cards in shoe. Requested: " + count + ", Available: " + shoe.size());
+        }
+        Player player = players.get(playerName);
+        if (player == null) {
+            throw new IllegalArgumentException("Player " + playerName + " not found in game");
+        }
 
+        List<Card> dealtCards;
+        dealsStarted.incrementAndGet();
+        try {
+            int from = shoe.claim(count);
+            if (from < 0) {
+                throw new IllegalStateException("Not enough cards in shoe. Requested: " + count + ", Available: " + shoe.size());
+            }
+            dealtCards = shoe.take(from, count);
+            synchronized (player) {
+                synchronized (leaderboard) {
+                    leaderboard.remove(player);
+                }
+                player.addCards(dealtCards);
+                synchronized (leaderboard) {
+                    leaderboard.add(player);
+                }
+                // Taking the version and reporting it in one step reports deals in version order,
+                // and doing so under the player's lock makes a hand grow in that order too
+                synchronized (dealOrder) {
+                    onDealt.accept(dealtCards, version.incrementAndGet());
+                }
+            }
+        } finally {
+            dealsFinished.incrementAndGet();
+        }
         return dealtCards;
     }
 
     /**
      * Shuffles the shoe using the Fisher-Yates algorithm.
      * This method can be called at any time to randomize the order of cards in the shoe.
+     * In lazy shuffle mode the work is deferred until cards are dealt or the shoe is read.
      */
     public void shuffle() {
+        shuffle(ShuffleUtil.DEFAULT_PARALLEL_THRESHOLD);
+    }
+
+    /**
+     * Shuffles the shoe like {@link #shuffle()}, in parallel once it holds at least
+     * {@code parallelThreshold} cards.
+     */
+    public void shuffle(int parallelThreshold) {
         if (shoe.isEmpty()) {
             throw new IllegalStateException("There are no cards to shuffle");
         }
-        ShuffleUtil.shuffle(shoe);
+        if (lazyShuffle) {
+            shoe.shuffleLazily(randomMode, parallelThreshold);
+        } else {
+            shoe.shuffle(randomMode, parallelThreshold);
+        }
+    }
+
+    /**
+     * Shuffles the shoe by applying a pre-generated, uniformly random permutation of
+     * [0, shoeSize) to it, which takes a single pass over the shoe.
+     */
+    public void shuffle(int[] permutation) {
+        if (shoe.isEmpty()) {
+            throw new IllegalStateException("There are no cards to shuffle");
+        }
+        if (permutation == null || permutation.length != shoe.size()) {
+            throw new IllegalArgumentException("Permutation must cover all " + shoe.size() + " cards in the shoe");
+        }
+        shoe.permute(permutation);
     }
 
     /**
@@ -159,10 +673,12 @@ public class Game {
      */
     public void reset() {
         for (Player player : players.values()) {
-            List<Card> returnedCards = player.releaseHand();
-            if (!returnedCards.isEmpty()) {
-                shoe.addAll(returnedCards);
+            if (player.getHandSize() == 0) {
+                continue;
             }
+            leaderboard.remove(player);
+            shoe.addAll(player.releaseHand());
+            leaderboard.add(player);
         }
     }
 
@@ -0,0 +1,207 @@
+package com.gotocompany.cards.model;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Ordered index of a game's players by hand value (descending), ties broken by name.
+ * Implemented as a treap augmented with subtree sizes, so insertion, removal,
+ * rank lookup and selecting the player at a given rank all run in O(log p),
+ * and reading K consecutive ranks runs in O(log p + K).
+ *
+ * Entries are keyed by the hand value at the time they were added, so a player's
+ * hand must only change between a {@link #remove(Player)} and an {@link #add(Player)}.
+ */
+class Leaderboard {
+
+    private static final class Node {
+        final Player player;
+        final int handValue;
+        final int priority;
+        Node left;
+        Node right;
+        int size = 1;
+
+        Node(Player player) {
+            this.player = player;
+            this.handValue = player.getHandValue();
+            this.priority = ThreadLocalRandom.current().nextInt();
+        }
+    }
+
+    private Node root;
+
+    /**
+     * Returns the number of players in the index.
+     */
+    int size() {
+        return size(root);
+    }
+
+    /**
+     * Adds a player keyed by their current hand value.
+     */
+    void add(Player player) {
+        root = insert(root, new Node(player));
+    }
+
+    /**
+     * Removes a player. Must be called before the player's hand value changes.
+     */
+    void remove(Player player) {
+        root = delete(root, player.getHandValue(), player.getName());
+    }
+
+    /**
+     * Returns the zero-based rank of a player, or -1 if the player is not indexed.
+     */
+    int rankOf(Player player) {
+        int value = player.getHandValue();
+        String name = player.getName();
+        int rank = 0;
+        Node node = root;
+        while (node != null) {
+            int cmp = compare(value, name, node);
+            if (cmp == 0) {
+                return rank + size(node.left);
+            }
+            if (cmp < 0) {
+                node = node.left;
+            } else {
+                rank += size(node.left) + 1;
+                node = node.right;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Returns the players with zero-based ranks in [from, to), clamped to the index size.
+     */
+    List<Player> range(int from, int to) {
+        int end = Math.min(to, size());
+        if (from >= end) {
+            return new ArrayList<>();
+        }
+        List<Player> result = new ArrayList<>(end - from);
+
+        // Descend to the node at rank 'from', remembering ancestors still to be visited in order
+        Deque<Node> pending = new ArrayDeque<>();
+        Node node = root;
+        int skip = from;
+        while (node != null) {
+            int leftSize = size(node.left);
+            if (skip < leftSize) {
+                pending.push(node);
+                node = node.left;
+            } else if (skip == leftSize) {
+                pending.push(node);
+                break;
+            } else {
+                skip -= leftSize + 1;
+                node = node.right;
+            }
+        }
+
+        // In-order walk from there
+        while (result.size() < end - from) {
+            Node current = pending.pop();
+            result.add(current.player);
+            for (Node next = current.right; next != null; next = next.left) {
+                pending.push(next);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Orders higher hand values first, then names alphabetically.
+     */
+    private static int compare(int handValue, String name, Node node) {
+        int cmp = Integer.compare(node.handValue, handValue);
+        return cmp != 0 ? cmp : name.compareTo(node.player.getName());
+    }
+
+    private static int size(Node node) {
+        return node == null ? 0 : node.size;
+    }
+
+    private static Node update(Node node) {
+        node.size = size(node.left) + size(node.right) + 1;
+        return node;
+    }
+
+    private static Node insert(Node tree, Node node) {
+        if (tree == null) {
+            return node;
+        }
+        if (node.priority > tree.priority) {
+            split(tree, node);
+            return update(node);
+        }
+        if (compare(node.handValue, node.player.getName(), tree) < 0) {
+            tree.left = insert(tree.left, node);
+        } else {
+            tree.right = insert(tree.right, node);
+        }
+        return update(tree);
+    }
+
+    /**
+     * Splits a tree around the key of a new node, attaching the smaller keys as
+     * its left subtree and the larger keys as its right subtree.
+     */
+    private static void split(Node tree, Node node) {
+        if (tree == null) {
+            node.left = null;
+            node.right = null;
+            return;
+        }
+        if (compare(node.handValue, node.player.getName(), tree) < 0) {
+            split(tree.left, node);
+            tree.left = node.right;
+            node.right = update(tree);
+        } else {
+            split(tree.right, node);
+            tree.right = node.left;
+            node.left = update(tree);
+        }
+    }
+
+    private static Node delete(Node tree, int handValue, String name) {
+        if (tree == null) {
+            return null;
+        }
+        int cmp = compare(handValue, name, tree);
+        if (cmp == 0) {
+            return merge(tree.left, tree.right);
+        }
+        if (cmp < 0) {
+            tree.left = delete(tree.left, handValue, name);
+        } else {
+            tree.right = delete(tree.right, handValue, name);
+        }
+        return update(tree);
+    }
+
+    /**
+     * Merges two trees where every key in the first precedes every key in the second.
+     */
+    private static Node merge(Node first, Node second) {
+        if (first == null) {
+            return second;
+        }
+        if (second == null) {
+            return first;
+        }
+        if (first.priority > second.priority) {
+            first.right = merge(first.right, second);
+            return update(first);
+        }
+        second.left = merge(first, second.left);
+        return update(second);
+    }
+}
@@ -1,6 +1,7 @@
 package com.gotocompany.cards.model;
 
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 import java.util.Objects;
 
@@ -10,6 +11,8 @@ import java.util.Objects;
 public class Player {
     private final String name;
     private final List<Card> hand;
+    private final List<Card> handView; // Read-only view of the hand handed out to callers
+    private int handValue; // Running total of the card values in hand
 
     public Player(String name) {
         if (name == null || name.trim().isEmpty()) {
@@ -17,6 +20,7 @@ public class Player {
         }
         this.name = name;
         this.hand = new ArrayList<>();
+        this.handView = Collections.unmodifiableList(hand);
     }
 
     public String getName() {
@@ -24,10 +28,10 @@ public class Player {
     }
 
     /**
-     * Returns a copy of the player's hand.
+     * Returns a read-only view of the player's hand.
      */
     public List<Card> getHand() {
-        return new ArrayList<>(hand);
+        return handView;
     }
 
     /**
@@ -38,6 +42,7 @@ public class Player {
             throw new IllegalArgumentException("Card cannot be null");
         }
         hand.add(card);
+        handValue += card.getValue();
     }
 
     /**
@@ -47,17 +52,36 @@ public class Player {
         if (cards == null) {
             throw new IllegalArgumentException("Cards list cannot be null");
         }
+        int addedValue = 0;
+        for (Card card : cards) {
+            if (card == null) {
+                throw new IllegalArgumentException("Card cannot be null");
+            }
+            addedValue += card.getValue();
+        }
         hand.addAll(cards);
+        handValue += addedValue;
     }
 
     /**
      * Calculates the total value of all cards in the player's hand.
      * Uses face values only (Ace=1, 2-10=face value, Jack=11, Queen=12, King=13).
+     * The total is maintained as cards are added and released, so this is O(1).
      */
     public int getHandValue() {
-        return hand.stream()
-                .mapToInt(Card::getValue)
-                .sum();
+        return handValue;
+    }
+
+    /**
+     * Returns a copy of the player's hand as card ordinals (see {@link Card#ordinal()}),
+     * one byte per card.
+     */
+    public byte[] getHandOrdinals() {
+        byte[] ordinals = new byte[hand.size()];
+        for (int i = 0; i < ordinals.length; i++) {
+            ordinals[i] = (byte) hand.get(i).ordinal();
+        }
+        return ordinals;
     }
 
     /**
@@ -73,9 +97,21 @@ public class Player {
     public List<Card> releaseHand() {
         List<Card> cards = new ArrayList<>(hand);
         hand.clear();
+        handValue = 0;
         return cards;
     }
 
+    /**
+     * Returns a detached copy of this player holding a copy of the current hand,
+     * which can be read after the game has moved on.
+     */
+    public Player snapshot() {
+        Player copy = new Player(name);
+        copy.hand.addAll(hand);
+        copy.handValue = handValue;
+        return copy;
+    }
+
     @Override
     public boolean equals(Object o) {
         if (this == o) return true;
@@ -91,7 +127,7 @@ public class Player {
 
     @Override
     public String toString() {
-        return "Player{name='" + name + "', handSize=" + hand.size() + ", handValue=" + getHandValue() + "}";
+        return "Player{name='" + name + "', handSize=" + hand.size() + ", handValue=" + handValue + "}";
     }
 }
 
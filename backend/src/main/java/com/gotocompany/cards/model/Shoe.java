@@ -0,0 +1,336 @@
+package com.gotocompany.cards.model;
+
+import com.gotocompany.cards.util.RandomMode;
+import com.gotocompany.cards.util.ShuffleUtil;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
+import java.util.RandomAccess;
+
+/**
+ * Compact storage for the cards in a game's shoe.
+ * Cards are kept as byte ordinals (see {@link Card#ordinal()}) in a contiguous array
+ * between a head cursor (top of the shoe) and a tail cursor (bottom of the shoe).
+ * Dealing advances the head and returning cards appends at the tail, so both run
+ * in time proportional to the number of cards moved.
+ * The shoe also keeps a count of each distinct card it holds (a 4x13 suit by
+ * face value matrix, flattened by ordinal) so composition queries never scan it.
+ *
+ * A lazy shuffle only marks the cards as randomized. Each draw then swaps a
+ * uniformly chosen card from the still unshuffled region to the top, which is one
+ * step of a forward Fisher-Yates shuffle, so the dealt sequence has exactly the
+ * distribution of an eager shuffle. Reading the full order finishes the shuffle first.
+ *
+ * The shoe is not thread-safe, with one exception: while no other method runs, any number
+ * of threads may deal concurrently through {@link #claim(int)} and {@link #take(int, int)}.
+ * The array is then immutable, a deal reserves a contiguous range from the top with a single
+ * compare-and-set on the head, and the per-card counts are decremented atomically.
+ */
+class Shoe {
+    private static final int INITIAL_CAPACITY = Card.DISTINCT_CARDS;
+    private static final VarHandle HEAD;
+    private static final VarHandle COUNTS = MethodHandles.arrayElementVarHandle(int[].class);
+
+    static {
+        try {
+            HEAD = MethodHandles.lookup().findVarHandle(Shoe.class, "head", int.class);
+        } catch (ReflectiveOperationException e) {
+            throw new ExceptionInInitializerError(e);
+        }
+    }
+
+    private byte[] cards;
+    private int head; // Index of the top card
+    private int tail; // Index one past the bottom card
+    private int unshuffledEnd; // Cards in [head, unshuffledEnd) await a lazy shuffle
+    private RandomMode unshuffledMode; // Randomness for completing the lazy shuffle
+    private int unshuffledParallelThreshold; // Size from which completing it runs in parallel
+    private final int[] counts = new int[Card.DISTINCT_CARDS]; // Cards held per ordinal
+    private final List<Card> view = new View();
+
+    Shoe() {
+        this.cards = new byte[INITIAL_CAPACITY];
+    }
+
+    /**
+     * Returns the number of cards in the shoe.
+     */
+    int size() {
+        return tail - head;
+    }
+
+    boolean isEmpty() {
+        return head == tail;
+    }
+
+    /**
+     * Returns the number of copies of the card with the given ordinal in the shoe.
+     */
+    int count(int ordinal) {
+        return counts[ordinal];
+    }
+
+    /**
+     * Appends a card to the bottom of the shoe.
+     */
+    void add(Card card) {
+        ensureCapacity(1);
+        int ordinal = card.ordinal();
+        cards[tail++] = (byte) ordinal;
+        counts[ordinal]++;
+    }
+
+    /**
+     * Appends cards to the bottom of the shoe, preserving their order.
+     */
+    void addAll(List<Card> newCards) {
+        ensureCapacity(newCards.size());
+        for (Card card : newCards) {
+            int ordinal = card.ordinal();
+            cards[tail++] = (byte) ordinal;
+            counts[ordinal]++;
+        }
+    }
+
+    /**
+     * Appends card ordinals to the bottom of the shoe, preserving their order.
+     */
+    void addOrdinals(byte[] ordinals) {
+        ensureCapacity(ordinals.length);
+        System.arraycopy(ordinals, 0, cards, tail, ordinals.length);
+        tail += ordinals.length;
+        for (byte ordinal : ordinals) {
+            counts[ordinal]++;
+        }
+    }
+
+    /**
+     * Appends several arrays of card ordinals to the bottom of the shoe, in order,
+     * growing the storage at most once.
+     */
+    void addOrdinals(List<byte[]> ordinalArrays) {
+        int total = 0;
+        for (byte[] ordinals : ordinalArrays) {
+            total += ordinals.length;
+        }
+        ensureCapacity(total);
+        for (byte[] ordinals : ordinalArrays) {
+            System.arraycopy(ordinals, 0, cards, tail, ordinals.length);
+            tail += ordinals.length;
+            for (byte ordinal : ordinals) {
+                counts[ordinal]++;
+            }
+        }
+    }
+
+    /**
+     * Removes and returns the top card of the shoe.
+     */
+    Card draw() {
+        if (isEmpty()) {
+            throw new IllegalStateException("The shoe is empty");
+        }
+        if (head < unshuffledEnd - 1) {
+            int j = head + unshuffledMode.generator().nextInt(unshuffledEnd - head);
+            byte temp = cards[head];
+            cards[head] = cards[j];
+            cards[j] = temp;
+        }
+        int ordinal = cards[head++];
+        counts[ordinal]--;
+        return Card.fromOrdinal(ordinal);
+    }
+
+    /**
+     * Removes and returns the given number of cards from the top of the shoe, in the order
+     * they were on it. A pending lazy shuffle is carried out only for the cards drawn.
+     */
+    List<Card> draw(int count) {
+        if (count > size()) {
+            throw new IllegalStateException("Not enough cards in shoe. Requested: " + count + ", Available: " + size());
+        }
+        List<Card> drawn = new ArrayList<>(count);
+        int end = head + count;
+        for (int i = head; i < end; i++) {
+            if (i < unshuffledEnd - 1) {
+                int j = i + unshuffledMode.generator().nextInt(unshuffledEnd - i);
+                byte temp = cards[i];
+                cards[i] = cards[j];
+                cards[j] = temp;
+            }
+            int ordinal = cards[i];
+            counts[ordinal]--;
+            drawn.add(Card.fromOrdinal(ordinal));
+        }
+        head = end;
+        return drawn;
+    }
+
+    /**
+     * Returns whether a lazy shuffle still has to randomize cards as they are drawn,
+     * in which case the shoe cannot be dealt concurrently.
+     */
+    boolean isShufflePending() {
+        return head < unshuffledEnd;
+    }
+
+    /**
+     * Reserves the given number of cards from the top of the shoe for a concurrent deal
+     * and returns the index of the first one, or -1 if fewer cards remain.
+     */
+    int claim(int count) {
+        while (true) {
+            int top = (int) HEAD.getVolatile(this);
+            if (tail - top < count) {
+                return -1;
+            }
+            if (HEAD.compareAndSet(this, top, top + count)) {
+                return top;
+            }
+        }
+    }
+
+    /**
+     * Returns the cards of a range reserved by {@link #claim(int)} and removes them from the counts.
+     */
+    List<Card> take(int from, int count) {
+        List<Card> taken = new ArrayList<>(count);
+        for (int i = from; i < from + count; i++) {
+            int ordinal = cards[i];
+            COUNTS.getAndAdd(counts, ordinal, -1);
+            taken.add(Card.fromOrdinal(ordinal));
+        }
+        return taken;
+    }
+
+    /**
+     * Returns the cards in the shoe from top to bottom.
+     */
+    List<Card> toList() {
+        completeShuffle();
+        List<Card> list = new ArrayList<>(size());
+        for (int i = head; i < tail; i++) {
+            list.add(Card.fromOrdinal(cards[i]));
+        }
+        return list;
+    }
+
+    /**
+     * Returns the cards in the shoe from top to bottom as ordinals, one byte per card.
+     */
+    byte[] toOrdinals() {
+        completeShuffle();
+        return Arrays.copyOfRange(cards, head, tail);
+    }
+
+    /**
+     * Returns a read-only view of the cards in the shoe from top to bottom.
+     * The view reflects later changes to the shoe and allocates nothing per access.
+     * Reading it never changes the shoe, so its cards cannot be read while a lazy shuffle
+     * is pending; {@link #completeShuffle()} must have run first.
+     */
+    List<Card> asList() {
+        return view;
+    }
+
+    /**
+     * Shuffles the cards currently in the shoe.
+     */
+    void shuffle(RandomMode randomMode) {
+        shuffle(randomMode, ShuffleUtil.DEFAULT_PARALLEL_THRESHOLD);
+    }
+
+    /**
+     * Shuffles the cards currently in the shoe, in parallel from the given shoe size.
+     */
+    void shuffle(RandomMode randomMode, int parallelThreshold) {
+        ShuffleUtil.shuffle(cards, head, tail, randomMode, parallelThreshold);
+        unshuffledEnd = 0;
+    }
+
+    /**
+     * Marks the cards currently in the shoe as shuffled in constant time.
+     * The actual randomization happens as cards are drawn or the full order is read.
+     */
+    void shuffleLazily(RandomMode randomMode) {
+        shuffleLazily(randomMode, ShuffleUtil.DEFAULT_PARALLEL_THRESHOLD);
+    }
+
+    /**
+     * Marks the cards as shuffled like {@link #shuffleLazily(RandomMode)}; completing the
+     * shuffle for at least the given number of cards runs in parallel.
+     */
+    void shuffleLazily(RandomMode randomMode, int parallelThreshold) {
+        unshuffledEnd = tail;
+        unshuffledMode = randomMode;
+        unshuffledParallelThreshold = parallelThreshold;
+    }
+
+    /**
+     * Finishes a pending lazy shuffle so the array holds the final order.
+     */
+    void completeShuffle() {
+        if (head < unshuffledEnd) {
+            ShuffleUtil.shuffle(cards, head, unshuffledEnd, unshuffledMode, unshuffledParallelThreshold);
+            unshuffledEnd = 0;
+        }
+    }
+
+    /**
+     * Reorders the shoe in a single pass so that position i holds the card
+     * previously at position permutation[i].
+     */
+    void permute(int[] permutation) {
+        int size = size();
+        byte[] permuted = new byte[cards.length];
+        for (int i = 0; i < size; i++) {
+            permuted[i] = cards[head + permutation[i]];
+        }
+        cards = permuted;
+        head = 0;
+        tail = size;
+        unshuffledEnd = 0;
+    }
+
+    /**
+     * Makes room for the given number of cards at the tail, first by sliding the
+     * remaining cards back to the start of the array and otherwise by growing it.
+     */
+    private void ensureCapacity(int additional) {
+        if (tail + additional <= cards.length) {
+            return;
+        }
+        int size = size();
+        int required = size + additional;
+        if (required <= cards.length && head >= size) {
+            // Dealt cards have freed enough space at the front; reuse it
+            System.arraycopy(cards, head, cards, 0, size);
+        } else {
+            cards = Arrays.copyOfRange(cards, head, head + Math.max(required, cards.length * 2));
+        }
+        unshuffledEnd = Math.max(0, unshuffledEnd - head);
+        head = 0;
+        tail = size;
+    }
+
+    private final class View extends AbstractList<Card> implements RandomAccess {
+        @Override
+        public Card get(int index) {
+            Objects.checkIndex(index, size());
+            if (isShufflePending()) {
+                throw new IllegalStateException("Shoe order is not fixed until its lazy shuffle completes");
+            }
+            return Card.fromOrdinal(cards[head + index]);
+        }
+
+        @Override
+        public int size() {
+            return Shoe.this.size();
+        }
+    }
+}
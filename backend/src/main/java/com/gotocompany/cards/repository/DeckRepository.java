@@ -3,20 +3,29 @@ package com.gotocompany.cards.repository;
 import com.gotocompany.cards.model.Deck;
 import org.springframework.stereotype.Repository;
 
+import java.util.ArrayList;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
+import java.util.NavigableMap;
 import java.util.Optional;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
 import java.util.stream.Collectors;
 
 /**
  * Repository for managing decks in-memory.
  * Uses ConcurrentHashMap for thread-safe operations.
+ * Unassigned decks are also indexed by id in a ConcurrentSkipListMap, so listing them
+ * costs time proportional to the page returned rather than to every deck ever created.
+ * Entries for decks assigned outside {@link #claim(String, String)} are dropped when a
+ * listing comes across them.
  */
 @Repository
 public class DeckRepository {
 
     private final Map<String, Deck> decks = new ConcurrentHashMap<>();
+    private final NavigableMap<String, Deck> unassigned = new ConcurrentSkipListMap<>();
 
     /**
      * Saves a deck to the repository.
@@ -26,6 +35,9 @@ public class DeckRepository {
             throw new IllegalArgumentException("Deck cannot be null");
         }
         decks.put(deck.getId(), deck);
+        if (!deck.isAdded()) {
+            unassigned.put(deck.getId(), deck);
+        }
         return deck;
     }
 
@@ -54,16 +66,63 @@ public class DeckRepository {
      * Finds decks by their added status.
      */
     public List<Deck> findByAdded(boolean added) {
+        if (!added) {
+            return findUnassigned(null, Integer.MAX_VALUE);
+        }
         return decks.values().stream()
-                .filter(deck -> deck.isAdded() == added)
+                .filter(Deck::isAdded)
                 .collect(Collectors.toList());
     }
 
+    /**
+     * Returns up to {@code limit} unassigned decks in id order, starting after the deck
+     * with id {@code after}, or from the first one when {@code after} is null.
+     */
+    public List<Deck> findUnassigned(String after, int limit) {
+        Map<String, Deck> page = after == null ? unassigned : unassigned.tailMap(after, false);
+        List<Deck> result = new ArrayList<>(Math.min(limit, 64));
+        Iterator<Deck> decksAfter = page.values().iterator();
+        while (result.size() < limit && decksAfter.hasNext()) {
+            Deck deck = decksAfter.next();
+            if (deck.isAdded()) {
+                decksAfter.remove(); // Assigned without going through claim
+            } else {
+                result.add(deck);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Atomically assigns an unassigned deck to a game and returns it.
+     */
+    public Deck claim(String deckId, String gameId) {
+        Deck deck = decks.get(deckId);
+        if (deck == null) {
+            throw new IllegalArgumentException("Deck not found: " + deckId);
+        }
+        if (!deck.claim(gameId)) {
+            throw new IllegalStateException("Deck " + deckId + " has already been added to a game");
+        }
+        unassigned.remove(deckId);
+        return deck;
+    }
+
+    /**
+     * Returns a claimed deck to the unassigned decks.
+     */
+    public void release(Deck deck) {
+        deck.setAdded(false);
+        if (decks.get(deck.getId()) == deck) {
+            unassigned.put(deck.getId(), deck);
+        }
+    }
+
     /**
      * Deletes a deck by ID.
      */
     public void deleteById(String id) {
         decks.remove(id);
+        unassigned.remove(id);
     }
 }
-
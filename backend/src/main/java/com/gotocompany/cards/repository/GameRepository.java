@@ -3,18 +3,25 @@ package com.gotocompany.cards.repository;
 import com.gotocompany.cards.model.Game;
 import org.springframework.stereotype.Repository;
 
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Map;
+import java.util.NavigableMap;
 import java.util.Optional;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
 
 /**
  * Repository for managing games in-memory.
  * Uses ConcurrentHashMap for thread-safe operations.
+ * Games are also indexed by id in a ConcurrentSkipListMap, so pages of games can be
+ * listed in id order without copying the whole repository.
  */
 @Repository
 public class GameRepository {
 
     private final Map<String, Game> games = new ConcurrentHashMap<>();
+    private final NavigableMap<String, Game> gamesById = new ConcurrentSkipListMap<>();
 
     /**
      * Saves a game to the repository.
@@ -24,6 +31,7 @@ public class GameRepository {
             throw new IllegalArgumentException("Game cannot be null");
         }
         games.put(game.getId(), game);
+        gamesById.put(game.getId(), game);
         return game;
     }
 
@@ -46,6 +54,23 @@ public class GameRepository {
      */
     public void deleteById(String id) {
         games.remove(id);
+        gamesById.remove(id);
+    }
+
+    /**
+     * Returns up to {@code limit} games in id order, starting after the game with
+     * id {@code after}, or from the first one when {@code after} is null.
+     */
+    public List<Game> findPage(String after, int limit) {
+        Map<String, Game> page = after == null ? gamesById : gamesById.tailMap(after, false);
+        List<Game> result = new ArrayList<>(Math.min(limit, 64));
+        for (Game game : page.values()) {
+            if (result.size() == limit) {
+                break;
+            }
+            result.add(game);
+        }
+        return result;
     }
 
     /**
@@ -2,10 +2,13 @@ package com.gotocompany.cards.service;
 
 import com.gotocompany.cards.model.Deck;
 import com.gotocompany.cards.repository.DeckRepository;
+import com.gotocompany.cards.util.IdGenerator;
+import com.gotocompany.cards.util.IdStrategy;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 
+import java.util.ArrayList;
 import java.util.List;
-import java.util.UUID;
 import java.util.stream.Collectors;
 
 /**
@@ -14,21 +17,47 @@ import java.util.stream.Collectors;
 @Service
 public class DeckService {
 
+    /**
+     * Largest number of decks created by one bulk request.
+     */
+    public static final int MAX_BULK_DECKS = 10_000;
+
     private final DeckRepository deckRepository;
+    private final IdGenerator idGenerator;
 
     public DeckService(DeckRepository deckRepository) {
+        this(deckRepository, IdStrategy.TIME_ORDERED);
+    }
+
+    @Autowired
+    public DeckService(DeckRepository deckRepository, IdGenerator idGenerator) {
         this.deckRepository = deckRepository;
+        this.idGenerator = idGenerator;
     }
 
     /**
      * Creates a new standard 52-card deck.
      */
     public Deck createDeck() {
-        String deckId = UUID.randomUUID().toString();
+        String deckId = idGenerator.nextId();
         Deck deck = new Deck(deckId);
         return deckRepository.save(deck);
     }
 
+    /**
+     * Creates the given number of standard 52-card decks.
+     */
+    public List<Deck> createDecks(int count) {
+        if (count < 1 || count > MAX_BULK_DECKS) {
+            throw new IllegalArgumentException("Count must be between 1 and " + MAX_BULK_DECKS);
+        }
+        List<Deck> decks = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            decks.add(deckRepository.save(new Deck(idGenerator.nextId())));
+        }
+        return decks;
+    }
+
     /**
      * Finds a deck by ID.
      */
@@ -52,5 +81,18 @@ public class DeckService {
                 .map(Deck::getId)
                 .collect(Collectors.toList());
     }
+
+    /**
+     * Retrieves up to {@code limit} IDs of unassigned decks in ID order, starting after
+     * the deck ID {@code after}, or from the first one when it is null.
+     */
+    public List<String> getUnassignedDeckIds(String after, int limit) {
+        if (limit <= 0) {
+            throw new IllegalArgumentException("Limit must be positive");
+        }
+        return deckRepository.findUnassigned(after, limit).stream()
+                .map(Deck::getId)
+                .collect(Collectors.toList());
+    }
 }
 
@@ -0,0 +1,18 @@
+package com.gotocompany.cards.service;
+
+/**
+ * How mutations of a game are executed.
+ */
+public enum ExecutionMode {
+
+    /**
+     * The calling thread applies the mutation while holding the game's write lock.
+     */
+    LOCKING,
+
+    /**
+     * The mutation is queued in the game's mailbox and applied by a shared worker pool,
+     * one game at a time and in arrival order; the calling thread waits for the result.
+     */
+    MAILBOX
+}
@@ -0,0 +1,167 @@
+package com.gotocompany.cards.service;
+
+import com.gotocompany.cards.model.Card;
+import org.springframework.util.StringUtils;
+
+import java.util.List;
+
+/**
+ * One operation of a batch applied to a game by {@link GameService#executeCommands}.
+ */
+public final class GameCommand {
+
+    public enum Type {
+        ADD_PLAYER,
+        REMOVE_PLAYER,
+        /** Adds existing decks by ID, or creates and adds a number of new decks. */
+        ADD_DECKS,
+        DEAL,
+        SHUFFLE,
+        RESET
+    }
+
+    private final Type type;
+    private final String playerName;
+    private final int count;
+    private final List<String> deckIds;
+
+    private GameCommand(Type type, String playerName, int count, List<String> deckIds) {
+        this.type = type;
+        this.playerName = playerName;
+        this.count = count;
+        this.deckIds = deckIds;
+    }
+
+    /**
+     * Creates a command from its parts, checking that it has the parts its type needs:
+     * a player name to add, remove or deal to a player, a count to deal, and either deck IDs
+     * or a count to add decks. Parts a type doesn't use are ignored.
+     */
+    public static GameCommand of(Type type, String playerName, Integer count, List<String> deckIds) {
+        if (type == null) {
+            throw new IllegalArgumentException("Command type must not be null");
+        }
+        return switch (type) {
+            case ADD_PLAYER -> addPlayer(playerName);
+            case REMOVE_PLAYER -> removePlayer(playerName);
+            case ADD_DECKS -> deckIds != null ? addDecks(deckIds) : addNewDecks(count != null ? count : 0);
+            case DEAL -> deal(playerName, count != null ? count : 0);
+            case SHUFFLE -> shuffle();
+            case RESET -> reset();
+        };
+    }
+
+    public static GameCommand addPlayer(String playerName) {
+        return new GameCommand(Type.ADD_PLAYER, requirePlayerName(playerName), 0, null);
+    }
+
+    public static GameCommand removePlayer(String playerName) {
+        return new GameCommand(Type.REMOVE_PLAYER, requirePlayerName(playerName), 0, null);
+    }
+
+    public static GameCommand addDecks(List<String> deckIds) {
+        return new GameCommand(Type.ADD_DECKS, null, 0, List.copyOf(requireDeckIds(deckIds)));
+    }
+
+    public static GameCommand addNewDecks(int count) {
+        if (count < 1 || count > DeckService.MAX_BULK_DECKS) {
+            throw new IllegalArgumentException("Count must be between 1 and " + DeckService.MAX_BULK_DECKS);
+        }
+        return new GameCommand(Type.ADD_DECKS, null, count, null);
+    }
+
+    public static GameCommand deal(String playerName, int count) {
+        if (count < 1) {
+            throw new IllegalArgumentException("Count must be positive");
+        }
+        return new GameCommand(Type.DEAL, requirePlayerName(playerName), count, null);
+    }
+
+    public static GameCommand shuffle() {
+        return new GameCommand(Type.SHUFFLE, null, 0, null);
+    }
+
+    public static GameCommand reset() {
+        return new GameCommand(Type.RESET, null, 0, null);
+    }
+
+    private static String requirePlayerName(String playerName) {
+        if (!StringUtils.hasText(playerName)) {
+            throw new IllegalArgumentException("Player name must not be blank");
+        }
+        return playerName;
+    }
+
+    /**
+     * Checks a list of decks to add at once: it must not be empty or too long, and no ID may be blank.
+     */
+    static List<String> requireDeckIds(List<String> deckIds) {
+        if (deckIds == null || deckIds.isEmpty()) {
+            throw new IllegalArgumentException("Deck IDs must not be empty");
+        }
+        if (deckIds.size() > DeckService.MAX_BULK_DECKS) {
+            throw new IllegalArgumentException("At most " + DeckService.MAX_BULK_DECKS + " decks can be added at once");
+        }
+        for (String deckId : deckIds) {
+            if (!StringUtils.hasText(deckId)) {
+                throw new IllegalArgumentException("Deck IDs must not be blank");
+            }
+        }
+        return deckIds;
+    }
+
+    public Type getType() {
+        return type;
+    }
+
+    public String getPlayerName() {
+        return playerName;
+    }
+
+    /**
+     * Returns the number of cards to deal or of new decks to add.
+     */
+    public int getCount() {
+        return count;
+    }
+
+    /**
+     * Returns the IDs of existing decks to add, or null when new decks are created.
+     */
+    public List<String> getDeckIds() {
+        return deckIds;
+    }
+
+    /**
+     * The outcome of an applied command.
+     */
+    public static final class Result {
+        private final Type type;
+        private final List<Card> cards;
+        private final List<String> deckIds;
+
+        Result(Type type, List<Card> cards, List<String> deckIds) {
+            this.type = type;
+            this.cards = cards;
+            this.deckIds = deckIds;
+        }
+
+        public Type getType() {
+            return type;
+        }
+
+        /**
+         * Returns the cards dealt, or null for other commands.
+         */
+        public List<Card> getCards() {
+            return cards;
+        }
+
+        /**
+         * Returns the IDs of the decks added, or null for other commands.
+         */
+        public List<String> getDeckIds() {
+            return deckIds;
+        }
+    }
+}
@@ -0,0 +1,153 @@
+package com.gotocompany.cards.service;
+
+import com.gotocompany.cards.model.Card;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * A change to a game, published to the game's {@link GameFeed} subscribers as a delta
+ * they can apply to state read at an earlier version. Each event carries the version the
+ * change moved the game to, so a subscriber that read the game at version {@code v}
+ * applies exactly the events after {@code v}. Deals to the same player may be combined
+ * into one event spanning several versions; a subscriber whose read falls inside that
+ * span reads the game again instead of applying it.
+ */
+public final class GameEvent {
+
+    public enum Type {
+        DEALT,
+        PLAYER_ADDED,
+        PLAYER_REMOVED,
+        DECKS_ADDED,
+        SHUFFLED,
+        RESET,
+        /** Deltas were dropped for a slow subscriber, which must read the game again. */
+        RESYNC
+    }
+
+    private final Type type;
+    private final long firstVersion;
+    private final long version;
+    private final String playerName;
+    private final List<Card> cards;
+    private final int shoeSize;
+    private volatile Object encoded; // Shared by every subscriber that sends this event
+
+    private GameEvent(Type type, long version, String playerName, List<Card> cards, int shoeSize) {
+        this(type, version, version, playerName, cards, shoeSize);
+    }
+
+    private GameEvent(Type type, long firstVersion, long version, String playerName, List<Card> cards, int shoeSize) {
+        this.type = type;
+        this.firstVersion = firstVersion;
+        this.version = version;
+        this.playerName = playerName;
+        this.cards = cards;
+        this.shoeSize = shoeSize;
+    }
+
+    public static GameEvent dealt(long version, String playerName, List<Card> cards) {
+        return new GameEvent(Type.DEALT, version, playerName, List.copyOf(cards), -1);
+    }
+
+    public static GameEvent playerAdded(long version, String playerName) {
+        return new GameEvent(Type.PLAYER_ADDED, version, playerName, null, -1);
+    }
+
+    public static GameEvent playerRemoved(long version, String playerName) {
+        return new GameEvent(Type.PLAYER_REMOVED, version, playerName, null, -1);
+    }
+
+    public static GameEvent decksAdded(long version, int shoeSize) {
+        return new GameEvent(Type.DECKS_ADDED, version, null, null, shoeSize);
+    }
+
+    public static GameEvent shuffled(long version, int shoeSize) {
+        return new GameEvent(Type.SHUFFLED, version, null, null, shoeSize);
+    }
+
+    public static GameEvent reset(long version, int shoeSize) {
+        return new GameEvent(Type.RESET, version, null, null, shoeSize);
+    }
+
+    public static GameEvent resync(long version) {
+        return new GameEvent(Type.RESYNC, version, null, null, -1);
+    }
+
+    public Type getType() {
+        return type;
+    }
+
+    /**
+     * Returns the version of the first change combined into this event, which is
+     * {@link #getVersion()} unless several deals were combined.
+     */
+    public long getFirstVersion() {
+        return firstVersion;
+    }
+
+    /**
+     * Returns the version the game was at after this change.
+     */
+    public long getVersion() {
+        return version;
+    }
+
+    /**
+     * Returns the player dealt to, added or removed, or null for other events.
+     */
+    public String getPlayerName() {
+        return playerName;
+    }
+
+    /**
+     * Returns the cards dealt, or null for other events.
+     */
+    public List<Card> getCards() {
+        return cards;
+    }
+
+    /**
+     * Returns the size of the shoe after decks were added, a shuffle or a reset, or -1 for other events.
+     */
+    public int getShoeSize() {
+        return shoeSize;
+    }
+
+    /**
+     * Returns this event encoded by {@code encoder}, encoding it only on the first call,
+     * so an event fanned out to many subscribers is serialized once. Every caller must
+     * pass an encoder that produces the same encoding.
+     */
+    @SuppressWarnings("unchecked")
+    public <T> T encode(Function<GameEvent, T> encoder) {
+        Object result = encoded;
+        if (result == null) {
+            result = encoder.apply(this); // Racing callers encode the same value
+            encoded = result;
+        }
+        return (T) result;
+    }
+
+    /**
+     * Returns a single event with the combined effect of this event followed by
+     * {@code next}, or null when the two can't be combined.
+     */
+    GameEvent merge(GameEvent next) {
+        if (type == Type.DEALT && next.type == Type.DEALT && playerName.equals(next.playerName)) {
+            List<Card> combined = new ArrayList<>(cards.size() + next.cards.size());
+            combined.addAll(cards);
+            combined.addAll(next.cards);
+            return new GameEvent(Type.DEALT, firstVersion, next.version, playerName, List.copyOf(combined), -1);
+        }
+        if (type == Type.SHUFFLED && next.type == Type.SHUFFLED) {
+            return next;
+        }
+        if ((type == Type.DEALT || type == Type.SHUFFLED) && next.type == Type.RESET) {
+            return next; // A reset returns every dealt card to the shoe
+        }
+        return null;
+    }
+}
@@ -0,0 +1,231 @@
+package com.gotocompany.cards.service;
+
+import com.gotocompany.cards.model.Game;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * Executes mutations of games.
+ *
+ * In {@link ExecutionMode#LOCKING} mode the calling thread applies each mutation under the
+ * game's write lock. In {@link ExecutionMode#MAILBOX} mode each game has a mailbox that
+ * queues its mutations, and a small shared pool of workers drains the mailboxes. At most one
+ * worker drains a given mailbox at a time, so the mutations of a game run one after another
+ * in arrival order while different games progress in parallel. A worker applies up to a
+ * batch of queued mutations under a single acquisition of the game's write lock, which keeps
+ * optimistic reads of the game valid, and then hands the worker to the next busy game.
+ */
+@Service
+public class GameExecutor {
+
+    private final ExecutionMode mode;
+    private final int batchSize;
+    private final ExecutorService workers;
+    private final Map<String, Mailbox> mailboxes = new ConcurrentHashMap<>();
+
+    private static final class Command<T> {
+        final Function<Game.Batch, T> action;
+        final CompletableFuture<T> result = new CompletableFuture<>();
+
+        Command(Function<Game.Batch, T> action) {
+            this.action = action;
+        }
+
+        void run(Game.Batch batch) {
+            try {
+                result.complete(action.apply(batch));
+            } catch (Throwable e) {
+                result.completeExceptionally(e);
+            }
+        }
+    }
+
+    private final class Mailbox implements Runnable {
+        final Game game;
+        final Queue<Command<?>> commands = new ConcurrentLinkedQueue<>();
+        final AtomicBoolean scheduled = new AtomicBoolean();
+
+        Mailbox(Game game) {
+            this.game = game;
+        }
+
+        void post(Command<?> command) {
+            commands.add(command);
+            schedule();
+        }
+
+        private void schedule() {
+            if (!scheduled.compareAndSet(false, true)) {
+                return; // Already queued or draining; the drain will pick up the command
+            }
+            try {
+                workers.execute(this);
+            } catch (RejectedExecutionException e) {
+                reject();
+            }
+        }
+
+        /**
+         * Fails every queued command because the workers are shutting down.
+         */
+        void reject() {
+            Command<?> command;
+            while ((command = commands.poll()) != null) {
+                command.result.completeExceptionally(new IllegalStateException("Game executor is shut down"));
+            }
+            scheduled.set(false);
+        }
+
+        @Override
+        public void run() {
+            game.writeBatch(batch -> {
+                Command<?> command;
+                for (int i = 0; i < batchSize && (command = commands.poll()) != null; i++) {
+                    command.run(batch);
+                }
+                return null;
+            });
+            scheduled.set(false);
+            // Commands may have arrived after the batch ended but before the flag was cleared
+            if (!commands.isEmpty()) {
+                schedule();
+            }
+        }
+    }
+
+    @Autowired
+    public GameExecutor(@Value("${cards.games.execution-mode:LOCKING}") ExecutionMode mode,
+                        @Value("${cards.games.mailbox.threads:0}") int threads,
+                        @Value("${cards.games.mailbox.batch-size:64}") int batchSize) {
+        this.mode = mode;
+        this.batchSize = batchSize;
+        if (mode != ExecutionMode.MAILBOX) {
+            this.workers = null;
+            return;
+        }
+        if (batchSize < 1) {
+            throw new IllegalArgumentException("Mailbox batch size must be at least 1");
+        }
+        int workerCount = threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+        AtomicInteger workerIds = new AtomicInteger();
+        this.workers = Executors.newFixedThreadPool(workerCount, runnable -> {
+            Thread thread = new Thread(runnable, "game-mailbox-" + workerIds.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Creates an executor that applies mutations on the calling thread under the game's lock.
+     */
+    public static GameExecutor locking() {
+        return new GameExecutor(ExecutionMode.LOCKING, 0, 1);
+    }
+
+    public ExecutionMode getMode() {
+        return mode;
+    }
+
+    /**
+     * Applies a mutation to the game and returns its result once it has run.
+     * Exceptions thrown by the mutation are rethrown to the caller unchanged.
+     */
+    public <T> T write(Game game, Supplier<T> writer) {
+        return write(game, Game.ANY_VERSION, writer);
+    }
+
+    /**
+     * Applies a mutation to the game if it is still at {@code expectedVersion} when the
+     * mutation runs (see {@link Game#write(long, Supplier)}), and returns its result.
+     */
+    public <T> T write(Game game, long expectedVersion, Supplier<T> writer) {
+        if (mode != ExecutionMode.MAILBOX) {
+            return game.write(expectedVersion, writer);
+        }
+        return post(game, batch -> batch.write(expectedVersion, writer));
+    }
+
+    private <T> T post(Game game, Function<Game.Batch, T> action) {
+        Command<T> command = new Command<>(action);
+        mailboxes.computeIfAbsent(game.getId(), id -> new Mailbox(game)).post(command);
+        return await(command.result);
+    }
+
+    /**
+     * Applies a mutation to the game once it has run.
+     */
+    public void write(Game game, Runnable writer) {
+        write(game, Game.ANY_VERSION, writer);
+    }
+
+    /**
+     * Applies a mutation to the game if it is still at {@code expectedVersion} when the mutation runs.
+     */
+    public void write(Game game, long expectedVersion, Runnable writer) {
+        write(game, expectedVersion, () -> {
+            writer.run();
+            return null;
+        });
+    }
+
+    /**
+     * Drops the mailbox of a deleted game.
+     */
+    public void forget(String gameId) {
+        mailboxes.remove(gameId);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        if (workers != null) {
+            for (Runnable pending : workers.shutdownNow()) {
+                ((Mailbox) pending).reject();
+            }
+        }
+    }
+
+    private static <T> T await(CompletableFuture<T> result) {
+        boolean interrupted = false;
+        try {
+            while (true) {
+                try {
+                    return result.get();
+                } catch (InterruptedException e) {
+                    interrupted = true; // The command is already queued and will run; wait for its outcome
+                }
+            }
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            if (cause instanceof Error error) {
+                throw error;
+            }
+            throw new IllegalStateException(cause);
+        } catch (CancellationException e) {
+            throw new IllegalStateException("Game command was cancelled", e);
+        } finally {
+            if (interrupted) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+}
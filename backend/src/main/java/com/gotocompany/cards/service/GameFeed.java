@@ -0,0 +1,280 @@
+package com.gotocompany.cards.service;
+
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Pushes the changes of each game to its subscribers.
+ *
+ * Publishing only queues the event for every subscriber of the game, so it never blocks
+ * and can run while the game's lock is held, which keeps each subscriber's events in the
+ * order the changes were applied. A small shared pool of senders drains the queues: the
+ * first event queued for an idle subscriber schedules a send after the coalescing window,
+ * and everything queued by then goes out as one message, with adjacent events merged where
+ * one supersedes the other (see {@link GameEvent#merge}). At most one sender serves a given
+ * subscriber at a time, so the pool size, not the number of subscribers, bounds the threads.
+ *
+ * Each subscriber queues at most a fixed number of events. When a slow subscriber falls
+ * that far behind, its queued events are dropped and it is sent a single
+ * {@link GameEvent.Type#RESYNC} instead, so memory stays bounded and publishers are never
+ * held up by a slow connection.
+ *
+ * Sinks whose writes can block hand them to the feed's {@link #getWriters() writers}, a
+ * fixed pool with a bounded queue, so a slow connection holds up neither the senders nor,
+ * once the queue is full, more than its share of threads.
+ */
+@Service
+public class GameFeed {
+
+    private static final int DEFAULT_WRITER_THREADS = 8;
+    private static final int DEFAULT_WRITER_QUEUE = 4096;
+
+    private final long coalesceMillis;
+    private final int maxPending;
+    private final ScheduledThreadPoolExecutor senders;
+    private final ThreadPoolExecutor writers;
+    private final Map<String, Set<Subscription>> subscriptions = new ConcurrentHashMap<>();
+
+    /**
+     * Receives the events of one subscription, one batch at a time.
+     */
+    public interface Sink {
+        /**
+         * Sends a batch of events in the order they were applied. Throwing ends the subscription.
+         */
+        void send(List<GameEvent> events) throws IOException;
+
+        /**
+         * Ends the connection, because the subscription was cancelled or its game deleted.
+         */
+        void close();
+    }
+
+    /**
+     * A subscriber's connection to the feed of a game.
+     */
+    public final class Subscription implements Runnable {
+        private final String gameId;
+        private final Sink sink;
+        private final Queue<GameEvent> pending = new ConcurrentLinkedQueue<>();
+        private final AtomicInteger pendingCount = new AtomicInteger();
+        private final AtomicBoolean scheduled = new AtomicBoolean();
+        private final AtomicBoolean cancelled = new AtomicBoolean();
+        private final AtomicLong droppedVersion = new AtomicLong(-1); // Latest dropped event, or -1
+
+        private Subscription(String gameId, Sink sink) {
+            this.gameId = gameId;
+            this.sink = sink;
+        }
+
+        private void offer(GameEvent event) {
+            if (pendingCount.incrementAndGet() > maxPending) {
+                pendingCount.decrementAndGet();
+                droppedVersion.accumulateAndGet(event.getVersion(), Math::max);
+            } else {
+                pending.add(event);
+            }
+            if (scheduled.compareAndSet(false, true)) {
+                schedule(coalesceMillis);
+            }
+        }
+
+        private void schedule(long delayMillis) {
+            try {
+                senders.schedule(this, delayMillis, TimeUnit.MILLISECONDS);
+            } catch (RejectedExecutionException e) {
+                cancel(); // Shutting down
+            }
+        }
+
+        @Override
+        public void run() {
+            if (cancelled.get()) {
+                return;
+            }
+            List<GameEvent> batch = drain();
+            if (!batch.isEmpty()) {
+                try {
+                    sink.send(batch);
+                } catch (IOException | RuntimeException e) {
+                    cancel();
+                    return;
+                }
+            }
+            scheduled.set(false);
+            // Events may have been queued after the drain but before the flag was cleared
+            if (!pending.isEmpty() || droppedVersion.get() >= 0) {
+                if (scheduled.compareAndSet(false, true)) {
+                    schedule(0);
+                }
+            }
+        }
+
+        private List<GameEvent> drain() {
+            List<GameEvent> batch = new ArrayList<>();
+            GameEvent event;
+            while ((event = pending.poll()) != null) {
+                pendingCount.decrementAndGet();
+                GameEvent merged;
+                while (!batch.isEmpty() && (merged = batch.get(batch.size() - 1).merge(event)) != null) {
+                    batch.remove(batch.size() - 1);
+                    event = merged;
+                }
+                batch.add(event);
+            }
+            long dropped = droppedVersion.getAndSet(-1);
+            if (dropped >= 0) {
+                long latest = batch.isEmpty() ? dropped : Math.max(dropped, batch.get(batch.size() - 1).getVersion());
+                batch.clear();
+                batch.add(GameEvent.resync(latest));
+            }
+            return batch;
+        }
+
+        /**
+         * Stops sending events and closes the sink. Safe to call more than once.
+         */
+        public void cancel() {
+            if (!cancelled.compareAndSet(false, true)) {
+                return;
+            }
+            subscriptions.computeIfPresent(gameId, (id, subscribers) -> {
+                subscribers.remove(this);
+                return subscribers.isEmpty() ? null : subscribers;
+            });
+            pending.clear();
+            sink.close();
+        }
+    }
+
+    public GameFeed(int threads, long coalesceMillis, int maxPending) {
+        this(threads, coalesceMillis, maxPending, DEFAULT_WRITER_THREADS, DEFAULT_WRITER_QUEUE);
+    }
+
+    @Autowired
+    public GameFeed(@Value("${cards.games.feed.threads:2}") int threads,
+                    @Value("${cards.games.feed.coalesce-millis:50}") long coalesceMillis,
+                    @Value("${cards.games.feed.max-pending:256}") int maxPending,
+                    @Value("${cards.games.feed.writer-threads:8}") int writerThreads,
+                    @Value("${cards.games.feed.writer-queue:4096}") int writerQueue) {
+        if (threads < 1) {
+            throw new IllegalArgumentException("Feed threads must be at least 1");
+        }
+        if (maxPending < 1) {
+            throw new IllegalArgumentException("Feed max pending must be at least 1");
+        }
+        if (writerThreads < 1) {
+            throw new IllegalArgumentException("Feed writer threads must be at least 1");
+        }
+        if (writerQueue < 1) {
+            throw new IllegalArgumentException("Feed writer queue must be at least 1");
+        }
+        this.coalesceMillis = Math.max(0, coalesceMillis);
+        this.maxPending = maxPending;
+        AtomicInteger senderIds = new AtomicInteger();
+        // Core threads start on demand, so a feed nobody subscribes to costs no threads
+        this.senders = new ScheduledThreadPoolExecutor(threads, runnable -> {
+            Thread thread = new Thread(runnable, "game-feed-" + senderIds.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.senders.setRemoveOnCancelPolicy(true);
+        AtomicInteger writerIds = new AtomicInteger();
+        this.writers = new ThreadPoolExecutor(writerThreads, writerThreads, 60, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(writerQueue), runnable -> {
+                    Thread thread = new Thread(runnable, "game-feed-writer-" + writerIds.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                });
+        this.writers.allowCoreThreadTimeOut(true);
+    }
+
+    /**
+     * Creates a feed with the default settings.
+     */
+    public static GameFeed withDefaults() {
+        return new GameFeed(2, 50, 256);
+    }
+
+    /**
+     * Returns the executor for sink writes that can block. It rejects a write with
+     * {@link RejectedExecutionException} when all its threads are busy and its queue is full;
+     * the sink should then fail the send, which ends the subscription.
+     */
+    public Executor getWriters() {
+        return writers;
+    }
+
+    /**
+     * Subscribes a sink to the changes of a game, starting with the next change published.
+     */
+    public Subscription subscribe(String gameId, Sink sink) {
+        Subscription subscription = new Subscription(gameId, sink);
+        subscriptions.compute(gameId, (id, subscribers) -> {
+            Set<Subscription> result = subscribers != null ? subscribers : ConcurrentHashMap.newKeySet();
+            result.add(subscription);
+            return result;
+        });
+        return subscription;
+    }
+
+    /**
+     * Queues an event for every subscriber of the game. Never blocks.
+     */
+    public void publish(String gameId, GameEvent event) {
+        Set<Subscription> subscribers = subscriptions.get(gameId);
+        if (subscribers == null) {
+            return;
+        }
+        for (Subscription subscription : subscribers) {
+            subscription.offer(event);
+        }
+    }
+
+    /**
+     * Returns the number of subscribers of a game.
+     */
+    public int getSubscriberCount(String gameId) {
+        Set<Subscription> subscribers = subscriptions.get(gameId);
+        return subscribers != null ? subscribers.size() : 0;
+    }
+
+    /**
+     * Ends every subscription of a deleted game.
+     */
+    public void close(String gameId) {
+        Set<Subscription> subscribers = subscriptions.remove(gameId);
+        if (subscribers != null) {
+            subscribers.forEach(Subscription::cancel);
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        senders.shutdownNow();
+        writers.shutdownNow();
+        for (String gameId : List.copyOf(subscriptions.keySet())) {
+            close(gameId);
+        }
+    }
+}
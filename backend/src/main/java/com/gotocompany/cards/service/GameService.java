@@ -1,42 +1,135 @@
 package com.gotocompany.cards.service;
 
+import com.gotocompany.cards.exception.CommandFailedException;
+import com.gotocompany.cards.exception.StaleVersionException;
 import com.gotocompany.cards.model.Card;
+import com.gotocompany.cards.model.Deck;
 import com.gotocompany.cards.model.Game;
 import com.gotocompany.cards.model.Player;
 import com.gotocompany.cards.model.enums.FaceValue;
 import com.gotocompany.cards.model.enums.Suit;
 import com.gotocompany.cards.repository.DeckRepository;
 import com.gotocompany.cards.repository.GameRepository;
+import com.gotocompany.cards.util.IdGenerator;
+import com.gotocompany.cards.util.IdStrategy;
+import com.gotocompany.cards.util.RandomMode;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 import org.springframework.util.StringUtils;
 
 import java.util.*;
-import java.util.stream.Collectors;
+import java.util.concurrent.Executor;
+import java.util.function.Function;
+import java.util.function.Supplier;
 
 /**
  * Service for managing games and game operations.
+ * Games are shared between request threads, so every mutation goes through the
+ * {@link GameExecutor}, which applies it under the game's write lock either on the calling
+ * thread or from the game's mailbox, and every query reads the game optimistically
+ * (see {@link Game#read}). Queries return copies, never live views, because the game
+ * may change right after. Each mutation publishes a {@link GameEvent} to the game's
+ * {@link GameFeed} before the game's lock is released, so subscribers see the changes
+ * in the order they were applied.
  */
 @Service
 public class GameService {
 
+    // Order: King, Queen, Jack, 10, 9, 8, 7, 6, 5, 4, 3, 2, Ace
+    private static final List<FaceValue> UNDEALT_FACE_VALUE_ORDER = List.of(
+            FaceValue.KING, FaceValue.QUEEN, FaceValue.JACK,
+            FaceValue.TEN, FaceValue.NINE, FaceValue.EIGHT,
+            FaceValue.SEVEN, FaceValue.SIX, FaceValue.FIVE,
+            FaceValue.FOUR, FaceValue.THREE, FaceValue.TWO,
+            FaceValue.ACE
+    );
+
+    /**
+     * Largest number of games returned by one page of the game listing.
+     */
+    public static final int MAX_PAGE_SIZE = 1000;
+
+    /**
+     * Largest number of commands executed in one batch.
+     */
+    public static final int MAX_COMMANDS = 256;
+
     private final GameRepository gameRepository;
     private final DeckRepository deckRepository;
+    private final RandomMode defaultRandomMode;
+    private final ShuffleService shuffleService;
+    private final GameExecutor gameExecutor;
+    private final IdGenerator idGenerator;
+    private final GameFeed gameFeed;
 
     public GameService(GameRepository gameRepository, DeckRepository deckRepository) {
+        this(gameRepository, deckRepository, RandomMode.STRONG);
+    }
+
+    public GameService(GameRepository gameRepository, DeckRepository deckRepository, RandomMode defaultRandomMode) {
+        this(gameRepository, deckRepository, defaultRandomMode, ShuffleService.inline());
+    }
+
+    public GameService(GameRepository gameRepository, DeckRepository deckRepository,
+                       RandomMode defaultRandomMode, ShuffleService shuffleService) {
+        this(gameRepository, deckRepository, defaultRandomMode, shuffleService, GameExecutor.locking());
+    }
+
+    public GameService(GameRepository gameRepository, DeckRepository deckRepository,
+                       RandomMode defaultRandomMode, ShuffleService shuffleService, GameExecutor gameExecutor) {
+        this(gameRepository, deckRepository, defaultRandomMode, shuffleService, gameExecutor, IdStrategy.TIME_ORDERED);
+    }
+
+    public GameService(GameRepository gameRepository, DeckRepository deckRepository,
+                       RandomMode defaultRandomMode, ShuffleService shuffleService, GameExecutor gameExecutor,
+                       IdGenerator idGenerator) {
+        this(gameRepository, deckRepository, defaultRandomMode, shuffleService, gameExecutor, idGenerator,
+                GameFeed.withDefaults());
+    }
+
+    @Autowired
+    public GameService(GameRepository gameRepository, DeckRepository deckRepository,
+                       @Value("${cards.shuffle.random-mode:STRONG}") RandomMode defaultRandomMode,
+                       ShuffleService shuffleService, GameExecutor gameExecutor, IdGenerator idGenerator,
+                       GameFeed gameFeed) {
         this.gameRepository = gameRepository;
         this.deckRepository = deckRepository;
+        this.defaultRandomMode = defaultRandomMode;
+        this.shuffleService = shuffleService;
+        this.gameExecutor = gameExecutor;
+        this.idGenerator = idGenerator;
+        this.gameFeed = gameFeed;
     }
 
     /**
-     * Creates a new game.
+     * Creates a new game that shuffles with the configured default random mode.
      */
     public Game createGame(String name) {
+        return createGame(name, null);
+    }
+
+    /**
+     * Creates a new game that shuffles with the given random mode,
+     * or the configured default when none is given.
+     */
+    public Game createGame(String name, RandomMode randomMode) {
+        return createGame(name, randomMode, null);
+    }
+
+    /**
+     * Creates a new game with the given random mode and shuffle mode; null selects
+     * the configured default random mode and eager shuffling respectively.
+     */
+    public Game createGame(String name, RandomMode randomMode, Boolean lazyShuffle) {
         if (!StringUtils.hasText(name)) {
             throw new IllegalArgumentException("Game name must not be blank");
         }
         String trimmedName = name.trim();
-        String gameId = UUID.randomUUID().toString();
+        String gameId = idGenerator.nextId();
         Game game = new Game(gameId, trimmedName);
+        game.setRandomMode(randomMode != null ? randomMode : defaultRandomMode);
+        game.setLazyShuffle(Boolean.TRUE.equals(lazyShuffle));
         return gameRepository.save(game);
     }
 
@@ -45,7 +138,7 @@ public class GameService {
      */
     public void deleteGame(String gameId) {
         Game game = findGameById(gameId);
-        for (String deckId : game.getAddedDeckIds()) {
+        for (String deckId : game.read(() -> List.copyOf(game.getAddedDeckIds()))) {
             deckRepository.findById(deckId).ifPresent(deck -> {
                 if (deck.isAdded()) {
                     deckRepository.deleteById(deckId);
@@ -53,6 +146,8 @@ public class GameService {
             });
         }
         gameRepository.deleteById(gameId);
+        gameExecutor.forget(gameId);
+        gameFeed.close(gameId);
     }
 
     /**
@@ -66,6 +161,87 @@ public class GameService {
         return new ArrayList<>(games.values());
     }
 
+    /**
+     * Gets a page of up to {@code limit} games in ID order, starting after the game ID
+     * {@code after}, or from the first game when it is null. Each game is read through
+     * {@code projection}, which runs as a game query (see {@link Game#read}) and so must
+     * copy out whatever it keeps. The games are not copied out of the repository.
+     */
+    public <T> List<T> getGames(String after, int limit, Function<Game, T> projection) {
+        List<Game> page = findGamesPage(after, limit);
+        List<T> result = new ArrayList<>(page.size());
+        for (Game game : page) {
+            result.add(game.read(() -> projection.apply(game)));
+        }
+        return result;
+    }
+
+    /**
+     * Like {@link #getGames(String, int, Function)}, for projections that read the order
+     * of the shoe (see {@link Game#readWithShoe}).
+     */
+    public <T> List<T> getGamesWithShoe(String after, int limit, Function<Game, T> projection) {
+        List<Game> page = findGamesPage(after, limit);
+        List<T> result = new ArrayList<>(page.size());
+        for (Game game : page) {
+            result.add(game.readWithShoe(() -> projection.apply(game)));
+        }
+        return result;
+    }
+
+    private List<Game> findGamesPage(String after, int limit) {
+        if (limit < 1 || limit > MAX_PAGE_SIZE) {
+            throw new IllegalArgumentException("Limit must be between 1 and " + MAX_PAGE_SIZE);
+        }
+        return gameRepository.findPage(after, limit);
+    }
+
+    /**
+     * Reads a game through {@code projection}, which runs as a game query
+     * (see {@link Game#read}) and so must copy out whatever it keeps.
+     */
+    public <T> T getGame(String gameId, Function<Game, T> projection) {
+        Game game = findGameById(gameId);
+        return game.read(() -> projection.apply(game));
+    }
+
+    /**
+     * Like {@link #getGame(String, Function)}, for projections that read the order
+     * of the shoe (see {@link Game#readWithShoe}).
+     */
+    public <T> T getGameWithShoe(String gameId, Function<Game, T> projection) {
+        Game game = findGameById(gameId);
+        return game.readWithShoe(() -> projection.apply(game));
+    }
+
+    /**
+     * Gets the version of a game's state (see {@link Game#getVersion()}) without reading
+     * the state, so callers can tell whether anything changed since an earlier read.
+     */
+    public long getGameVersion(String gameId) {
+        return findGameById(gameId).getVersion();
+    }
+
+    /**
+     * Subscribes a sink to the changes of a game (see {@link GameFeed}). A subscriber reads
+     * the game after subscribing and then applies the events after the version it read.
+     */
+    public GameFeed.Subscription subscribe(String gameId, GameFeed.Sink sink) {
+        findGameById(gameId);
+        GameFeed.Subscription subscription = gameFeed.subscribe(gameId, sink);
+        if (gameRepository.findById(gameId).isEmpty()) {
+            subscription.cancel(); // Deleted while subscribing
+        }
+        return subscription;
+    }
+
+    /**
+     * Returns the executor for feed sinks whose writes can block (see {@link GameFeed#getWriters()}).
+     */
+    public Executor getFeedWriters() {
+        return gameFeed.getWriters();
+    }
+
     /**
      * Finds a game by ID.
      */
@@ -76,20 +252,81 @@ public class GameService {
 
     /**
      * Adds a deck to the game's shoe.
-     * Once added, a deck cannot be removed.
+     * Once added, a deck cannot be removed. The deck is claimed for the game atomically,
+     * so it can never end up in two games.
      */
     public void addDeckToGame(String gameId, String deckId) {
+        addDeckToGame(gameId, deckId, Game.ANY_VERSION);
+    }
+
+    /**
+     * Adds a deck to the game's shoe if the game is still at {@code expectedVersion}
+     * (see {@link Game#write(long, Supplier)}).
+     */
+    public void addDeckToGame(String gameId, String deckId, long expectedVersion) {
         Game game = findGameById(gameId);
-        com.gotocompany.cards.model.Deck deck = deckRepository.findById(deckId)
-                .orElseThrow(() -> new IllegalArgumentException("Deck not found: " + deckId));
+        Deck deck = deckRepository.claim(deckId, gameId);
+        try {
+            gameExecutor.write(game, expectedVersion, () -> {
+                game.addDeck(deck);
+                publishDecksAdded(game);
+            });
+        } catch (RuntimeException e) {
+            deckRepository.release(deck);
+            throw e;
+        }
+        gameRepository.save(game);
+    }
 
-        if (game.isDeckAdded(deckId)) {
-            throw new IllegalStateException("Deck " + deckId + " has already been added to the game");
+    /**
+     * Adds several existing decks to the game's shoe in one pass.
+     * Either all decks are claimed for the game and added, or none are.
+     */
+    public void addDecksToGame(String gameId, List<String> deckIds) {
+        addDecksToGame(gameId, deckIds, Game.ANY_VERSION);
+    }
+
+    /**
+     * Adds several existing decks to the game's shoe if the game is still at {@code expectedVersion}.
+     */
+    public void addDecksToGame(String gameId, List<String> deckIds, long expectedVersion) {
+        GameCommand.requireDeckIds(deckIds);
+        Game game = findGameById(gameId);
+        List<Deck> decks = new ArrayList<>(deckIds.size());
+        try {
+            for (String deckId : deckIds) {
+                decks.add(deckRepository.claim(deckId, gameId));
+            }
+            gameExecutor.write(game, expectedVersion, () -> applyAddDecks(game, decks));
+        } catch (RuntimeException e) {
+            decks.forEach(deckRepository::release);
+            throw e;
         }
+        gameRepository.save(game);
+    }
+
+    /**
+     * Creates the given number of decks directly in the game and adds them to its shoe
+     * in one pass. Returns the IDs of the new decks.
+     */
+    public List<String> addNewDecksToGame(String gameId, int count) {
+        return addNewDecksToGame(gameId, count, Game.ANY_VERSION);
+    }
 
-        deck.setAdded(true);
-        game.addDeck(deck);
+    /**
+     * Creates decks directly in the game like {@link #addNewDecksToGame(String, int)}
+     * if the game is still at {@code expectedVersion}.
+     */
+    public List<String> addNewDecksToGame(String gameId, int count, long expectedVersion) {
+        if (count < 1 || count > DeckService.MAX_BULK_DECKS) {
+            throw new IllegalArgumentException("Count must be between 1 and " + DeckService.MAX_BULK_DECKS);
+        }
+        Game game = findGameById(gameId);
+        List<Deck> decks = newDecks(gameId, count);
+        gameExecutor.write(game, expectedVersion, () -> applyAddDecks(game, decks));
+        decks.forEach(deckRepository::save);
         gameRepository.save(game);
+        return deckIds(decks);
     }
 
     /**
@@ -97,16 +334,22 @@ public class GameService {
      */
     public Set<String> getAddedDeckIds(String gameId) {
         Game game = findGameById(gameId);
-        return game.getAddedDeckIds();
+        return game.read(() -> Set.copyOf(game.getAddedDeckIds()));
     }
 
     /**
      * Adds a player to the game.
      */
     public void addPlayer(String gameId, String playerName) {
+        addPlayer(gameId, playerName, Game.ANY_VERSION);
+    }
+
+    /**
+     * Adds a player to the game if the game is still at {@code expectedVersion}.
+     */
+    public void addPlayer(String gameId, String playerName, long expectedVersion) {
         Game game = findGameById(gameId);
-        Player player = new Player(playerName);
-        game.addPlayer(player);
+        gameExecutor.write(game, expectedVersion, () -> applyAddPlayer(game, playerName));
         gameRepository.save(game);
     }
 
@@ -114,20 +357,65 @@ public class GameService {
      * Removes a player from the game.
      */
     public void removePlayer(String gameId, String playerName) {
+        removePlayer(gameId, playerName, Game.ANY_VERSION);
+    }
+
+    /**
+     * Removes a player from the game if the game is still at {@code expectedVersion}.
+     */
+    public void removePlayer(String gameId, String playerName, long expectedVersion) {
         Game game = findGameById(gameId);
-        if (game.getPlayer(playerName) == null) {
-            throw new IllegalArgumentException("Player not found: " + playerName);
-        }
-        game.removePlayer(playerName);
+        gameExecutor.write(game, expectedVersion, () -> applyRemovePlayer(game, playerName));
         gameRepository.save(game);
     }
 
     /**
      * Deals cards to a player from the game deck.
+     * With the locking executor deals to the same game run concurrently with each other
+     * (see {@link Game#dealConcurrently}); a mailbox applies them in order like any other mutation.
      */
     public List<Card> dealCards(String gameId, String playerName, int count) {
+        return dealCards(gameId, playerName, count, Game.ANY_VERSION);
+    }
+
+    /**
+     * Deals cards to a player if the game is still at {@code expectedVersion}.
+     * A conditional deal always runs exclusively, since the version can only be checked
+     * atomically under the write lock.
+     */
+    public List<Card> dealCards(String gameId, String playerName, int count, long expectedVersion) {
         Game game = findGameById(gameId);
-        return game.dealCards(playerName, count);
+        if (gameExecutor.getMode() == ExecutionMode.MAILBOX || expectedVersion != Game.ANY_VERSION) {
+            return gameExecutor.write(game, expectedVersion, () -> applyDeal(game, playerName, count));
+        }
+        return game.dealConcurrently(playerName, count,
+                (dealtCards, dealtVersion) -> publish(game, GameEvent.dealt(dealtVersion, playerName, dealtCards)));
+    }
+
+    /**
+     * Deals a round of {@code count} cards to each player in {@code playerOrder}, one card
+     * at a time around the table (see {@link Game#dealRound}). Without an order every player
+     * is dealt to, in order of name. Returns the cards dealt to each player.
+     */
+    public Map<String, List<Card>> dealRound(String gameId, int count, List<String> playerOrder) {
+        return dealRound(gameId, count, playerOrder, Game.ANY_VERSION);
+    }
+
+    /**
+     * Deals a round of cards if the game is still at {@code expectedVersion}.
+     */
+    public Map<String, List<Card>> dealRound(String gameId, int count, List<String> playerOrder, long expectedVersion) {
+        Game game = findGameById(gameId);
+        return gameExecutor.write(game, expectedVersion, () -> applyDealRound(game, count, playerOrder));
+    }
+
+    /**
+     * Gets the cards in the game's shoe from top to bottom as card ordinals,
+     * one byte per card.
+     */
+    public byte[] getShoeOrdinals(String gameId) {
+        Game game = findGameById(gameId);
+        return game.readWithShoe(game::getShoeOrdinals);
     }
 
     /**
@@ -135,11 +423,13 @@ public class GameService {
      */
     public List<Card> getPlayerCards(String gameId, String playerName) {
         Game game = findGameById(gameId);
-        Player player = game.getPlayer(playerName);
-        if (player == null) {
-            throw new IllegalArgumentException("Player not found: " + playerName);
-        }
-        return player.getHand();
+        return game.read(() -> {
+            Player player = game.getPlayer(playerName);
+            if (player == null) {
+                throw new IllegalArgumentException("Player not found: " + playerName);
+            }
+            return List.copyOf(player.getHand());
+        });
     }
 
     /**
@@ -147,9 +437,39 @@ public class GameService {
      */
     public List<Player> getPlayersSorted(String gameId) {
         Game game = findGameById(gameId);
-        return game.getPlayers().stream()
-                .sorted(Comparator.comparing(Player::getHandValue).reversed())
-                .collect(Collectors.toList());
+        return game.read(() -> snapshot(game.getPlayersByRank(0, game.getPlayerCount())));
+    }
+
+    /**
+     * Gets a page of the players sorted by hand value (descending),
+     * skipping the first {@code offset} players and returning at most {@code limit}.
+     */
+    public List<Player> getPlayersSorted(String gameId, int offset, int limit) {
+        return getPlayersSorted(gameId, offset, limit, Player::snapshot);
+    }
+
+    /**
+     * Like {@link #getPlayersSorted(String, int, int)}, reading each player through
+     * {@code projection} inside the game query instead of copying it.
+     */
+    public <T> List<T> getPlayersSorted(String gameId, int offset, int limit, Function<Player, T> projection) {
+        if (offset < 0) {
+            throw new IllegalArgumentException("Offset must not be negative");
+        }
+        if (limit < 0) {
+            throw new IllegalArgumentException("Limit must not be negative");
+        }
+        Game game = findGameById(gameId);
+        int to = (int) Math.min((long) offset + limit, Integer.MAX_VALUE);
+        return game.read(() -> project(game.getPlayersByRank(offset, to), projection));
+    }
+
+    /**
+     * Gets a player's position in the hand value leaderboard, starting at 1.
+     */
+    public int getPlayerRank(String gameId, String playerName) {
+        Game game = findGameById(gameId);
+        return game.read(() -> game.getPlayerRank(playerName)) + 1;
     }
 
     /**
@@ -157,18 +477,14 @@ public class GameService {
      */
     public Map<Suit, Integer> getUndealtCardsBySuit(String gameId) {
         Game game = findGameById(gameId);
-        List<Card> shoe = game.getShoe();
-        
-        Map<Suit, Integer> suitCounts = new HashMap<>();
-        for (Suit suit : Suit.values()) {
-            suitCounts.put(suit, 0);
-        }
-        
-        for (Card card : shoe) {
-            suitCounts.put(card.getSuit(), suitCounts.get(card.getSuit()) + 1);
-        }
-        
-        return suitCounts;
+
+        return game.read(() -> {
+            Map<Suit, Integer> suitCounts = new EnumMap<>(Suit.class);
+            for (Suit suit : Suit.values()) {
+                suitCounts.put(suit, game.getUndealtCount(suit));
+            }
+            return suitCounts;
+        });
     }
 
     /**
@@ -178,52 +494,321 @@ public class GameService {
      */
     public Map<Suit, Map<FaceValue, Integer>> getUndealtCardsCount(String gameId) {
         Game game = findGameById(gameId);
-        List<Card> shoe = game.getShoe();
-        
-        // Initialize map with all suits and face values
-        Map<Suit, Map<FaceValue, Integer>> cardCounts = new LinkedHashMap<>();
-        for (Suit suit : Suit.values()) {
-            Map<FaceValue, Integer> faceValueCounts = new LinkedHashMap<>();
-            // Order: King, Queen, Jack, 10, 9, 8, 7, 6, 5, 4, 3, 2, Ace
-            List<FaceValue> orderedValues = Arrays.asList(
-                    FaceValue.KING, FaceValue.QUEEN, FaceValue.JACK,
-                    FaceValue.TEN, FaceValue.NINE, FaceValue.EIGHT,
-                    FaceValue.SEVEN, FaceValue.SIX, FaceValue.FIVE,
-                    FaceValue.FOUR, FaceValue.THREE, FaceValue.TWO,
-                    FaceValue.ACE
-            );
-            for (FaceValue faceValue : orderedValues) {
-                faceValueCounts.put(faceValue, 0);
+
+        return game.read(() -> {
+            Map<Suit, Map<FaceValue, Integer>> cardCounts = new EnumMap<>(Suit.class);
+            for (Suit suit : Suit.values()) {
+                Map<FaceValue, Integer> faceValueCounts = new LinkedHashMap<>();
+                for (FaceValue faceValue : UNDEALT_FACE_VALUE_ORDER) {
+                    faceValueCounts.put(faceValue, game.getUndealtCount(suit, faceValue));
+                }
+                cardCounts.put(suit, faceValueCounts);
             }
-            cardCounts.put(suit, faceValueCounts);
-        }
-        
-        // Count cards in shoe
-        for (Card card : shoe) {
-            Map<FaceValue, Integer> faceValueCounts = cardCounts.get(card.getSuit());
-            faceValueCounts.put(card.getFaceValue(), faceValueCounts.get(card.getFaceValue()) + 1);
-        }
-        
-        return cardCounts;
+            return cardCounts;
+        });
     }
 
     /**
      * Shuffles the game deck (shoe).
      */
     public void shuffleGameDeck(String gameId) {
+        shuffleGameDeck(gameId, Game.ANY_VERSION);
+    }
+
+    /**
+     * Shuffles the game deck if the game is still at {@code expectedVersion}.
+     */
+    public void shuffleGameDeck(String gameId, long expectedVersion) {
         Game game = findGameById(gameId);
-        game.shuffle();
-        // No need to save as shuffle modifies the internal list in-place
+        gameExecutor.write(game, expectedVersion, () -> applyShuffle(game));
+        // No need to save as shuffle modifies the game in-place
     }
 
     /**
      * Resets a game by returning all player cards to the shoe.
      */
     public void resetGame(String gameId) {
+        resetGame(gameId, Game.ANY_VERSION);
+    }
+
+    /**
+     * Resets a game if it is still at {@code expectedVersion}.
+     */
+    public void resetGame(String gameId, long expectedVersion) {
         Game game = findGameById(gameId);
-        game.reset();
+        gameExecutor.write(game, expectedVersion, () -> applyReset(game));
         gameRepository.save(game);
     }
 
+    /**
+     * Applies a batch of commands to a game atomically: either every command is applied, in
+     * order and with no other mutation of the game in between, or none is. The batch is one
+     * mutation, so it is conditional on {@code expectedVersion} as a whole, bumps the version
+     * once and publishes the changes of all its commands at that version. Returns the result
+     * of each command read through {@code projection}.
+     * Decks to add are claimed, and new decks created, before the game is acquired. The batch
+     * is then checked against the game before anything changes; the first command that would
+     * fail is reported in a {@link CommandFailedException}, and every claimed deck is released.
+     */
+    public <T> List<T> executeCommands(String gameId, List<GameCommand> commands, long expectedVersion,
+                                       Function<GameCommand.Result, T> projection) {
+        if (commands == null || commands.isEmpty()) {
+            throw new IllegalArgumentException("Commands must not be empty");
+        }
+        if (commands.size() > MAX_COMMANDS) {
+            throw new IllegalArgumentException("At most " + MAX_COMMANDS + " commands can be executed at once");
+        }
+        Game game = findGameById(gameId);
+        List<List<Deck>> commandDecks = new ArrayList<>(commands.size());
+        boolean applied = false;
+        try {
+            for (int i = 0; i < commands.size(); i++) {
+                try {
+                    commandDecks.add(prepareDecks(gameId, commands.get(i)));
+                } catch (RuntimeException e) {
+                    throw new CommandFailedException(i, e);
+                }
+            }
+
+            List<GameCommand.Result> results;
+            try {
+                results = gameExecutor.write(game, expectedVersion, () -> {
+                    checkCommands(game, commands, commandDecks);
+                    List<GameCommand.Result> applying = new ArrayList<>(commands.size());
+                    for (int i = 0; i < commands.size(); i++) {
+                        applying.add(applyCommand(game, commands.get(i), commandDecks.get(i)));
+                    }
+                    return applying;
+                });
+            } catch (StaleVersionException e) {
+                throw new CommandFailedException(0, e);
+            }
+            applied = true;
+
+            for (int i = 0; i < commands.size(); i++) {
+                if (commands.get(i).getType() == GameCommand.Type.ADD_DECKS && commands.get(i).getDeckIds() == null) {
+                    commandDecks.get(i).forEach(deckRepository::save);
+                }
+            }
+            gameRepository.save(game);
+            return results.stream().map(projection).toList();
+        } finally {
+            if (!applied) {
+                releaseDecks(commandDecks);
+            }
+        }
+    }
+
+    /**
+     * Checks that every command of a batch would succeed by playing it against the shoe size
+     * and the hand sizes alone, so that a batch that would fail changes nothing. Throws a
+     * {@link CommandFailedException} for the first command that would fail, with the failure
+     * the command would meet when applied. Must run while the game is held.
+     */
+    private static void checkCommands(Game game, List<GameCommand> commands, List<List<Deck>> commandDecks) {
+        Map<String, Integer> handSizes = new HashMap<>();
+        game.getPlayersByName().forEach((playerName, player) -> handSizes.put(playerName, player.getHandSize()));
+        long shoeSize = game.getShoeSize();
+        for (int i = 0; i < commands.size(); i++) {
+            GameCommand command = commands.get(i);
+            String playerName = command.getPlayerName();
+            try {
+                switch (command.getType()) {
+                    case ADD_PLAYER -> handSizes.put(playerName, 0); // Replaces a player of the same name
+                    case REMOVE_PLAYER -> {
+                        Integer handSize = handSizes.remove(playerName);
+                        if (handSize == null) {
+                            throw new IllegalArgumentException("Player not found: " + playerName);
+                        }
+                        shoeSize += handSize;
+                    }
+                    case ADD_DECKS -> {
+                        for (Deck deck : commandDecks.get(i)) {
+                            shoeSize += deck.size();
+                        }
+                    }
+                    case DEAL -> {
+                        int count = command.getCount();
+                        if (count <= 0) {
+                            throw new IllegalArgumentException("Count must be positive");
+                        }
+                        if (count > shoeSize) {
+                            throw new IllegalStateException(
+                                    "Not enough cards in shoe. Requested: " + count + ", Available: " + shoeSize);
+                        }
+                        if (!handSizes.containsKey(playerName)) {
+                            throw new IllegalArgumentException("Player " + playerName + " not found in game");
+                        }
+                        shoeSize -= count;
+                        handSizes.merge(playerName, count, Integer::sum);
+                    }
+                    case SHUFFLE -> {
+                        if (shoeSize == 0) {
+                            throw new IllegalStateException("There are no cards to shuffle");
+                        }
+                    }
+                    case RESET -> {
+                        for (int handSize : handSizes.values()) {
+                            shoeSize += handSize;
+                        }
+                        handSizes.replaceAll((name, handSize) -> 0);
+                    }
+                }
+            } catch (RuntimeException e) {
+                throw new CommandFailedException(i, e);
+            }
+        }
+    }
+
+    /**
+     * Claims the existing decks, or creates the new decks, that a command adds to the game;
+     * returns null for commands that don't add decks.
+     */
+    private List<Deck> prepareDecks(String gameId, GameCommand command) {
+        if (command.getType() != GameCommand.Type.ADD_DECKS) {
+            return null;
+        }
+        if (command.getDeckIds() == null) {
+            return newDecks(gameId, command.getCount());
+        }
+        List<Deck> decks = new ArrayList<>(command.getDeckIds().size());
+        try {
+            for (String deckId : command.getDeckIds()) {
+                decks.add(deckRepository.claim(deckId, gameId));
+            }
+        } catch (RuntimeException e) {
+            decks.forEach(deckRepository::release);
+            throw e;
+        }
+        return decks;
+    }
+
+    /**
+     * Releases the claimed decks of a batch that was not applied.
+     * New decks were never saved, so they are simply dropped.
+     */
+    private void releaseDecks(List<List<Deck>> commandDecks) {
+        for (List<Deck> decks : commandDecks) {
+            if (decks != null) {
+                decks.forEach(deckRepository::release);
+            }
+        }
+    }
+
+    private GameCommand.Result applyCommand(Game game, GameCommand command, List<Deck> decks) {
+        List<Card> cards = null;
+        List<String> deckIds = null;
+        switch (command.getType()) {
+            case ADD_PLAYER -> applyAddPlayer(game, command.getPlayerName());
+            case REMOVE_PLAYER -> applyRemovePlayer(game, command.getPlayerName());
+            case ADD_DECKS -> {
+                applyAddDecks(game, decks);
+                deckIds = deckIds(decks);
+            }
+            case DEAL -> cards = applyDeal(game, command.getPlayerName(), command.getCount());
+            case SHUFFLE -> applyShuffle(game);
+            case RESET -> applyReset(game);
+        }
+        return new GameCommand.Result(command.getType(), cards, deckIds);
+    }
+
+    // The apply methods mutate a game while its write lock is held and publish the change
+
+    private void applyAddPlayer(Game game, String playerName) {
+        game.addPlayer(new Player(playerName));
+        publish(game, GameEvent.playerAdded(game.getPendingVersion(), playerName));
+    }
+
+    private void applyRemovePlayer(Game game, String playerName) {
+        if (game.getPlayer(playerName) == null) {
+            throw new IllegalArgumentException("Player not found: " + playerName);
+        }
+        game.removePlayer(playerName);
+        publish(game, GameEvent.playerRemoved(game.getPendingVersion(), playerName));
+    }
+
+    private void applyAddDecks(Game game, List<Deck> decks) {
+        game.addDecks(decks);
+        publishDecksAdded(game);
+    }
+
+    private List<Card> applyDeal(Game game, String playerName, int count) {
+        List<Card> dealtCards = game.dealCards(playerName, count);
+        publish(game, GameEvent.dealt(game.getPendingVersion(), playerName, dealtCards));
+        return dealtCards;
+    }
+
+    private Map<String, List<Card>> applyDealRound(Game game, int count, List<String> playerOrder) {
+        List<String> order = playerOrder;
+        if (order == null || order.isEmpty()) {
+            if (game.getPlayersByName().isEmpty()) {
+                throw new IllegalStateException("There are no players to deal to");
+            }
+            order = game.getPlayersByName().keySet().stream().sorted().toList();
+        }
+        Map<String, List<Card>> hands = game.dealRound(count, order);
+        long dealtVersion = game.getPendingVersion();
+        hands.forEach((playerName, dealtCards) -> publish(game, GameEvent.dealt(dealtVersion, playerName, dealtCards)));
+        return hands;
+    }
+
+    private void applyShuffle(Game game) {
+        shuffleService.shuffle(game);
+        publish(game, GameEvent.shuffled(game.getPendingVersion(), game.getShoeSize()));
+    }
+
+    private void applyReset(Game game) {
+        game.reset();
+        publish(game, GameEvent.reset(game.getPendingVersion(), game.getShoeSize()));
+    }
+
+    private void publishDecksAdded(Game game) {
+        publish(game, GameEvent.decksAdded(game.getPendingVersion(), game.getShoeSize()));
+    }
+
+    /**
+     * Creates decks claimed for the game, so they are never listed as unassigned.
+     */
+    private List<Deck> newDecks(String gameId, int count) {
+        List<Deck> decks = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            Deck deck = new Deck(idGenerator.nextId());
+            deck.claim(gameId);
+            decks.add(deck);
+        }
+        return decks;
+    }
+
+    private static List<String> deckIds(List<Deck> decks) {
+        List<String> ids = new ArrayList<>(decks.size());
+        for (Deck deck : decks) {
+            ids.add(deck.getId());
+        }
+        return ids;
+    }
+
+    /**
+     * Publishes a change to the game's subscribers. Called under the game's lock,
+     * which publishing never blocks.
+     */
+    private void publish(Game game, GameEvent event) {
+        gameFeed.publish(game.getId(), event);
+    }
+
+    /**
+     * Copies players out of the game so they can be read after its lock is released.
+     */
+    private static List<Player> snapshot(List<Player> players) {
+        return project(players, Player::snapshot);
+    }
+
+    private static <T> List<T> project(List<Player> players, Function<Player, T> projection) {
+        List<T> result = new ArrayList<>(players.size());
+        for (Player player : players) {
+            result.add(projection.apply(player));
+        }
+        return result;
+    }
+
 }
 
@@ -0,0 +1,223 @@
+package com.gotocompany.cards.service;
+
+import com.gotocompany.cards.model.Card;
+import com.gotocompany.cards.model.Game;
+import com.gotocompany.cards.util.RandomMode;
+import com.gotocompany.cards.util.ShuffleUtil;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Service for shuffling game shoes.
+ *
+ * When the permutation pool is enabled, uniformly random permutations for common
+ * shoe sizes (a configured number of whole decks) are generated ahead of time on a
+ * background thread, separately for each random mode. Shuffling a shoe of a pooled
+ * size then only applies a ready permutation in a single pass, so request latency no
+ * longer grows with the cost of generating random numbers. The pool is bounded by a
+ * memory budget and refills itself after every hit. When no permutation is ready the
+ * shoe is shuffled inline with {@link ShuffleUtil}, in parallel from the configured shoe size.
+ */
+@Service
+public class ShuffleService {
+
+    private final boolean enabled;
+    private final long maxBytes;
+    private final int parallelThreshold;
+    private final Map<PoolKey, Pool> pools = new HashMap<>();
+    private final ExecutorService refillExecutor;
+    private final AtomicLong pooledBytes = new AtomicLong();
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+
+    private record PoolKey(int shoeSize, RandomMode randomMode) {
+    }
+
+    private static final class Pool {
+        final PoolKey key;
+        final BlockingQueue<int[]> permutations;
+        final AtomicBoolean refilling = new AtomicBoolean();
+
+        Pool(PoolKey key, int capacity) {
+            this.key = key;
+            this.permutations = new ArrayBlockingQueue<>(capacity);
+        }
+    }
+
+    public ShuffleService(boolean enabled, int[] deckCounts, RandomMode[] randomModes,
+                          int permutationsPerSize, long maxBytes) {
+        this(enabled, deckCounts, randomModes, permutationsPerSize, maxBytes, ShuffleUtil.DEFAULT_PARALLEL_THRESHOLD);
+    }
+
+    @Autowired
+    public ShuffleService(@Value("${cards.shuffle.pool.enabled:false}") boolean enabled,
+                          @Value("${cards.shuffle.pool.deck-counts:1,2,4,6,8}") int[] deckCounts,
+                          @Value("${cards.shuffle.pool.random-modes:STRONG,FAST}") RandomMode[] randomModes,
+                          @Value("${cards.shuffle.pool.permutations-per-size:8}") int permutationsPerSize,
+                          @Value("${cards.shuffle.pool.max-bytes:16777216}") long maxBytes,
+                          @Value("${cards.shuffle.parallel-threshold:65536}") int parallelThreshold) {
+        if (parallelThreshold < 2) {
+            throw new IllegalArgumentException("Parallel threshold must be at least 2");
+        }
+        this.enabled = enabled;
+        this.maxBytes = maxBytes;
+        this.parallelThreshold = parallelThreshold;
+        if (!enabled) {
+            this.refillExecutor = null;
+            return;
+        }
+        if (permutationsPerSize < 1) {
+            throw new IllegalArgumentException("Permutations per size must be at least 1");
+        }
+        for (int deckCount : deckCounts) {
+            for (RandomMode randomMode : randomModes) {
+                PoolKey key = new PoolKey(deckCount * Card.DISTINCT_CARDS, randomMode);
+                pools.put(key, new Pool(key, permutationsPerSize));
+            }
+        }
+        this.refillExecutor = Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "shuffle-pool-refill");
+            thread.setDaemon(true);
+            return thread;
+        });
+        pools.values().forEach(this::refill);
+    }
+
+    /**
+     * Creates a service that always shuffles inline.
+     */
+    public static ShuffleService inline() {
+        return new ShuffleService(false, new int[0], new RandomMode[0], 1, 0);
+    }
+
+    /**
+     * Shuffles the game's shoe, using a pre-generated permutation when one is ready.
+     */
+    public void shuffle(Game game) {
+        if (enabled && !game.isLazyShuffle()) { // A lazy shuffle is already constant time
+            Pool pool = pools.get(new PoolKey(game.getShoeSize(), game.getRandomMode()));
+            int[] permutation = pool != null ? pool.permutations.poll() : null;
+            if (permutation != null) {
+                pooledBytes.addAndGet(-bytes(pool.key));
+                refill(pool);
+                hits.incrementAndGet();
+                game.shuffle(permutation);
+                return;
+            }
+            misses.incrementAndGet();
+        }
+        game.shuffle(parallelThreshold);
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Returns the shoe size from which inline shuffles run in parallel.
+     */
+    public int getParallelThreshold() {
+        return parallelThreshold;
+    }
+
+    /**
+     * Returns the number of shuffles served from the pool.
+     */
+    public long getHits() {
+        return hits.get();
+    }
+
+    /**
+     * Returns the number of shuffles that fell back to an inline shuffle while the pool was enabled.
+     */
+    public long getMisses() {
+        return misses.get();
+    }
+
+    /**
+     * Returns the number of permutations currently ready in the pool.
+     */
+    public int getPooledPermutations() {
+        int total = 0;
+        for (Pool pool : pools.values()) {
+            total += pool.permutations.size();
+        }
+        return total;
+    }
+
+    /**
+     * Returns the memory held by ready permutations, in bytes.
+     */
+    public long getPooledBytes() {
+        return pooledBytes.get();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        if (refillExecutor != null) {
+            refillExecutor.shutdownNow();
+        }
+    }
+
+    /**
+     * Schedules the pool to be topped up unless a refill is already running for it.
+     */
+    private void refill(Pool pool) {
+        if (!pool.refilling.compareAndSet(false, true)) {
+            return;
+        }
+        long bytes = bytes(pool.key);
+        try {
+            refillExecutor.execute(() -> {
+                try {
+                    while (pool.permutations.remainingCapacity() > 0 && reserve(bytes)) {
+                        int[] permutation = ShuffleUtil.randomPermutation(
+                                pool.key.shoeSize(), pool.key.randomMode().generator());
+                        if (!pool.permutations.offer(permutation)) {
+                            pooledBytes.addAndGet(-bytes);
+                            break;
+                        }
+                    }
+                } finally {
+                    pool.refilling.set(false);
+                }
+                // A permutation may have been taken after the loop ended but before the flag was cleared
+                if (pool.permutations.remainingCapacity() > 0 && pooledBytes.get() + bytes <= maxBytes) {
+                    refill(pool);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            pool.refilling.set(false); // Shutting down
+        }
+    }
+
+    /**
+     * Claims room in the memory budget for one more permutation.
+     */
+    private boolean reserve(long bytes) {
+        long current;
+        do {
+            current = pooledBytes.get();
+            if (current + bytes > maxBytes) {
+                return false;
+            }
+        } while (!pooledBytes.compareAndSet(current, current + bytes));
+        return true;
+    }
+
+    private static long bytes(PoolKey key) {
+        return (long) key.shoeSize() * Integer.BYTES;
+    }
+}
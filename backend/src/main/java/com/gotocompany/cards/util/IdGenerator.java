@@ -0,0 +1,13 @@
+package com.gotocompany.cards.util;
+
+/**
+ * Source of unique ids for games and decks.
+ */
+@FunctionalInterface
+public interface IdGenerator {
+
+    /**
+     * Returns a new id that has not been returned before.
+     */
+    String nextId();
+}
@@ -0,0 +1,52 @@
+package com.gotocompany.cards.util;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Built-in id generators.
+ */
+public enum IdStrategy implements IdGenerator {
+
+    /**
+     * Monotonic 64-bit ids: the current time in milliseconds shifted left by 16 bits, plus a
+     * sequence for ids created within the same millisecond. When the sequence runs out the
+     * ids borrow from the next millisecond, so generation never waits. Ids are written as
+     * 13 lowercase Crockford base32 characters, which sort in creation order.
+     */
+    TIME_ORDERED {
+        private final AtomicLong last = new AtomicLong();
+
+        @Override
+        public String nextId() {
+            long now = System.currentTimeMillis() << SEQUENCE_BITS;
+            return format(last.accumulateAndGet(now, (previous, time) -> Math.max(previous + 1, time)));
+        }
+    },
+
+    /**
+     * Random 36-character UUIDs drawn from SecureRandom.
+     */
+    UUID {
+        @Override
+        public String nextId() {
+            return java.util.UUID.randomUUID().toString();
+        }
+    };
+
+    private static final int SEQUENCE_BITS = 16;
+    private static final char[] BASE32 = "0123456789abcdefghjkmnpqrstvwxyz".toCharArray();
+    private static final int FORMATTED_LENGTH = 13; // ceil(64 / 5)
+
+    /**
+     * Writes a 64-bit id as fixed-width Crockford base32, so that for non-negative
+     * ids the string order matches the numeric order.
+     */
+    static String format(long id) {
+        char[] chars = new char[FORMATTED_LENGTH];
+        for (int i = FORMATTED_LENGTH - 1; i >= 0; i--) {
+            chars[i] = BASE32[(int) (id & 31)];
+            id >>>= 5;
+        }
+        return new String(chars);
+    }
+}
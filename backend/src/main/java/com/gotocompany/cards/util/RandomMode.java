@@ -0,0 +1,48 @@
+package com.gotocompany.cards.util;
+
+import java.security.NoSuchAlgorithmException;
+import java.security.SecureRandom;
+import java.util.random.RandomGenerator;
+import java.util.random.RandomGeneratorFactory;
+
+/**
+ * Sources of randomness available for shuffling.
+ * Each thread gets its own generator, so concurrent shuffles never contend on a shared lock.
+ */
+public enum RandomMode {
+
+    /**
+     * Cryptographic-quality randomness from a per-thread DRBG {@link SecureRandom}.
+     */
+    STRONG(ThreadLocal.withInitial(RandomMode::newStrongGenerator)),
+
+    /**
+     * A fast statistical generator (L64X128MixRandom) per thread, seeded from {@link SecureRandom}.
+     */
+    FAST(ThreadLocal.withInitial(RandomMode::newFastGenerator));
+
+    private final ThreadLocal<RandomGenerator> generators;
+
+    RandomMode(ThreadLocal<RandomGenerator> generators) {
+        this.generators = generators;
+    }
+
+    /**
+     * Returns the generator of this mode for the calling thread.
+     */
+    public RandomGenerator generator() {
+        return generators.get();
+    }
+
+    private static RandomGenerator newStrongGenerator() {
+        try {
+            return SecureRandom.getInstance("DRBG");
+        } catch (NoSuchAlgorithmException e) {
+            return new SecureRandom();
+        }
+    }
+
+    private static RandomGenerator newFastGenerator() {
+        return RandomGeneratorFactory.of("L64X128MixRandom").create(new SecureRandom().nextLong());
+    }
+}
@@ -2,35 +2,54 @@ package com.gotocompany.cards.util;
 
 import com.gotocompany.cards.model.Card;
 
-import java.security.SecureRandom;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.function.IntConsumer;
+import java.util.random.RandomGenerator;
 
 /**
  * Utility class for shuffling cards using the Fisher-Yates shuffle algorithm.
- * 
+ *
  * Fisher-Yates shuffle is an unbiased algorithm that produces a uniformly random
  * permutation of the input. It has O(n) time complexity where n is the number of elements.
- * 
- * We use SecureRandom instead of Random for better cryptographic-quality randomness,
- * which is important for card games where fairness is critical.
- * 
+ *
+ * By default we use SecureRandom instead of Random for better cryptographic-quality randomness,
+ * which is important for card games where fairness is critical. Each thread has its own
+ * generator (see {@link RandomMode}), so concurrent shuffles do not serialize on a shared lock.
+ *
+ * Very large arrays are shuffled in parallel once they reach a parallel threshold,
+ * {@link #DEFAULT_PARALLEL_THRESHOLD} unless the caller passes its own.
+ *
  * This implementation does not use library-provided shuffle operations as per requirements.
  */
 public class ShuffleUtil {
 
-    private static final SecureRandom random = new SecureRandom();
+    // Upper bound on the product of the ranges drawn from one 64-bit value.
+    // Keeps the chance of having to redraw the batch below 2^-16.
+    private static final long BATCH_PRODUCT_LIMIT = 1L << 48;
+    private static final int MAX_BATCH = 6;
+
+    // Parallel shuffle tuning: buckets are a power of two so labels can be cut from random bits
+    private static final int MAX_BUCKET_BITS = 6;
+    private static final int MIN_BUCKET_SIZE = 1024;
+    private static final int MIN_CHUNK_SIZE = 4096;
+
+    /** Size from which array shuffles run in parallel unless another threshold is given. */
+    public static final int DEFAULT_PARALLEL_THRESHOLD = 1 << 16;
 
     /**
      * Shuffles a list of cards in-place using the Fisher-Yates algorithm.
-     * 
+     *
      * Algorithm:
      * 1. Start from the last element
      * 2. Pick a random element from the remaining unshuffled portion (including current)
      * 3. Swap it with the current element
      * 4. Move to the previous element and repeat
-     * 
+     *
      * This ensures each permutation has equal probability (1/n!).
-     * 
+     *
      * @param cards The list of cards to shuffle (modified in-place)
      */
     public static void shuffle(List<Card> cards) {
@@ -38,16 +57,270 @@ public class ShuffleUtil {
             return; // Nothing to shuffle or already shuffled
         }
 
+        RandomGenerator random = RandomMode.STRONG.generator();
+
         // Fisher-Yates shuffle: iterate from end to beginning
         for (int i = cards.size() - 1; i > 0; i--) {
             // Pick a random index from 0 to i (inclusive)
             int j = random.nextInt(i + 1);
-            
+
             // Swap cards at positions i and j
             Card temp = cards.get(i);
             cards.set(i, cards.get(j));
             cards.set(j, temp);
         }
     }
-}
 
+    /**
+     * Shuffles the range [from, to) of an array of card ordinals in-place using
+     * {@link RandomMode#STRONG} randomness.
+     *
+     * @param cards The card ordinals to shuffle (modified in-place)
+     * @param from  Index of the first element to shuffle (inclusive)
+     * @param to    Index of the last element to shuffle (exclusive)
+     */
+    public static void shuffle(byte[] cards, int from, int to) {
+        shuffle(cards, from, to, RandomMode.STRONG);
+    }
+
+    /**
+     * Shuffles the range [from, to) of an array of card ordinals in-place using
+     * the calling thread's generator for the given mode, in parallel from the
+     * {@link #DEFAULT_PARALLEL_THRESHOLD default threshold}.
+     */
+    public static void shuffle(byte[] cards, int from, int to, RandomMode mode) {
+        shuffle(cards, from, to, mode, DEFAULT_PARALLEL_THRESHOLD);
+    }
+
+    /**
+     * Shuffles the range [from, to) of an array of card ordinals in-place using
+     * the calling thread's generator for the given mode. Ranges of at least the
+     * parallel threshold are shuffled in parallel on the common ForkJoin pool when
+     * more than one core is available.
+     */
+    public static void shuffle(byte[] cards, int from, int to, RandomMode mode, int parallelThreshold) {
+        ForkJoinPool pool = ForkJoinPool.commonPool();
+        if (to - from >= parallelThreshold && pool.getParallelism() > 1) {
+            parallelShuffle(cards, from, to, mode, pool);
+        } else {
+            shuffle(cards, from, to, mode.generator());
+        }
+    }
+
+    /**
+     * Shuffles the range [from, to) of an array of card ordinals in-place on a ForkJoin pool.
+     *
+     * Algorithm (random scatter, then local shuffles):
+     * 1. In parallel chunks, give every card an independent, uniformly random bucket label
+     * 2. Prefix-sum the per-chunk bucket counts to find where each chunk writes into each bucket
+     * 3. In parallel chunks, scatter the cards into their buckets
+     * 4. In parallel, shuffle each bucket with Fisher-Yates and copy it back
+     *
+     * Given the bucket sizes, every way of splitting the cards into buckets is equally
+     * likely and every bucket is uniformly permuted, so the result is a uniformly random
+     * permutation, exactly as with a sequential Fisher-Yates shuffle. Each worker thread
+     * draws from its own generator of the given mode.
+     */
+    public static void parallelShuffle(byte[] cards, int from, int to, RandomMode mode, ForkJoinPool pool) {
+        int n = to - from;
+        int bucketBits = Math.min(MAX_BUCKET_BITS, 31 - Integer.numberOfLeadingZeros(Math.max(1, n / MIN_BUCKET_SIZE)));
+        int chunks = Math.max(1, Math.min(pool.getParallelism() * 4, n / MIN_CHUNK_SIZE));
+        parallelShuffle(cards, from, to, mode, pool, bucketBits, chunks);
+    }
+
+    /**
+     * Parallel shuffle with explicit tuning: 2^bucketBits buckets and the given number of chunks.
+     */
+    static void parallelShuffle(byte[] cards, int from, int to, RandomMode mode, ForkJoinPool pool,
+                                int bucketBits, int chunks) {
+        int n = to - from;
+        if (bucketBits == 0 || n <= 1) {
+            shuffle(cards, from, to, mode.generator());
+            return;
+        }
+        int buckets = 1 << bucketBits;
+
+        // 1. Label every card with a random bucket
+        byte[] labels = new byte[n];
+        int[][] counts = new int[chunks][buckets];
+        forEachParallel(pool, chunks, chunk -> {
+            RandomGenerator random = mode.generator();
+            int[] chunkCounts = counts[chunk];
+            int end = chunkEnd(n, chunks, chunk);
+            long bits = 0;
+            int available = 0;
+            for (int i = chunkStart(n, chunks, chunk); i < end; i++) {
+                if (available < bucketBits) {
+                    bits = random.nextLong();
+                    available = 64;
+                }
+                int label = (int) (bits & (buckets - 1));
+                bits >>>= bucketBits;
+                available -= bucketBits;
+                labels[i] = (byte) label;
+                chunkCounts[label]++;
+            }
+        });
+
+        // 2. Offsets: buckets in order, and within each bucket the chunks in order
+        int[][] offsets = new int[chunks][buckets];
+        int[] bucketStarts = new int[buckets + 1];
+        int position = 0;
+        for (int bucket = 0; bucket < buckets; bucket++) {
+            bucketStarts[bucket] = position;
+            for (int chunk = 0; chunk < chunks; chunk++) {
+                offsets[chunk][bucket] = position;
+                position += counts[chunk][bucket];
+            }
+        }
+        bucketStarts[buckets] = n;
+
+        // 3. Scatter the cards into their buckets
+        byte[] scattered = new byte[n];
+        forEachParallel(pool, chunks, chunk -> {
+            int[] chunkOffsets = offsets[chunk];
+            int end = chunkEnd(n, chunks, chunk);
+            for (int i = chunkStart(n, chunks, chunk); i < end; i++) {
+                scattered[chunkOffsets[labels[i]]++] = cards[from + i];
+            }
+        });
+
+        // 4. Shuffle every bucket and copy it back
+        forEachParallel(pool, buckets, bucket -> {
+            int start = bucketStarts[bucket];
+            int end = bucketStarts[bucket + 1];
+            shuffle(scattered, start, end, mode.generator());
+            System.arraycopy(scattered, start, cards, from + start, end - start);
+        });
+    }
+
+    private static int chunkStart(int n, int chunks, int chunk) {
+        return (int) ((long) n * chunk / chunks);
+    }
+
+    private static int chunkEnd(int n, int chunks, int chunk) {
+        return (int) ((long) n * (chunk + 1) / chunks);
+    }
+
+    /**
+     * Runs the action for every index in [0, count) as separate tasks on the pool and waits for all of them.
+     */
+    private static void forEachParallel(ForkJoinPool pool, int count, IntConsumer action) {
+        List<ForkJoinTask<?>> tasks = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            int index = i;
+            tasks.add(ForkJoinTask.adapt(() -> action.accept(index)));
+        }
+        pool.invoke(ForkJoinTask.adapt(() -> ForkJoinTask.invokeAll(tasks)));
+    }
+
+    /**
+     * Shuffles the range [from, to) of an array of card ordinals in-place using
+     * the same Fisher-Yates algorithm as {@link #shuffle(List)}.
+     *
+     * Rather than one call to the generator per swap, several swap indices are
+     * extracted from each 64-bit random value: the value is multiplied by each
+     * range in turn, the high bits giving an index and the low bits carrying on
+     * as the random value for the next range. A batch is redrawn only when the
+     * final low bits fall below a threshold, which keeps every index exactly
+     * uniform (batched ranged random integers, Brackett-Milburn and Lemire).
+     *
+     * @param cards  The card ordinals to shuffle (modified in-place)
+     * @param from   Index of the first element to shuffle (inclusive)
+     * @param to     Index of the last element to shuffle (exclusive)
+     * @param random The source of randomness
+     */
+    public static void shuffle(byte[] cards, int from, int to, RandomGenerator random) {
+        if (cards == null || to - from <= 1) {
+            return; // Nothing to shuffle or already shuffled
+        }
+
+        int[] indices = new int[MAX_BATCH];
+        int remaining = to - from; // Positions [from, from + remaining) are still unshuffled
+        while (remaining > 1) {
+            int batch = batchSize(remaining);
+            drawIndices(random, remaining, batch, indices);
+
+            for (int b = 0; b < batch; b++) {
+                int i = from + remaining - 1 - b;
+                int j = from + indices[b];
+
+                byte temp = cards[i];
+                cards[i] = cards[j];
+                cards[j] = temp;
+            }
+            remaining -= batch;
+        }
+    }
+
+    /**
+     * Returns a uniformly random permutation of [0, n), generated with the same
+     * batched Fisher-Yates shuffle as the card ordinal arrays.
+     */
+    public static int[] randomPermutation(int n, RandomGenerator random) {
+        int[] permutation = new int[n];
+        for (int i = 0; i < n; i++) {
+            permutation[i] = i;
+        }
+
+        int[] indices = new int[MAX_BATCH];
+        int remaining = n;
+        while (remaining > 1) {
+            int batch = batchSize(remaining);
+            drawIndices(random, remaining, batch, indices);
+
+            for (int b = 0; b < batch; b++) {
+                int i = remaining - 1 - b;
+                int j = indices[b];
+
+                int temp = permutation[i];
+                permutation[i] = permutation[j];
+                permutation[j] = temp;
+            }
+            remaining -= batch;
+        }
+        return permutation;
+    }
+
+    /**
+     * Returns how many consecutive swaps, for ranges counting down from the given one,
+     * can be drawn from a single 64-bit value while staying under the product limit.
+     */
+    private static int batchSize(int range) {
+        int batch = 1;
+        long product = range;
+        while (batch < MAX_BATCH && range - batch > 1
+                && product <= BATCH_PRODUCT_LIMIT / (range - batch)) {
+            product *= range - batch;
+            batch++;
+        }
+        return batch;
+    }
+
+    /**
+     * Fills indices[b] with a uniform value in [0, range - b) for each b in [0, batch).
+     */
+    private static void drawIndices(RandomGenerator random, int range, int batch, int[] indices) {
+        long product = 1;
+        for (int b = 0; b < batch; b++) {
+            product *= range - b;
+        }
+        long leftover = extractIndices(random.nextLong(), range, batch, indices);
+        if (Long.compareUnsigned(leftover, product) < 0) {
+            long threshold = Long.remainderUnsigned(-product, product);
+            while (Long.compareUnsigned(leftover, threshold) < 0) {
+                leftover = extractIndices(random.nextLong(), range, batch, indices);
+            }
+        }
+    }
+
+    private static long extractIndices(long bits, int range, int batch, int[] indices) {
+        for (int b = 0; b < batch; b++) {
+            long bound = range - b;
+            // Unsigned 64x64 -> 128 bit multiplication: high half is the index, low half is reused
+            indices[b] = (int) (Math.multiplyHigh(bits, bound) + ((bits >> 63) & bound));
+            bits *= bound;
+        }
+        return bits;
+    }
+}
@@ -0,0 +1,118 @@
+package com.gotocompany.cards.controller;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.databind.CBORMapper;
+import com.gotocompany.cards.dto.CardDto;
+import com.gotocompany.cards.model.Card;
+import com.gotocompany.cards.model.enums.FaceValue;
+import com.gotocompany.cards.model.enums.Suit;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.ByteArrayInputStream;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CardWriterTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final CardWriter writer = new CardWriter(objectMapper);
+
+    private static final List<Card> CARDS = List.of(
+            Card.of(Suit.HEARTS, FaceValue.ACE),
+            Card.of(Suit.SPADES, FaceValue.KING),
+            Card.of(Suit.DIAMONDS, FaceValue.TEN));
+
+    private byte[] write(List<Card> cards, CardFormat format) throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        writer.write(cards, format).getBody().writeTo(out);
+        return out.toByteArray();
+    }
+
+    private byte[] write(byte[] ordinals, CardFormat format) throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        writer.write(ordinals, format).getBody().writeTo(out);
+        return out.toByteArray();
+    }
+
+    private static byte[] ordinals(List<Card> cards) {
+        byte[] ordinals = new byte[cards.size()];
+        for (int i = 0; i < ordinals.length; i++) {
+            ordinals[i] = (byte) cards.get(i).ordinal();
+        }
+        return ordinals;
+    }
+
+    @Test
+    void testJsonMatchesCardDtoSerialization() throws Exception {
+        List<CardDto> dtos = new ArrayList<>();
+        for (Card card : CARDS) {
+            dtos.add(new CardDto(card));
+        }
+        assertEquals(objectMapper.readTree(objectMapper.writeValueAsString(dtos)),
+                objectMapper.readTree(write(CARDS, CardFormat.JSON)));
+    }
+
+    @Test
+    void testOrdinalsMatchCards() throws Exception {
+        List<Card> cards = new ArrayList<>();
+        for (int i = 0; i < Card.DISTINCT_CARDS * 3; i++) {
+            cards.add(Card.fromOrdinal(i % Card.DISTINCT_CARDS));
+        }
+        byte[] ordinals = ordinals(cards);
+        for (CardFormat format : CardFormat.values()) {
+            assertArrayEquals(write(cards, format), write(ordinals, format), format.name());
+        }
+    }
+
+    @Test
+    void testCompact() throws Exception {
+        assertEquals("AH KS TD", new String(write(CARDS, CardFormat.COMPACT)));
+    }
+
+    @Test
+    void testBinary() throws Exception {
+        assertArrayEquals(ordinals(CARDS), write(CARDS, CardFormat.BINARY));
+    }
+
+    @Test
+    void testCbor() throws Exception {
+        JsonNode cards = new CBORMapper().readTree(write(CARDS, CardFormat.CBOR));
+        assertEquals(3, cards.size());
+        assertEquals("KING", cards.get(1).get("faceValue").asText());
+    }
+
+    @Test
+    void testEmpty() throws Exception {
+        assertEquals("[]", new String(write(new byte[0], CardFormat.JSON)));
+        assertEquals(0, write(new byte[0], CardFormat.COMPACT).length);
+    }
+
+    @Test
+    void testCounts() throws Exception {
+        Map<Suit, Map<FaceValue, Integer>> counts = new EnumMap<>(Suit.class);
+        for (Suit suit : Suit.values()) {
+            Map<FaceValue, Integer> faceValueCounts = new LinkedHashMap<>();
+            for (FaceValue faceValue : FaceValue.values()) {
+                faceValueCounts.put(faceValue, suit == Suit.HEARTS ? 300 : 1);
+            }
+            counts.put(suit, faceValueCounts);
+        }
+
+        String compact = new String(writer.writeCounts(counts, CardFormat.COMPACT).getBody());
+        assertTrue(compact.startsWith("AH:300 2H:300 "));
+        assertTrue(compact.endsWith(" KD:1"));
+
+        byte[] binary = writer.writeCounts(counts, CardFormat.BINARY).getBody();
+        assertEquals(Card.DISTINCT_CARDS * 4, binary.length);
+        DataInputStream in = new DataInputStream(new ByteArrayInputStream(binary));
+        assertEquals(300, in.readInt());
+    }
+}
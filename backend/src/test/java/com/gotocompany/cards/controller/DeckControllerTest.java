@@ -46,5 +46,24 @@ class DeckControllerTest {
                 .andExpect(status().isOk())
                 .andExpect(content().contentType(MediaType.APPLICATION_JSON));
     }
-}
 
+    @SuppressWarnings("null")
+    @Test
+    void testGetUnassignedDeckIdsPage() throws Exception {
+        when(deckService.getUnassignedDeckIds("deck-1", 2)).thenReturn(Arrays.asList("deck-2", "deck-3"));
+        mockMvc.perform(get("/api/decks/unassigned").param("after", "deck-1").param("limit", "2"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0]").value("deck-2"))
+                .andExpect(jsonPath("$[1]").value("deck-3"));
+    }
+
+    @SuppressWarnings("null")
+    @Test
+    void testCreateDecks() throws Exception {
+        when(deckService.createDecks(2)).thenReturn(List.of(new Deck("deck-1"), new Deck("deck-2")));
+        mockMvc.perform(post("/api/decks").param("count", "2"))
+                .andExpect(status().isCreated())
+                .andExpect(jsonPath("$[0].deckId").value("deck-1"))
+                .andExpect(jsonPath("$[1].deckId").value("deck-2"));
+    }
+}
@@ -3,14 +3,30 @@ package com.gotocompany.cards.controller;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.gotocompany.cards.dto.AddDeckRequest;
 import com.gotocompany.cards.dto.AddPlayerRequest;
+import com.gotocompany.cards.dto.CardDto;
+import com.gotocompany.cards.dto.CommandResultDto;
+import com.gotocompany.cards.dto.GameCommandRequest;
+import com.gotocompany.cards.dto.GameCommandsRequest;
 import com.gotocompany.cards.dto.RemovePlayerRequest;
 import com.gotocompany.cards.dto.DealCardsRequest;
+import com.gotocompany.cards.dto.DealRoundRequest;
+import com.gotocompany.cards.dto.GameDto;
+import com.gotocompany.cards.dto.GameSummaryDto;
+import com.gotocompany.cards.dto.PlayerDto;
+import com.gotocompany.cards.exception.CommandFailedException;
+import com.gotocompany.cards.exception.StaleVersionException;
+import com.gotocompany.cards.model.Deck;
 import com.gotocompany.cards.model.Game;
 import com.gotocompany.cards.model.Card;
+import com.gotocompany.cards.model.Player;
 import com.gotocompany.cards.model.enums.Suit;
 import com.gotocompany.cards.model.enums.FaceValue;
 import com.gotocompany.cards.service.DeckService;
+import com.gotocompany.cards.service.GameCommand;
+import com.gotocompany.cards.service.GameEvent;
+import com.gotocompany.cards.service.GameFeed;
 import com.gotocompany.cards.service.GameService;
+import com.gotocompany.cards.util.RandomMode;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -18,16 +34,33 @@ import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.EnumMap;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
+import java.util.function.Function;
 
+import static org.hamcrest.Matchers.startsWith;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
 import static org.mockito.Mockito.doNothing;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
@@ -58,7 +91,7 @@ class GameControllerTest {
     @Test
     void testCreateGame() throws Exception {
         Game mockGame = new Game(gameId, "Test Game");
-        when(gameService.createGame(anyString())).thenReturn(mockGame);
+        when(gameService.createGame(anyString(), any(), any())).thenReturn(mockGame);
         
         mockMvc.perform(post("/api/games")
                 .contentType(MediaType.APPLICATION_JSON)
@@ -69,11 +102,24 @@ class GameControllerTest {
                 .andExpect(jsonPath("$.name").value("Test Game"));
     }
 
+    @SuppressWarnings("null")
+    @Test
+    void testCreateGameWithRandomMode() throws Exception {
+        Game mockGame = new Game(gameId, "Test Game");
+        when(gameService.createGame(anyString(), any(), any())).thenReturn(mockGame);
+
+        mockMvc.perform(post("/api/games")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"name\":\"Test Game\",\"randomMode\":\"FAST\"}"))
+                .andExpect(status().isCreated());
+        verify(gameService).createGame("Test Game", RandomMode.FAST, null);
+    }
+
     @SuppressWarnings("null")
     @Test
     void testAddDeckToGame() throws Exception {
         AddDeckRequest request = new AddDeckRequest("deck-id");
-        doNothing().when(gameService).addDeckToGame(anyString(), anyString());
+        doNothing().when(gameService).addDeckToGame(anyString(), anyString(), anyLong());
         
         mockMvc.perform(post("/api/games/" + gameId + "/decks")
                 .contentType(MediaType.APPLICATION_JSON)
@@ -81,6 +127,42 @@ class GameControllerTest {
                 .andExpect(status().isOk());
     }
 
+    @SuppressWarnings("null")
+    @Test
+    void testAddNewDecksToGame() throws Exception {
+        when(gameService.addNewDecksToGame(gameId, 2, Game.ANY_VERSION)).thenReturn(List.of("deck-1", "deck-2"));
+
+        mockMvc.perform(post("/api/games/" + gameId + "/decks/bulk")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"count\":2}"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[1]").value("deck-2"));
+    }
+
+    @SuppressWarnings("null")
+    @Test
+    void testAddExistingDecksToGame() throws Exception {
+        mockMvc.perform(post("/api/games/" + gameId + "/decks/bulk")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"deckIds\":[\"deck-1\",\"deck-2\"]}"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0]").value("deck-1"));
+        verify(gameService).addDecksToGame(gameId, List.of("deck-1", "deck-2"), Game.ANY_VERSION);
+    }
+
+    @SuppressWarnings("null")
+    @Test
+    void testAddDecksToGameNeedsExactlyOneSource() throws Exception {
+        mockMvc.perform(post("/api/games/" + gameId + "/decks/bulk")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"deckIds\":[\"deck-1\"],\"count\":2}"))
+                .andExpect(status().isBadRequest());
+        mockMvc.perform(post("/api/games/" + gameId + "/decks/bulk")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{}"))
+                .andExpect(status().isBadRequest());
+    }
+
     @Test
     void deleteGame() throws Exception {
         doNothing().when(gameService).deleteGame(anyString());
@@ -92,14 +174,41 @@ class GameControllerTest {
     @SuppressWarnings("null")
     @Test
     void testGetGames() throws Exception {
-        List<Game> games = new ArrayList<>();
-        games.add(new Game("game-1", "Test Game"));
-        games.add(new Game("game-2", "Test Game 2"));
-        when(gameService.getGames()).thenReturn(games);
+        List<GameSummaryDto> games = new ArrayList<>();
+        games.add(new GameSummaryDto(new Game("game-1", "Test Game")));
+        games.add(new GameSummaryDto(new Game("game-2", "Test Game 2")));
+        when(gameService.<GameSummaryDto>getGames(isNull(), eq(100), any())).thenReturn(games);
         mockMvc.perform(get("/api/games"))
                 .andExpect(status().isOk())
                 .andExpect(content().contentType(MediaType.APPLICATION_JSON))
-                .andExpect(jsonPath("$.length()").value(games.size()));
+                .andExpect(jsonPath("$.length()").value(games.size()))
+                .andExpect(jsonPath("$[0].shoe").doesNotExist())
+                .andExpect(jsonPath("$[0].deckCount").value(0))
+                .andExpect(header().doesNotExist("X-Next-Cursor"));
+    }
+
+    @SuppressWarnings("null")
+    @Test
+    void testGetGamesFullPageSetsCursor() throws Exception {
+        List<GameSummaryDto> games = new ArrayList<>();
+        games.add(new GameSummaryDto(new Game("game-1", "Test Game")));
+        games.add(new GameSummaryDto(new Game("game-2", "Test Game 2")));
+        when(gameService.<GameSummaryDto>getGames(eq("game-0"), eq(2), any())).thenReturn(games);
+        mockMvc.perform(get("/api/games").param("after", "game-0").param("limit", "2"))
+                .andExpect(status().isOk())
+                .andExpect(header().string("X-Next-Cursor", "game-2"));
+    }
+
+    @SuppressWarnings("null")
+    @Test
+    void testGetGamesFullView() throws Exception {
+        List<GameDto> games = new ArrayList<>();
+        games.add(new GameDto(new Game("game-1", "Test Game")));
+        when(gameService.<GameDto>getGamesWithShoe(isNull(), eq(100), any())).thenReturn(games);
+        mockMvc.perform(get("/api/games").param("view", "full"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(1))
+                .andExpect(jsonPath("$[0].shoe").isArray());
     }
 
     @SuppressWarnings("null")
@@ -118,7 +227,7 @@ class GameControllerTest {
     @Test
     void testAddPlayer() throws Exception {
         AddPlayerRequest request = new AddPlayerRequest("Alice");
-        doNothing().when(gameService).addPlayer(anyString(), anyString());
+        doNothing().when(gameService).addPlayer(anyString(), anyString(), anyLong());
         
         mockMvc.perform(post("/api/games/" + gameId + "/players")
                 .contentType(MediaType.APPLICATION_JSON)
@@ -130,7 +239,7 @@ class GameControllerTest {
     @Test
     void testRemovePlayer() throws Exception {
         RemovePlayerRequest request = new RemovePlayerRequest("Alice");
-        doNothing().when(gameService).removePlayer(anyString(), anyString());
+        doNothing().when(gameService).removePlayer(anyString(), anyString(), anyLong());
 
         mockMvc.perform(delete("/api/games/" + gameId + "/players/Alice")
                 .contentType(MediaType.APPLICATION_JSON)
@@ -142,12 +251,44 @@ class GameControllerTest {
     @Test
     void testDealCards() throws Exception {
         DealCardsRequest request = new DealCardsRequest("Alice", 5);
-        when(gameService.dealCards(anyString(), anyString(), anyInt())).thenReturn(new ArrayList<>());
+        when(gameService.dealCards(anyString(), anyString(), anyInt(), anyLong()))
+                .thenReturn(List.of(Card.of(Suit.HEARTS, FaceValue.ACE)));
         
-        mockMvc.perform(post("/api/games/" + gameId + "/deal")
+        MvcResult result = mockMvc.perform(post("/api/games/" + gameId + "/deal")
                 .contentType(MediaType.APPLICATION_JSON)
                 .content(objectMapper.writeValueAsString(request)))
-                .andExpect(status().isOk());
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(1))
+                .andExpect(jsonPath("$[0].suit").value("HEARTS"));
+    }
+
+    @SuppressWarnings("null")
+    @Test
+    void testDealRound() throws Exception {
+        DealRoundRequest request = new DealRoundRequest(2, List.of("Bob", "Alice"));
+        Map<String, List<Card>> hands = new LinkedHashMap<>();
+        hands.put("Bob", List.of(Card.of(Suit.HEARTS, FaceValue.KING), Card.of(Suit.CLUBS, FaceValue.TEN)));
+        hands.put("Alice", List.of(Card.of(Suit.SPADES, FaceValue.ACE), Card.of(Suit.DIAMONDS, FaceValue.TWO)));
+        when(gameService.dealRound(eq(gameId), eq(2), eq(List.of("Bob", "Alice")), eq(4L))).thenReturn(hands);
+
+        mockMvc.perform(post("/api/games/" + gameId + "/deal/round")
+                .header("If-Match", "\"4\"")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isOk())
+                .andExpect(content().json("{\"hands\":{\"Bob\":[\"KH\",\"TC\"],\"Alice\":[\"AS\",\"2D\"]}}", true));
+    }
+
+    @Test
+    void testDealRoundWithInvalidCount() throws Exception {
+        mockMvc.perform(post("/api/games/" + gameId + "/deal/round")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"count\":0}"))
+                .andExpect(status().isBadRequest());
+        verify(gameService, never()).dealRound(anyString(), anyInt(), any(), anyLong());
     }
 
     @SuppressWarnings("null")
@@ -157,14 +298,57 @@ class GameControllerTest {
         cards.add(new Card(Suit.HEARTS, FaceValue.ACE));
         cards.add(new Card(Suit.DIAMONDS, FaceValue.KING));
         when(gameService.getPlayerCards(anyString(), anyString())).thenReturn(cards);
-        mockMvc.perform(get("/api/games/" + gameId + "/players/Alice/cards"))
+        MvcResult result = mockMvc.perform(get("/api/games/" + gameId + "/players/Alice/cards"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        mockMvc.perform(asyncDispatch(result))
                 .andExpect(status().isOk())
-                .andExpect(content().contentType(MediaType.APPLICATION_JSON));
+                .andExpect(content().contentType(MediaType.APPLICATION_JSON))
+                .andExpect(jsonPath("$.length()").value(2))
+                .andExpect(jsonPath("$[1].faceValue").value("KING"));
+    }
+
+    @SuppressWarnings("null")
+    @Test
+    void testGetShoe() throws Exception {
+        byte[] ordinals = {(byte) Card.of(Suit.CLUBS, FaceValue.TWO).ordinal()};
+        when(gameService.getShoeOrdinals(gameId)).thenReturn(ordinals);
+        MvcResult result = mockMvc.perform(get("/api/games/" + gameId + "/shoe"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(1))
+                .andExpect(jsonPath("$[0].suit").value("CLUBS"));
+    }
+
+    @SuppressWarnings("null")
+    @Test
+    void testGetShoeCompactAndBinary() throws Exception {
+        byte[] ordinals = {(byte) Card.of(Suit.HEARTS, FaceValue.KING).ordinal(), (byte) Card.of(Suit.CLUBS, FaceValue.TEN).ordinal()};
+        when(gameService.getShoeOrdinals(gameId)).thenReturn(ordinals);
+
+        MvcResult compact = mockMvc.perform(get("/api/games/" + gameId + "/shoe").accept(MediaType.TEXT_PLAIN))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        mockMvc.perform(asyncDispatch(compact))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith(MediaType.TEXT_PLAIN))
+                .andExpect(content().string("KH TC"));
+
+        MvcResult binary = mockMvc.perform(get("/api/games/" + gameId + "/shoe")
+                        .header("Accept", "application/json;q=0.5, application/octet-stream"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        mockMvc.perform(asyncDispatch(binary))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_OCTET_STREAM))
+                .andExpect(content().bytes(ordinals));
     }
 
     @Test
     void testShuffleGameDeck() throws Exception {
-        doNothing().when(gameService).shuffleGameDeck(anyString());
+        doNothing().when(gameService).shuffleGameDeck(anyString(), anyLong());
         
         mockMvc.perform(post("/api/games/" + gameId + "/shuffle"))
                 .andExpect(status().isOk());
@@ -172,7 +356,7 @@ class GameControllerTest {
 
     @Test
     void testResetGame() throws Exception {
-        doNothing().when(gameService).resetGame(anyString());
+        doNothing().when(gameService).resetGame(anyString(), anyLong());
 
         mockMvc.perform(post("/api/games/" + gameId + "/reset"))
                 .andExpect(status().isOk());
@@ -181,11 +365,93 @@ class GameControllerTest {
     @SuppressWarnings("null")
     @Test
     void testGetPlayers() throws Exception {
-        when(gameService.getPlayersSorted(anyString())).thenReturn(new ArrayList<>());
+        when(gameService.<PlayerDto>getPlayersSorted(anyString(), anyInt(), anyInt(), any())).thenReturn(new ArrayList<>());
         
         mockMvc.perform(get("/api/games/" + gameId + "/players"))
                 .andExpect(status().isOk())
                 .andExpect(content().contentType(MediaType.APPLICATION_JSON));
+        verify(gameService).getPlayersSorted(eq(gameId), eq(0), eq(Integer.MAX_VALUE), any());
+    }
+
+    @SuppressWarnings("null")
+    @Test
+    void testGetTopPlayers() throws Exception {
+        when(gameService.<PlayerDto>getPlayersSorted(anyString(), eq(0), eq(3), any())).thenReturn(new ArrayList<>());
+
+        mockMvc.perform(get("/api/games/" + gameId + "/players").param("top", "3"))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_JSON));
+        verify(gameService).getPlayersSorted(eq(gameId), eq(0), eq(3), any());
+    }
+
+    @SuppressWarnings("null")
+    @Test
+    void testGetPlayersRange() throws Exception {
+        when(gameService.<PlayerDto>getPlayersSorted(anyString(), anyInt(), anyInt(), any())).thenReturn(new ArrayList<>());
+
+        mockMvc.perform(get("/api/games/" + gameId + "/players").param("offset", "10").param("limit", "5"))
+                .andExpect(status().isOk());
+        verify(gameService).getPlayersSorted(eq(gameId), eq(10), eq(5), any());
+    }
+
+    @SuppressWarnings("null")
+    @Test
+    void testGetPlayersUnknownFieldIsBadRequest() throws Exception {
+        mockMvc.perform(get("/api/games/" + gameId + "/players").param("fields", "name,secret"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @SuppressWarnings("null")
+    @Test
+    void testGetGameWithFields() throws Exception {
+        Game game = new Game(gameId, "Test Game");
+        game.addPlayer(new Player("Alice"));
+        when(gameService.<GameDto>getGame(eq(gameId), any()))
+                .thenAnswer(invocation -> invocation.<Function<Game, GameDto>>getArgument(1).apply(game));
+
+        mockMvc.perform(get("/api/games/" + gameId).param("fields", "shoeSize,players.name"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.shoeSize").value(0))
+                .andExpect(jsonPath("$.players.Alice.name").value("Alice"))
+                .andExpect(jsonPath("$.players.Alice.hand").doesNotExist())
+                .andExpect(jsonPath("$.id").doesNotExist())
+                .andExpect(jsonPath("$.shoe").doesNotExist());
+        verify(gameService, never()).getGameWithShoe(anyString(), any());
+    }
+
+    @SuppressWarnings("null")
+    @Test
+    void testGetGameWithShoe() throws Exception {
+        Game game = new Game(gameId, "Test Game");
+        game.addDeck(new Deck("deck-1"));
+        game.addPlayer(new Player("Alice"));
+        Card top = game.getShoe().get(0);
+        game.dealCards("Alice", 1);
+        when(gameService.<GameDto>getGameWithShoe(eq(gameId), any()))
+                .thenAnswer(invocation -> invocation.<Function<Game, GameDto>>getArgument(1).apply(game));
+
+        mockMvc.perform(get("/api/games/" + gameId))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.id").value(gameId))
+                .andExpect(jsonPath("$.shoe.length()").value(51))
+                .andExpect(jsonPath("$.shoe[0].suit").isString())
+                .andExpect(jsonPath("$.shoe[0].displayName").isString())
+                .andExpect(jsonPath("$.players.Alice.hand.length()").value(1))
+                .andExpect(jsonPath("$.players.Alice.hand[0].suit").value(top.getSuit().name()))
+                .andExpect(jsonPath("$.players.Alice.hand[0].faceValue").value(top.getFaceValue().name()))
+                .andExpect(jsonPath("$.players.Alice.hand[0].value").value(top.getValue()))
+                .andExpect(jsonPath("$.players.Alice.hand[0].displayName").value(top.toString()));
+    }
+
+    @SuppressWarnings("null")
+    @Test
+    void testGetPlayerRank() throws Exception {
+        when(gameService.getPlayerRank(anyString(), anyString())).thenReturn(2);
+
+        mockMvc.perform(get("/api/games/" + gameId + "/players").param("rank-of", "Alice"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.playerName").value("Alice"))
+                .andExpect(jsonPath("$.rank").value(2));
     }
 
     @SuppressWarnings("null")
@@ -207,4 +473,196 @@ class GameControllerTest {
                 .andExpect(content().contentType(MediaType.APPLICATION_JSON));
     }
 
+    @Test
+    void testFollowGameStreamsChangesAsServerSentEvents() throws Exception {
+        GameFeed gameFeed = new GameFeed(1, 0, 16);
+        when(gameService.subscribe(eq(gameId), any()))
+                .thenAnswer(invocation -> gameFeed.subscribe(gameId, invocation.getArgument(1)));
+        when(gameService.getFeedWriters()).thenReturn(gameFeed.getWriters());
+
+        MvcResult result = mockMvc.perform(get("/api/games/" + gameId + "/feed").accept(MediaType.TEXT_EVENT_STREAM))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        gameFeed.publish(gameId, GameEvent.dealt(3, "Alice", List.of(Card.of(Suit.HEARTS, FaceValue.KING))));
+
+        String expected = "data:[{\"type\":\"DEALT\",\"version\":3,\"player\":\"Alice\",\"cards\":[\"KH\"]}]";
+        long deadline = System.currentTimeMillis() + 5000;
+        while (!result.getResponse().getContentAsString().contains(expected) && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+        String content = result.getResponse().getContentAsString();
+        assertTrue(content.contains("event:changes"), content);
+        assertTrue(content.contains("id:3"), content);
+        assertTrue(content.contains(expected), content);
+
+        gameFeed.close(gameId);
+        assertEquals(0, gameFeed.getSubscriberCount(gameId));
+        gameFeed.shutdown();
+    }
+
+    @Test
+    void testExecuteCommands() throws Exception {
+        when(gameService.executeCommands(eq(gameId), any(), eq(4L), any())).thenReturn(List.of(
+                new CommandResultDto("ADD_PLAYER", null, null),
+                new CommandResultDto("DEAL", List.of(new CardDto(Card.of(Suit.HEARTS, FaceValue.KING))), null)));
+
+        GameCommandsRequest request = new GameCommandsRequest(List.of(
+                new GameCommandRequest("ADD_PLAYER", "Alice", null, null),
+                new GameCommandRequest("deal", "Alice", 1, null)));
+        mockMvc.perform(post("/api/games/" + gameId + "/commands")
+                        .header("If-Match", "\"4\"")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.results.length()").value(2))
+                .andExpect(jsonPath("$.results[0].type").value("ADD_PLAYER"))
+                .andExpect(jsonPath("$.results[0].cards").doesNotExist())
+                .andExpect(jsonPath("$.results[1].cards[0].faceValue").value("KING"));
+    }
+
+    @Test
+    void testExecuteCommandsReportsFailedCommand() throws Exception {
+        when(gameService.executeCommands(eq(gameId), any(), eq(Game.ANY_VERSION), any())).thenThrow(
+                new CommandFailedException(1, new IllegalStateException("Not enough cards in shoe")));
+
+        GameCommandsRequest request = new GameCommandsRequest(List.of(
+                new GameCommandRequest("SHUFFLE", null, null, null),
+                new GameCommandRequest("DEAL", "Alice", 60, null)));
+        mockMvc.perform(post("/api/games/" + gameId + "/commands")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isConflict())
+                .andExpect(jsonPath("$.failedCommand").value(1))
+                .andExpect(jsonPath("$.results").doesNotExist())
+                .andExpect(jsonPath("$.message").value("Command 1 failed: Not enough cards in shoe"));
+    }
+
+    @Test
+    void testExecuteCommandsRejectsInvalidCommand() throws Exception {
+        GameCommandsRequest request = new GameCommandsRequest(List.of(
+                new GameCommandRequest("RESET", null, null, null),
+                new GameCommandRequest("JUMP", null, null, null)));
+        mockMvc.perform(post("/api/games/" + gameId + "/commands")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.failedCommand").value(1))
+                .andExpect(jsonPath("$.message").value("Command 1 failed: Unknown command type: JUMP"));
+        verify(gameService, never()).executeCommands(any(), any(), anyLong(), any());
+    }
+
+    @Test
+    void testToCommand() {
+        assertEquals(GameCommand.Type.DEAL, GameController.toCommand(new GameCommandRequest(" deal ", "Alice", 2, null)).getType());
+        assertEquals(List.of("d1"), GameController.toCommand(new GameCommandRequest("ADD_DECKS", null, null, List.of("d1"))).getDeckIds());
+        assertEquals(3, GameController.toCommand(new GameCommandRequest("ADD_DECKS", null, 3, null)).getCount());
+        assertThrows(IllegalArgumentException.class, () -> GameController.toCommand(new GameCommandRequest("DEAL", "Alice", null, null)));
+        assertThrows(IllegalArgumentException.class, () -> GameController.toCommand(new GameCommandRequest("ADD_PLAYER", " ", null, null)));
+        assertThrows(IllegalArgumentException.class, () -> GameController.toCommand(new GameCommandRequest("ADD_DECKS", null, null, Arrays.asList("d1", null))));
+    }
+
+    @Test
+    void testShuffleWithIfMatch() throws Exception {
+        mockMvc.perform(post("/api/games/" + gameId + "/shuffle").header("If-Match", "\"7\""))
+                .andExpect(status().isOk());
+        verify(gameService).shuffleGameDeck(gameId, 7L);
+    }
+
+    @Test
+    void testResetWithStaleIfMatch() throws Exception {
+        doThrow(new StaleVersionException(7, 9)).when(gameService).resetGame(gameId, 7L);
+        mockMvc.perform(post("/api/games/" + gameId + "/reset").header("If-Match", "\"7-binary\""))
+                .andExpect(status().isPreconditionFailed())
+                .andExpect(header().string("ETag", "\"9\""));
+    }
+
+    @Test
+    void testInvalidIfMatchIsBadRequest() throws Exception {
+        mockMvc.perform(post("/api/games/" + gameId + "/shuffle").header("If-Match", "\"7\", \"8\""))
+                .andExpect(status().isBadRequest());
+        mockMvc.perform(post("/api/games/" + gameId + "/shuffle").header("If-Match", "W/\"7\""))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void testExpectedVersion() {
+        assertEquals(Game.ANY_VERSION, GameController.expectedVersion(null));
+        assertEquals(Game.ANY_VERSION, GameController.expectedVersion("*"));
+        assertEquals(12L, GameController.expectedVersion("\"12\""));
+        assertEquals(12L, GameController.expectedVersion("\"12-compact\""));
+    }
+
+    @SuppressWarnings("null")
+    @Test
+    void testGetUndealtCardsBySuitSetsETag() throws Exception {
+        when(gameService.getGameVersion(gameId)).thenReturn(7L);
+        when(gameService.getUndealtCardsBySuit(anyString())).thenReturn(new HashMap<>());
+        mockMvc.perform(get("/api/games/" + gameId + "/undealt/suits"))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", "\"7\""));
+    }
+
+    @SuppressWarnings("null")
+    @Test
+    void testConditionalGetNotModified() throws Exception {
+        when(gameService.getGameVersion(gameId)).thenReturn(7L);
+        mockMvc.perform(get("/api/games/" + gameId + "/players").header("If-None-Match", "\"7\""))
+                .andExpect(status().isNotModified());
+        mockMvc.perform(get("/api/games/" + gameId + "/shoe").accept(MediaType.APPLICATION_OCTET_STREAM)
+                        .header("If-None-Match", "\"7-binary\""))
+                .andExpect(status().isNotModified());
+        verify(gameService, never()).getPlayersSorted(anyString(), anyInt(), anyInt(), any());
+        verify(gameService, never()).getShoeOrdinals(anyString());
+    }
+
+    @SuppressWarnings("null")
+    @Test
+    void testConditionalGetKeyedOnNegotiatedFormat() throws Exception {
+        when(gameService.getGameVersion(gameId)).thenReturn(7L);
+        mockMvc.perform(get("/api/games/" + gameId + "/players").accept(MediaType.APPLICATION_CBOR)
+                        .header("If-None-Match", "\"7\""))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", "\"7-cbor\""))
+                .andExpect(header().string("Vary", "Accept"));
+        mockMvc.perform(get("/api/games/" + gameId + "/players").accept(MediaType.APPLICATION_CBOR)
+                        .header("If-None-Match", "\"7-cbor\""))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string("Vary", "Accept"));
+        mockMvc.perform(get("/api/games/" + gameId).header("If-None-Match", "\"7-cbor\""))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", "\"7\""));
+    }
+
+    @SuppressWarnings("null")
+    @Test
+    void testConditionalGetChanged() throws Exception {
+        when(gameService.getGameVersion(gameId)).thenReturn(8L);
+        when(gameService.getAddedDeckIds(gameId)).thenReturn(Set.of("deck-1"));
+        mockMvc.perform(get("/api/games/" + gameId + "/decks").header("If-None-Match", "\"7\""))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", "\"8\""))
+                .andExpect(jsonPath("$[0]").value("deck-1"));
+    }
+
+    @SuppressWarnings("null")
+    @Test
+    void testGetUndealtCardsCountBinary() throws Exception {
+        Map<Suit, Map<FaceValue, Integer>> counts = new EnumMap<>(Suit.class);
+        for (Suit suit : Suit.values()) {
+            Map<FaceValue, Integer> faceValueCounts = new EnumMap<>(FaceValue.class);
+            for (FaceValue faceValue : FaceValue.values()) {
+                faceValueCounts.put(faceValue, 2);
+            }
+            counts.put(suit, faceValueCounts);
+        }
+        when(gameService.getUndealtCardsCount(anyString())).thenReturn(counts);
+        mockMvc.perform(get("/api/games/" + gameId + "/undealt/cards").accept(MediaType.APPLICATION_OCTET_STREAM))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_OCTET_STREAM))
+                .andExpect(result -> assertEquals(Card.DISTINCT_CARDS * 4, result.getResponse().getContentAsByteArray().length));
+        mockMvc.perform(get("/api/games/" + gameId + "/undealt/cards").accept(MediaType.TEXT_PLAIN))
+                .andExpect(status().isOk())
+                .andExpect(content().string(startsWith("AH:2 2H:2 ")));
+    }
+
 }
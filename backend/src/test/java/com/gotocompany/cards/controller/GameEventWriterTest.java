@@ -0,0 +1,78 @@
+package com.gotocompany.cards.controller;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.gotocompany.cards.model.Card;
+import com.gotocompany.cards.model.enums.FaceValue;
+import com.gotocompany.cards.model.enums.Suit;
+import com.gotocompany.cards.service.GameEvent;
+import com.gotocompany.cards.service.GameFeed;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class GameEventWriterTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final GameEventWriter writer = new GameEventWriter(objectMapper);
+
+    @Test
+    void testWritesEventsWithOnlyTheirFields() throws Exception {
+        List<GameEvent> events = List.of(
+                GameEvent.dealt(3, "Alice", List.of(Card.of(Suit.HEARTS, FaceValue.KING), Card.of(Suit.CLUBS, FaceValue.TEN))),
+                GameEvent.playerRemoved(4, "Bob"),
+                GameEvent.reset(5, 104));
+
+        JsonNode json = objectMapper.readTree(writer.write(events));
+
+        assertEquals(3, json.size());
+        assertEquals("{\"type\":\"DEALT\",\"version\":3,\"player\":\"Alice\",\"cards\":[\"KH\",\"TC\"]}", json.get(0).toString());
+        assertEquals("{\"type\":\"PLAYER_REMOVED\",\"version\":4,\"player\":\"Bob\"}", json.get(1).toString());
+        assertEquals("{\"type\":\"RESET\",\"version\":5,\"shoeSize\":104}", json.get(2).toString());
+        assertEquals("[]", writer.write(List.of()));
+    }
+
+    @Test
+    void testWritesFirstVersionOfCombinedDeals() throws Exception {
+        GameFeed gameFeed = new GameFeed(1, 200, 16);
+        BlockingQueue<List<GameEvent>> batches = new LinkedBlockingQueue<>();
+        gameFeed.subscribe("game-1", new GameFeed.Sink() {
+            @Override
+            public void send(List<GameEvent> events) {
+                batches.add(events);
+            }
+
+            @Override
+            public void close() {
+            }
+        });
+        gameFeed.publish("game-1", GameEvent.dealt(1, "Alice", List.of(Card.of(Suit.HEARTS, FaceValue.ACE))));
+        gameFeed.publish("game-1", GameEvent.dealt(2, "Alice", List.of(Card.of(Suit.SPADES, FaceValue.TWO))));
+        List<GameEvent> batch = batches.poll(5, TimeUnit.SECONDS);
+        gameFeed.shutdown();
+
+        assertNotNull(batch);
+        JsonNode json = objectMapper.readTree(writer.write(batch));
+
+        assertEquals(1, json.get(0).get("firstVersion").asLong());
+        assertEquals(2, json.get(0).get("version").asLong());
+        assertEquals(2, json.get(0).get("cards").size());
+    }
+
+    @Test
+    void testEncodesEachEventOnce() {
+        GameEvent event = GameEvent.shuffled(1, 52);
+
+        String first = writer.write(List.of(event));
+        String second = new GameEventWriter(objectMapper).write(List.of(event, event));
+
+        assertEquals("[{\"type\":\"SHUFFLED\",\"version\":1,\"shoeSize\":52}]", first);
+        assertSame(event.encode(e -> "unused"), event.encode(e -> "unused"));
+        assertEquals("[" + event.encode(e -> "unused") + "," + event.encode(e -> "unused") + "]", second);
+    }
+}
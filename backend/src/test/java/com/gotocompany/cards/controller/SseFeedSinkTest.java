@@ -0,0 +1,111 @@
+package com.gotocompany.cards.controller;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.gotocompany.cards.service.GameEvent;
+import com.gotocompany.cards.service.GameFeed;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SseFeedSinkTest {
+
+    private final GameEventWriter eventWriter = new GameEventWriter(new ObjectMapper());
+    private final ExecutorService writers = Executors.newCachedThreadPool();
+
+    @AfterEach
+    void tearDown() {
+        writers.shutdownNow();
+    }
+
+    /**
+     * Records the threads and order of its writes, which block until released.
+     */
+    private static class BlockingEmitter extends SseEmitter {
+        final BlockingQueue<String> writes = new LinkedBlockingQueue<>();
+        final CountDownLatch released = new CountDownLatch(1);
+
+        @Override
+        public void send(SseEventBuilder builder) throws IOException {
+            try {
+                released.await();
+            } catch (InterruptedException e) {
+                throw new IOException(e);
+            }
+            StringBuilder write = new StringBuilder(Thread.currentThread().getName()).append(':');
+            builder.build().forEach(part -> write.append(part.getData()));
+            writes.add(write.toString());
+        }
+    }
+
+    @Test
+    void testSendsWithoutBlockingAndWritesBufferedBatchesInOrder() throws Exception {
+        BlockingEmitter emitter = new BlockingEmitter();
+        SseFeedSink sink = new SseFeedSink(emitter, eventWriter, writers, 10_000, 1024);
+
+        sink.send(List.of(GameEvent.playerAdded(1, "Alice")));
+        sink.send(List.of(GameEvent.playerAdded(2, "Bob")));
+        sink.send(List.of(GameEvent.shuffled(3, 52)));
+        emitter.released.countDown();
+
+        for (String expected : List.of("id:1", "id:2", "id:3")) {
+            String write = emitter.writes.poll(5, TimeUnit.SECONDS);
+            assertNotNull(write, "No write for " + expected);
+            assertTrue(write.contains(expected), write);
+            assertFalse(write.startsWith(Thread.currentThread().getName() + ":"), write);
+        }
+    }
+
+    @Test
+    void testStalledWriteFailsLaterSends() throws Exception {
+        BlockingEmitter emitter = new BlockingEmitter();
+        SseFeedSink sink = new SseFeedSink(emitter, eventWriter, writers, 50, 1024);
+
+        sink.send(List.of(GameEvent.playerAdded(1, "Alice")));
+        sink.send(List.of(GameEvent.playerAdded(2, "Bob")));
+        Thread.sleep(100);
+
+        assertThrows(IOException.class, () -> sink.send(List.of(GameEvent.shuffled(3, 52))));
+        emitter.released.countDown();
+    }
+
+    @Test
+    void testSendFailsWhenNoWriterIsAvailable() throws Exception {
+        GameFeed gameFeed = new GameFeed(1, 0, 16, 1, 1);
+        Executor bounded = gameFeed.getWriters();
+        BlockingEmitter emitter = new BlockingEmitter();
+        try {
+            new SseFeedSink(emitter, eventWriter, bounded, 10_000, 1024).send(List.of(GameEvent.playerAdded(1, "Alice")));
+            new SseFeedSink(emitter, eventWriter, bounded, 10_000, 1024).send(List.of(GameEvent.playerAdded(1, "Alice")));
+
+            SseFeedSink third = new SseFeedSink(emitter, eventWriter, bounded, 10_000, 1024);
+            assertThrows(IOException.class, () -> third.send(List.of(GameEvent.playerAdded(1, "Alice"))));
+        } finally {
+            emitter.released.countDown();
+            gameFeed.shutdown();
+        }
+    }
+
+    @Test
+    void testBufferOverflowFailsSend() throws Exception {
+        BlockingEmitter emitter = new BlockingEmitter();
+        SseFeedSink sink = new SseFeedSink(emitter, eventWriter, writers, 10_000, 64);
+
+        sink.send(List.of(GameEvent.playerAdded(1, "Alice")));
+        sink.send(List.of(GameEvent.playerAdded(2, "Bob")));
+
+        assertThrows(IOException.class, () -> sink.send(List.of(GameEvent.playerAdded(3, "Carol"))));
+        emitter.released.countDown();
+    }
+}
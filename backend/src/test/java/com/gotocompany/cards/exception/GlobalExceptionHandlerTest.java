@@ -41,6 +41,29 @@ public class GlobalExceptionHandlerTest {
         assertEquals("Test exception", response.getBody().getMessage());
     }
 
+    @SuppressWarnings("null")
+    @Test
+    void testHandleCommandFailedExceptionUsesStatusOfCause() {
+        GlobalExceptionHandler handler = new GlobalExceptionHandler();
+        WebRequest request = new ServletWebRequest(new MockHttpServletRequest());
+
+        ResponseEntity<CommandErrorResponse> response = handler.handleCommandFailedException(
+                new CommandFailedException(2, new IllegalStateException("Not enough cards")), request);
+        assertEquals(HttpStatus.CONFLICT, response.getStatusCode());
+        assertEquals("Command 2 failed: Not enough cards", response.getBody().getMessage());
+        assertEquals(2, response.getBody().getFailedCommand());
+
+        response = handler.handleCommandFailedException(
+                new CommandFailedException(0, new IllegalArgumentException("Unknown command type: JUMP")), request);
+        assertEquals(HttpStatus.BAD_REQUEST, response.getStatusCode());
+        assertEquals("Bad Request", response.getBody().getError());
+
+        response = handler.handleCommandFailedException(
+                new CommandFailedException(0, new StaleVersionException(3, 5)), request);
+        assertEquals(HttpStatus.PRECONDITION_FAILED, response.getStatusCode());
+        assertEquals("\"5\"", response.getHeaders().getETag());
+    }
+
     @SuppressWarnings("null")
     @Test
     void testHandleGenericException() {
@@ -30,5 +30,24 @@ class CardTest {
     void testConstructorWithBothNullThrows() {
         assertThrows(IllegalArgumentException.class, () -> new Card(null, null));
     }
-}
 
+    @Test
+    void testOfReturnsCanonicalInstance() {
+        Card card = Card.of(Suit.SPADES, FaceValue.QUEEN);
+        assertSame(card, Card.of(Suit.SPADES, FaceValue.QUEEN));
+        assertEquals(new Card(Suit.SPADES, FaceValue.QUEEN), card);
+        assertSame(card, Card.fromOrdinal(card.ordinal()));
+    }
+
+    @Test
+    void testOfWithNullThrows() {
+        assertThrows(IllegalArgumentException.class, () -> Card.of(null, FaceValue.ACE));
+        assertThrows(IllegalArgumentException.class, () -> Card.of(Suit.HEARTS, null));
+    }
+
+    @Test
+    void testFromOrdinalOutOfRangeThrows() {
+        assertThrows(IllegalArgumentException.class, () -> Card.fromOrdinal(-1));
+        assertThrows(IllegalArgumentException.class, () -> Card.fromOrdinal(Card.DISTINCT_CARDS));
+    }
+}
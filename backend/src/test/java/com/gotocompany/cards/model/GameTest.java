@@ -1,7 +1,18 @@
 package com.gotocompany.cards.model;
 
+import com.gotocompany.cards.exception.StaleVersionException;
+import com.gotocompany.cards.model.enums.FaceValue;
+import com.gotocompany.cards.model.enums.Suit;
 import org.junit.jupiter.api.Test;
 
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+
 import static org.junit.jupiter.api.Assertions.*;
 
 class GameTest {
@@ -59,6 +70,29 @@ class GameTest {
         assertThrows(IllegalStateException.class, () -> game.addDeck(deck));
     }
 
+    @Test
+    void testAddDecksAddsAllCardsInOrder() {
+        Game game = new Game("game-1", "Test Game");
+        game.addDeck(new Deck("1"));
+        game.addDecks(List.of(new Deck("2"), new Deck("3")));
+
+        assertEquals(156, game.getShoeSize());
+        assertEquals(Set.of("1", "2", "3"), game.getAddedDeckIds());
+        assertEquals(3, game.getUndealtCount(Suit.HEARTS, FaceValue.ACE));
+        assertEquals(new Deck("x").getCards(), game.getShoe().subList(104, 156));
+    }
+
+    @Test
+    void testAddDecksWithDuplicateAddsNothing() {
+        Game game = new Game("game-1", "Test Game");
+        game.addDeck(new Deck("1"));
+
+        assertThrows(IllegalStateException.class, () -> game.addDecks(List.of(new Deck("2"), new Deck("1"))));
+        assertThrows(IllegalStateException.class, () -> game.addDecks(List.of(new Deck("2"), new Deck("2"))));
+        assertEquals(52, game.getShoeSize());
+        assertEquals(Set.of("1"), game.getAddedDeckIds());
+    }
+
     @Test
     void testAddPlayerNullThrows() {
         Game game = new Game("game-1", "Test Game");
@@ -71,5 +105,507 @@ class GameTest {
         Game game = new Game("game-1", "Test Game");
         assertThrows(IllegalArgumentException.class, () -> game.removePlayer(null));
     }
-}
 
+    @Test
+    void testDealCardsTakesFromTopOfShoe() {
+        Game game = new Game("game-1", "Test Game");
+        game.addDeck(new Deck("1"));
+        game.addPlayer(new Player("Alice"));
+        List<Card> expected = game.getShoe().subList(0, 3);
+
+        List<Card> dealt = game.dealCards("Alice", 3);
+
+        assertEquals(expected, dealt);
+        assertEquals(49, game.getShoeSize());
+        assertEquals(expected, game.getPlayer("Alice").getHand());
+    }
+
+    @Test
+    void testDealRoundDealsOneCardAtATimeAroundTheTable() {
+        Game game = new Game("game-1", "Test Game");
+        game.addDeck(new Deck("1"));
+        game.addPlayer(new Player("Alice"));
+        game.addPlayer(new Player("Bob"));
+        game.addPlayer(new Player("Carol"));
+        List<Card> top = game.getShoe().subList(0, 6);
+
+        Map<String, List<Card>> hands = game.dealRound(2, List.of("Carol", "Alice", "Bob"));
+
+        assertEquals(List.of("Carol", "Alice", "Bob"), new ArrayList<>(hands.keySet()));
+        assertEquals(List.of(top.get(0), top.get(3)), hands.get("Carol"));
+        assertEquals(List.of(top.get(1), top.get(4)), hands.get("Alice"));
+        assertEquals(List.of(top.get(2), top.get(5)), hands.get("Bob"));
+        assertEquals(hands.get("Alice"), game.getPlayer("Alice").getHand());
+        assertEquals(46, game.getShoeSize());
+        assertEquals(game.getPlayer("Alice").getHandValue(),
+                hands.get("Alice").stream().mapToInt(Card::getValue).sum());
+    }
+
+    @Test
+    void testDealRoundDrawsThroughPendingLazyShuffle() {
+        Game game = new Game("game-1", "Test Game");
+        game.setLazyShuffle(true);
+        game.addDeck(new Deck("1"));
+        game.addPlayer(new Player("Alice"));
+        game.addPlayer(new Player("Bob"));
+
+        game.shuffle();
+        List<Card> order = game.getShoe();
+        Map<String, List<Card>> hands = game.dealRound(3, List.of("Alice", "Bob"));
+
+        assertEquals(List.of(order.get(0), order.get(2), order.get(4)), hands.get("Alice"));
+        assertEquals(List.of(order.get(1), order.get(3), order.get(5)), hands.get("Bob"));
+        assertEquals(order.subList(6, 52), game.getShoe());
+    }
+
+    @Test
+    void testDealRoundRejectsInvalidRoundsWithoutDealing() {
+        Game game = new Game("game-1", "Test Game");
+        game.addDeck(new Deck("1"));
+        game.addPlayer(new Player("Alice"));
+        game.addPlayer(new Player("Bob"));
+
+        assertThrows(IllegalArgumentException.class, () -> game.dealRound(0, List.of("Alice")));
+        assertThrows(IllegalArgumentException.class, () -> game.dealRound(1, List.of()));
+        assertThrows(IllegalArgumentException.class, () -> game.dealRound(1, List.of("Alice", "Carol")));
+        assertThrows(IllegalArgumentException.class, () -> game.dealRound(1, List.of("Alice", "Alice")));
+        assertThrows(IllegalStateException.class, () -> game.dealRound(27, List.of("Alice", "Bob")));
+        assertThrows(IllegalStateException.class, () -> game.dealRound(Integer.MAX_VALUE, List.of("Alice", "Carol")));
+
+        assertEquals(52, game.getShoeSize());
+        assertEquals(0, game.getPlayer("Alice").getHandSize());
+        assertEquals(2, game.dealRound(26, List.of("Alice", "Bob")).size());
+        assertEquals(0, game.getShoeSize());
+    }
+
+    @Test
+    void testRemovePlayerReturnsCardsToBottomOfShoe() {
+        Game game = new Game("game-1", "Test Game");
+        game.addDeck(new Deck("1"));
+        game.addPlayer(new Player("Alice"));
+        List<Card> dealt = game.dealCards("Alice", 2);
+
+        game.removePlayer("Alice");
+
+        List<Card> shoe = game.getShoe();
+        assertEquals(52, shoe.size());
+        assertEquals(dealt, shoe.subList(50, 52));
+    }
+
+    @Test
+    void testLazyShuffleDealsFromShuffledOrder() {
+        Game game = new Game("game-1", "Test Game");
+        game.setLazyShuffle(true);
+        game.addDeck(new Deck("1"));
+        game.addPlayer(new Player("Alice"));
+
+        game.shuffle();
+        List<Card> order = game.getShoe();
+        List<Card> dealt = game.dealCards("Alice", 5);
+
+        assertTrue(game.isLazyShuffle());
+        assertEquals(order.subList(0, 5), dealt);
+        assertEquals(order.subList(5, 52), game.getShoe());
+        assertEquals(52, new HashSet<>(order).size());
+    }
+
+    @Test
+    void testShuffleWithPermutation() {
+        Game game = new Game("game-1", "Test Game");
+        game.addDeck(new Deck("1"));
+        List<Card> before = game.getShoe();
+        int[] permutation = new int[52];
+        for (int i = 0; i < permutation.length; i++) {
+            permutation[i] = 51 - i;
+        }
+
+        game.shuffle(permutation);
+
+        List<Card> after = game.getShoe();
+        for (int i = 0; i < 52; i++) {
+            assertEquals(before.get(51 - i), after.get(i));
+        }
+        assertThrows(IllegalArgumentException.class, () -> game.shuffle(new int[51]));
+        assertThrows(IllegalStateException.class, () -> new Game("game-2", "Empty").shuffle(new int[0]));
+    }
+
+    @Test
+    void testResetReturnsAllCardsAcrossMultipleDecks() {
+        Game game = new Game("game-1", "Test Game");
+        for (int i = 0; i < 8; i++) {
+            game.addDeck(new Deck(String.valueOf(i)));
+        }
+        game.addPlayer(new Player("Alice"));
+        game.addPlayer(new Player("Bob"));
+        game.shuffle();
+        game.dealCards("Alice", 100);
+        game.dealCards("Bob", 200);
+
+        game.reset();
+
+        assertEquals(416, game.getShoeSize());
+        assertEquals(0, game.getPlayer("Alice").getHandSize());
+        assertEquals(0, game.getPlayer("Bob").getHandSize());
+    }
+
+    @Test
+    void testUndealtCountsTrackDealRemoveAndReset() {
+        Game game = new Game("game-1", "Test Game");
+        game.addDeck(new Deck("1"));
+        game.addDeck(new Deck("2"));
+        game.addPlayer(new Player("Alice"));
+        game.addPlayer(new Player("Bob"));
+        assertEquals(2, game.getUndealtCount(Suit.HEARTS, FaceValue.ACE));
+        assertEquals(26, game.getUndealtCount(Suit.HEARTS));
+
+        game.dealCards("Alice", 3); // Ace, 2 and 3 of Hearts from the first deck
+        game.dealCards("Bob", 1);
+        assertEquals(1, game.getUndealtCount(Suit.HEARTS, FaceValue.ACE));
+        assertEquals(1, game.getUndealtCount(Suit.HEARTS, FaceValue.FOUR));
+        assertEquals(22, game.getUndealtCount(Suit.HEARTS));
+        assertEquals(26, game.getUndealtCount(Suit.SPADES));
+
+        game.removePlayer("Bob");
+        assertEquals(2, game.getUndealtCount(Suit.HEARTS, FaceValue.FOUR));
+
+        game.reset();
+        for (Suit suit : Suit.values()) {
+            assertEquals(26, game.getUndealtCount(suit));
+        }
+    }
+
+    @Test
+    void testPlayersByRankFollowDealsAndReset() {
+        Game game = new Game("game-1", "Test Game");
+        game.addDeck(new Deck("1"));
+        game.addPlayer(new Player("Alice"));
+        game.addPlayer(new Player("Bob"));
+        game.addPlayer(new Player("Carol"));
+
+        game.dealCards("Alice", 1); // Ace of Hearts = 1
+        game.dealCards("Carol", 2); // 2 + 3 of Hearts = 5
+
+        assertEquals(List.of("Carol", "Alice", "Bob"), names(game.getPlayersByRank(0, 3)));
+        assertEquals(1, game.getPlayerRank("Alice"));
+        assertEquals(List.of("Carol"), names(game.getPlayersByRank(0, 1)));
+
+        game.reset();
+        assertEquals(List.of("Alice", "Bob", "Carol"), names(game.getPlayersByRank(0, 3)));
+
+        game.removePlayer("Alice");
+        assertEquals(2, game.getPlayerCount());
+        assertEquals(List.of("Bob", "Carol"), names(game.getPlayersByRank(0, 10)));
+    }
+
+    @Test
+    void testGetPlayerRankUnknownPlayerThrows() {
+        Game game = new Game("game-1", "Test Game");
+        assertThrows(IllegalArgumentException.class, () -> game.getPlayerRank("Alice"));
+        assertThrows(IllegalArgumentException.class, () -> game.getPlayersByRank(-1, 2));
+    }
+
+    @Test
+    void testReadViewsAreUnmodifiableAndLive() {
+        Game game = new Game("game-1", "Test Game");
+        List<Card> shoeView = game.getShoeView();
+        game.addDeck(new Deck("1"));
+        game.addPlayer(new Player("Alice"));
+
+        assertEquals(52, shoeView.size());
+        assertEquals(game.getShoe(), shoeView);
+        game.dealCards("Alice", 2);
+        assertEquals(50, shoeView.size());
+        assertEquals(game.getShoe().get(0), shoeView.get(0));
+
+        assertEquals(1, game.getAddedDeckCount());
+        assertThrows(UnsupportedOperationException.class, () -> game.getAddedDeckIds().add("2"));
+        assertThrows(UnsupportedOperationException.class, () -> game.getPlayers().clear());
+        assertThrows(UnsupportedOperationException.class, () -> game.getPlayersByName().remove("Alice"));
+        assertThrows(UnsupportedOperationException.class, () -> shoeView.remove(0));
+        assertThrows(IndexOutOfBoundsException.class, () -> shoeView.get(50));
+    }
+
+    @Test
+    void testConcurrentWritesKeepGameConsistent() throws InterruptedException {
+        Game game = new Game("game-1", "Test Game");
+        for (int i = 0; i < 8; i++) {
+            game.addDeck(new Deck(String.valueOf(i)));
+            game.addPlayer(new Player("Player " + i));
+        }
+
+        List<Thread> dealers = new ArrayList<>();
+        for (int i = 0; i < 8; i++) {
+            String playerName = "Player " + i;
+            dealers.add(new Thread(() -> {
+                for (int round = 0; round < 26; round++) {
+                    game.write(() -> game.dealCards(playerName, 2));
+                }
+            }));
+        }
+        dealers.forEach(Thread::start);
+        for (Thread dealer : dealers) {
+            dealer.join();
+        }
+
+        assertEquals(0, game.getShoeSize());
+        for (Suit suit : Suit.values()) {
+            assertEquals(0, game.getUndealtCount(suit));
+        }
+        for (Player player : game.getPlayers()) {
+            assertEquals(52, player.getHandSize());
+        }
+    }
+
+    @Test
+    void testReadRetriesUnderLockWhenWriteOverlaps() throws InterruptedException {
+        Game game = new Game("game-1", "Test Game");
+        game.addDeck(new Deck("1"));
+        game.addPlayer(new Player("Alice"));
+        AtomicInteger attempts = new AtomicInteger();
+
+        int shoeSize = game.read(() -> {
+            if (attempts.incrementAndGet() == 1) {
+                Thread writer = new Thread(() -> game.write(() -> game.dealCards("Alice", 2)));
+                writer.start();
+                try {
+                    writer.join();
+                } catch (InterruptedException e) {
+                    throw new IllegalStateException(e);
+                }
+                throw new IllegalStateException("Torn read");
+            }
+            return game.getShoeSize();
+        });
+
+        assertEquals(2, attempts.get());
+        assertEquals(50, shoeSize);
+    }
+
+    @Test
+    void testReadPropagatesExceptionWithoutOverlappingWrite() {
+        Game game = new Game("game-1", "Test Game");
+        assertThrows(IllegalArgumentException.class, () -> game.read(() -> game.getPlayerRank("Alice")));
+    }
+
+    @Test
+    void testDealConcurrentlyDealsFromTheTop() {
+        Game game = new Game("game-1", "Test Game");
+        game.addDeck(new Deck("1"));
+        game.addPlayer(new Player("Alice"));
+        game.addPlayer(new Player("Bob"));
+        List<Card> shoe = game.getShoe();
+
+        assertEquals(shoe.subList(0, 3), game.dealConcurrently("Alice", 3));
+        assertEquals(shoe.subList(3, 4), game.dealConcurrently("Bob", 1));
+        assertEquals(shoe.subList(0, 3), game.getPlayer("Alice").getHand());
+        assertEquals(48, game.getShoeSize());
+        assertEquals(List.of("Alice", "Bob"), names(game.getPlayersByRank(0, 2)));
+        assertEquals(0, game.getUndealtCount(shoe.get(0).getSuit(), shoe.get(0).getFaceValue()));
+    }
+
+    @Test
+    void testDealConcurrentlyReportsDealtVersion() {
+        Game game = new Game("game-1", "Test Game");
+        game.addDeck(new Deck("1"));
+        game.addPlayer(new Player("Alice"));
+        long before = game.getVersion();
+        List<Long> versions = new ArrayList<>();
+
+        List<Card> dealt = game.dealConcurrently("Alice", 2, (cards, version) -> {
+            assertEquals(2, cards.size());
+            versions.add(version);
+        });
+        game.setLazyShuffle(true);
+        game.write(() -> game.shuffle());
+        game.dealConcurrently("Alice", 1, (cards, version) -> versions.add(version)); // Draws exclusively
+
+        assertEquals(2, dealt.size());
+        assertEquals(List.of(before + 1, before + 3), versions);
+        assertEquals(before + 3, game.getVersion());
+        assertThrows(IllegalStateException.class,
+                () -> game.dealConcurrently("Alice", 50, (cards, version) -> fail("Failed deal reported")));
+    }
+
+    @Test
+    void testDealConcurrentlyRejectsInvalidDeals() {
+        Game game = new Game("game-1", "Test Game");
+        game.addDeck(new Deck("1"));
+        game.addPlayer(new Player("Alice"));
+
+        assertThrows(IllegalArgumentException.class, () -> game.dealConcurrently("Alice", 0));
+        assertThrows(IllegalArgumentException.class, () -> game.dealConcurrently("Bob", 1));
+        assertThrows(IllegalStateException.class, () -> game.dealConcurrently("Alice", 53));
+        assertEquals(52, game.getShoeSize());
+    }
+
+    @Test
+    void testDealConcurrentlyDrawsThroughPendingLazyShuffle() {
+        Game game = new Game("game-1", "Test Game");
+        game.setLazyShuffle(true);
+        game.addDeck(new Deck("1"));
+        game.addPlayer(new Player("Alice"));
+        game.shuffle();
+
+        List<Card> dealt = game.dealConcurrently("Alice", 52);
+        assertEquals(52, new HashSet<>(dealt).size());
+        assertEquals(0, game.getShoeSize());
+    }
+
+    @Test
+    void testConcurrentDealsKeepGameConsistent() throws InterruptedException {
+        Game game = new Game("game-1", "Test Game");
+        for (int i = 0; i < 8; i++) {
+            game.addDeck(new Deck(String.valueOf(i)));
+            game.addPlayer(new Player("Player " + i));
+        }
+
+        List<Thread> dealers = new ArrayList<>();
+        for (int i = 0; i < 16; i++) {
+            String playerName = "Player " + (i % 8); // Two dealers per player
+            dealers.add(new Thread(() -> {
+                for (int round = 0; round < 13; round++) {
+                    game.dealConcurrently(playerName, 2);
+                }
+            }));
+        }
+        dealers.forEach(Thread::start);
+        for (Thread dealer : dealers) {
+            dealer.join();
+        }
+
+        assertEquals(0, game.getShoeSize());
+        int totalValue = 0;
+        for (Player player : game.getPlayers()) {
+            assertEquals(52, player.getHandSize());
+            assertEquals(player.getHand().stream().mapToInt(Card::getValue).sum(), player.getHandValue());
+            totalValue += player.getHandValue();
+        }
+        assertEquals(8 * 4 * 91, totalValue);
+        List<Player> ranked = game.getPlayersByRank(0, 8);
+        assertEquals(8, ranked.size());
+        for (int i = 1; i < ranked.size(); i++) {
+            assertTrue(ranked.get(i - 1).getHandValue() >= ranked.get(i).getHandValue());
+        }
+    }
+
+    @Test
+    void testConcurrentDealsAreReportedInVersionOrder() throws InterruptedException {
+        Game game = new Game("game-1", "Test Game");
+        for (int i = 0; i < 4; i++) {
+            game.addDeck(new Deck(String.valueOf(i)));
+            game.addPlayer(new Player("Player " + i));
+        }
+        long before = game.getVersion();
+        List<Long> versions = new ArrayList<>();
+        Map<String, List<Card>> reported = new HashMap<>();
+
+        List<Thread> dealers = new ArrayList<>();
+        for (int i = 0; i < 8; i++) {
+            String playerName = "Player " + (i % 4);
+            dealers.add(new Thread(() -> {
+                for (int round = 0; round < 13; round++) {
+                    game.dealConcurrently(playerName, 1, (cards, version) -> {
+                        synchronized (versions) {
+                            versions.add(version);
+                            reported.computeIfAbsent(playerName, name -> new ArrayList<>()).addAll(cards);
+                        }
+                    });
+                }
+            }));
+        }
+        dealers.forEach(Thread::start);
+        for (Thread dealer : dealers) {
+            dealer.join();
+        }
+
+        assertEquals(104, versions.size());
+        for (int i = 0; i < versions.size(); i++) {
+            assertEquals(before + i + 1, versions.get(i));
+        }
+        for (Player player : game.getPlayers()) {
+            assertEquals(reported.get(player.getName()), player.getHand());
+        }
+    }
+
+    @Test
+    void testVersionBumpedByMutationsOnly() {
+        Game game = new Game("game-1", "Test Game");
+        assertEquals(0, game.getVersion());
+
+        game.write(() -> game.addDeck(new Deck("1")));
+        game.write(() -> game.addPlayer(new Player("Alice")));
+        assertEquals(2, game.getVersion());
+
+        game.read(game::getShoeSize);
+        game.readWithShoe(game::getShoe);
+        assertEquals(2, game.getVersion());
+
+        game.dealConcurrently("Alice", 2);
+        assertEquals(3, game.getVersion());
+
+        assertThrows(IllegalArgumentException.class, () -> game.write(() -> game.addPlayer(null)));
+        assertThrows(IllegalArgumentException.class, () -> game.write(() -> game.removePlayer("Bob")));
+        assertThrows(IllegalArgumentException.class, () -> game.dealConcurrently("Bob", 1));
+        assertThrows(IllegalStateException.class, () -> game.dealConcurrently("Alice", 51));
+        assertEquals(3, game.getVersion());
+    }
+
+    @Test
+    void testCompletingLazyShuffleKeepsVersion() {
+        Game game = new Game("game-1", "Test Game");
+        game.setLazyShuffle(true);
+        game.write(() -> game.addDeck(new Deck("1")));
+        game.write(() -> game.shuffle());
+        long version = game.getVersion();
+
+        game.readWithShoe(game::getShoeOrdinals);
+        assertEquals(version, game.getVersion());
+    }
+
+    @Test
+    void testConditionalWrite() {
+        Game game = new Game("game-1", "Test Game");
+        game.write(() -> game.addDeck(new Deck("1")));
+        long version = game.getVersion();
+
+        StaleVersionException e = assertThrows(StaleVersionException.class,
+                () -> game.write(version - 1, () -> game.addPlayer(new Player("Alice"))));
+        assertEquals(version, e.getCurrentVersion());
+        assertEquals(version, game.getVersion());
+        assertEquals(0, game.getPlayerCount());
+
+        game.write(version, () -> game.addPlayer(new Player("Alice")));
+        assertEquals(1, game.getPlayerCount());
+        assertEquals(version + 1, game.getVersion());
+        assertThrows(StaleVersionException.class, () -> game.write(version, () -> game.shuffle()));
+    }
+
+    @Test
+    void testWriteBatchVersionsEachMutation() {
+        Game game = new Game("game-1", "Test Game");
+        List<Boolean> applied = new ArrayList<>();
+        game.writeBatch(batch -> {
+            for (int i = 0; i < 3; i++) {
+                try {
+                    applied.add(batch.write(0, () -> {
+                        game.addPlayer(new Player("Alice"));
+                        return true;
+                    }));
+                } catch (StaleVersionException e) {
+                    applied.add(false);
+                }
+            }
+            applied.add(batch.write(Game.ANY_VERSION, () -> {
+                game.addPlayer(new Player("Bob"));
+                return true;
+            }));
+            return null;
+        });
+        assertEquals(List.of(true, false, false, true), applied);
+        assertEquals(2, game.getVersion());
+    }
+
+    private static List<String> names(List<Player> players) {
+        return players.stream().map(Player::getName).toList();
+    }
+}
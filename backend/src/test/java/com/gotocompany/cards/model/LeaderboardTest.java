@@ -0,0 +1,76 @@
+package com.gotocompany.cards.model;
+
+import com.gotocompany.cards.model.enums.FaceValue;
+import com.gotocompany.cards.model.enums.Suit;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LeaderboardTest {
+
+    private static final Comparator<Player> EXPECTED_ORDER =
+            Comparator.comparingInt(Player::getHandValue).reversed().thenComparing(Player::getName);
+
+    @Test
+    void testEmptyLeaderboard() {
+        Leaderboard leaderboard = new Leaderboard();
+        assertEquals(0, leaderboard.size());
+        assertTrue(leaderboard.range(0, 10).isEmpty());
+        assertEquals(-1, leaderboard.rankOf(new Player("Alice")));
+    }
+
+    @Test
+    void testOrdersByHandValueThenName() {
+        Leaderboard leaderboard = new Leaderboard();
+        Player alice = new Player("Alice");
+        Player bob = new Player("Bob");
+        Player carol = new Player("Carol");
+        bob.addCard(new Card(Suit.HEARTS, FaceValue.KING));
+        leaderboard.add(carol);
+        leaderboard.add(alice);
+        leaderboard.add(bob);
+
+        assertEquals(List.of(bob, alice, carol), leaderboard.range(0, 3));
+        assertEquals(0, leaderboard.rankOf(bob));
+        assertEquals(2, leaderboard.rankOf(carol));
+        assertEquals(List.of(alice), leaderboard.range(1, 2));
+        assertEquals(List.of(alice, carol), leaderboard.range(1, 100));
+    }
+
+    @Test
+    void testMatchesFullSortUnderRandomUpdates() {
+        Random random = new Random(42);
+        Leaderboard leaderboard = new Leaderboard();
+        List<Player> players = new ArrayList<>();
+        for (int i = 0; i < 200; i++) {
+            Player player = new Player("player-" + i);
+            players.add(player);
+            leaderboard.add(player);
+        }
+
+        for (int step = 0; step < 2000; step++) {
+            Player player = players.get(random.nextInt(players.size()));
+            leaderboard.remove(player);
+            if (random.nextInt(10) == 0) {
+                player.releaseHand();
+            } else {
+                player.addCard(Card.fromOrdinal(random.nextInt(Card.DISTINCT_CARDS)));
+            }
+            leaderboard.add(player);
+        }
+
+        List<Player> expected = new ArrayList<>(players);
+        expected.sort(EXPECTED_ORDER);
+        assertEquals(200, leaderboard.size());
+        assertEquals(expected, leaderboard.range(0, 200));
+        assertEquals(expected.subList(50, 60), leaderboard.range(50, 60));
+        for (int rank = 0; rank < expected.size(); rank++) {
+            assertEquals(rank, leaderboard.rankOf(expected.get(rank)));
+        }
+    }
+}
@@ -70,7 +70,55 @@ class PlayerTest {
         assertEquals(card1, player.getHand().get(0));
         assertEquals(card2, player.getHand().get(1));
     }
-    
-    
-}
 
+    @Test
+    void testHandValueTracksAddedAndReleasedCards() {
+        Player player = new Player("Alice");
+        assertEquals(0, player.getHandValue());
+
+        player.addCard(new Card(Suit.HEARTS, FaceValue.KING));
+        player.addCards(List.of(new Card(Suit.SPADES, FaceValue.ACE), new Card(Suit.CLUBS, FaceValue.SEVEN)));
+        assertEquals(21, player.getHandValue());
+        assertEquals(3, player.getHandSize());
+
+        List<Card> released = player.releaseHand();
+        assertEquals(3, released.size());
+        assertEquals(0, player.getHandValue());
+        assertEquals(0, player.getHandSize());
+    }
+
+    @Test
+    void testAddCardsWithNullCardThrowsWithoutChangingHand() {
+        Player player = new Player("Alice");
+        List<Card> cards = new ArrayList<>();
+        cards.add(new Card(Suit.HEARTS, FaceValue.FIVE));
+        cards.add(null);
+
+        assertThrows(IllegalArgumentException.class, () -> player.addCards(cards));
+        assertEquals(0, player.getHandSize());
+        assertEquals(0, player.getHandValue());
+    }
+
+    @Test
+    void testGetHandIsReadOnlyView() {
+        Player player = new Player("Alice");
+        List<Card> hand = player.getHand();
+        player.addCard(new Card(Suit.HEARTS, FaceValue.TWO));
+
+        assertEquals(1, hand.size());
+        assertThrows(UnsupportedOperationException.class, () -> hand.add(new Card(Suit.HEARTS, FaceValue.ACE)));
+    }
+
+    @Test
+    void testSnapshotIsDetachedFromPlayer() {
+        Player player = new Player("Alice");
+        player.addCard(Card.of(Suit.HEARTS, FaceValue.TEN));
+        Player snapshot = player.snapshot();
+        player.addCard(Card.of(Suit.HEARTS, FaceValue.TWO));
+
+        assertEquals("Alice", snapshot.getName());
+        assertEquals(1, snapshot.getHandSize());
+        assertEquals(10, snapshot.getHandValue());
+        assertEquals(12, player.getHandValue());
+    }
+}
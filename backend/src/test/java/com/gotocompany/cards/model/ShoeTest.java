@@ -0,0 +1,283 @@
+package com.gotocompany.cards.model;
+
+import com.gotocompany.cards.model.enums.FaceValue;
+import com.gotocompany.cards.model.enums.Suit;
+import com.gotocompany.cards.util.RandomMode;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ShoeTest {
+
+    @Test
+    void testNewShoeIsEmpty() {
+        Shoe shoe = new Shoe();
+        assertTrue(shoe.isEmpty());
+        assertEquals(0, shoe.size());
+        assertTrue(shoe.toList().isEmpty());
+    }
+
+    @Test
+    void testDrawReturnsCardsInInsertionOrder() {
+        Shoe shoe = new Shoe();
+        List<Card> deck = new Deck("1").getCards();
+        shoe.addAll(deck);
+
+        for (Card expected : deck) {
+            assertEquals(expected, shoe.draw());
+        }
+        assertTrue(shoe.isEmpty());
+    }
+
+    @Test
+    void testDrawFromEmptyShoeThrows() {
+        Shoe shoe = new Shoe();
+        assertThrows(IllegalStateException.class, shoe::draw);
+    }
+
+    @Test
+    void testDrawManyTakesFromTheTopInOnePass() {
+        Shoe shoe = new Shoe();
+        List<Card> deck = new Deck("1").getCards();
+        shoe.addAll(deck);
+
+        assertEquals(deck.subList(0, 10), shoe.draw(10));
+        assertEquals(42, shoe.size());
+        assertEquals(0, shoe.count(deck.get(9).ordinal()));
+        assertThrows(IllegalStateException.class, () -> shoe.draw(43));
+        assertEquals(deck.subList(10, 52), shoe.draw(42));
+        assertTrue(shoe.isEmpty());
+    }
+
+    @Test
+    void testDrawManyThroughLazyShuffleDrawsDistinctCards() {
+        Shoe shoe = new Shoe();
+        shoe.addAll(new Deck("1").getCards());
+        shoe.shuffleLazily(RandomMode.STRONG);
+
+        List<Card> drawn = shoe.draw(20);
+        assertTrue(shoe.isShufflePending());
+        List<Card> all = new ArrayList<>(drawn);
+        all.addAll(shoe.toList());
+        assertEquals(52, new HashSet<>(all).size());
+        for (Card card : drawn) {
+            assertEquals(0, shoe.count(card.ordinal()));
+        }
+    }
+
+    @Test
+    void testAddAfterDrawAppendsToBottom() {
+        Shoe shoe = new Shoe();
+        shoe.addAll(new Deck("1").getCards());
+        Card top = shoe.draw();
+
+        shoe.add(top);
+
+        List<Card> cards = shoe.toList();
+        assertEquals(52, cards.size());
+        assertEquals(top, cards.get(cards.size() - 1));
+        assertEquals(new Card(Suit.HEARTS, FaceValue.TWO), shoe.draw());
+    }
+
+    @Test
+    void testGrowsBeyondInitialCapacity() {
+        Shoe shoe = new Shoe();
+        for (int i = 0; i < 8; i++) {
+            shoe.addAll(new Deck(String.valueOf(i)).getCards());
+            shoe.draw();
+        }
+        assertEquals(8 * 52 - 8, shoe.size());
+        assertEquals(new Card(Suit.HEARTS, FaceValue.NINE), shoe.draw());
+    }
+
+    @Test
+    void testShuffleKeepsSameCards() {
+        Shoe shoe = new Shoe();
+        shoe.addAll(new Deck("1").getCards());
+        shoe.draw();
+
+        shoe.shuffle(RandomMode.STRONG);
+
+        assertEquals(51, shoe.size());
+        assertEquals(51, new HashSet<>(shoe.toList()).size());
+        assertFalse(shoe.toList().contains(new Card(Suit.HEARTS, FaceValue.ACE)));
+    }
+
+    @Test
+    void testLazyShuffleMatchesEagerShuffleDistribution() {
+        // Every ordering of a four card shoe should come out equally often
+        int trials = 24000;
+        Map<List<Card>, Integer> orderings = new HashMap<>();
+        for (int trial = 0; trial < trials; trial++) {
+            Shoe shoe = new Shoe();
+            shoe.addAll(new Deck("1").getCards().subList(0, 4));
+            shoe.shuffleLazily(RandomMode.FAST);
+            List<Card> dealt = new ArrayList<>();
+            while (!shoe.isEmpty()) {
+                dealt.add(shoe.draw());
+            }
+            orderings.merge(dealt, 1, Integer::sum);
+        }
+
+        assertEquals(24, orderings.size());
+        double expected = trials / 24.0;
+        double chiSquare = 0;
+        for (int observed : orderings.values()) {
+            chiSquare += (observed - expected) * (observed - expected) / expected;
+        }
+        assertTrue(chiSquare < 49.7, "Chi-square too high: " + chiSquare); // p = 0.001 for 23 degrees of freedom
+    }
+
+    @Test
+    void testLazyShuffleFullOrderMatchesLaterDraws() {
+        Shoe shoe = new Shoe();
+        shoe.addAll(new Deck("1").getCards());
+        shoe.shuffleLazily(RandomMode.STRONG);
+        shoe.draw();
+        shoe.draw();
+
+        List<Card> order = shoe.toList();
+        assertEquals(order, shoe.asList());
+        for (Card expected : order) {
+            assertEquals(expected, shoe.draw());
+        }
+        assertEquals(0, shoe.count(0));
+    }
+
+    @Test
+    void testCardsAddedAfterLazyShuffleStayAtBottom() {
+        Shoe shoe = new Shoe();
+        shoe.addAll(new Deck("1").getCards());
+        shoe.shuffleLazily(RandomMode.STRONG);
+        for (int i = 0; i < 52; i++) {
+            shoe.draw();
+        }
+        Card returned = new Card(Suit.SPADES, FaceValue.KING);
+        shoe.add(returned);
+        shoe.add(returned);
+
+        assertEquals(List.of(returned, returned), shoe.toList());
+    }
+
+    @Test
+    void testLazyShuffleSurvivesCompaction() {
+        Shoe shoe = new Shoe();
+        shoe.addAll(new Deck("1").getCards());
+        shoe.shuffleLazily(RandomMode.STRONG);
+        for (int i = 0; i < 30; i++) {
+            shoe.draw();
+        }
+        Card returned = new Card(Suit.SPADES, FaceValue.KING);
+        for (int i = 0; i < 25; i++) {
+            shoe.add(returned); // Forces the remaining cards to the front of the array
+        }
+
+        List<Card> remaining = new ArrayList<>();
+        for (int i = 0; i < 22; i++) {
+            remaining.add(shoe.draw());
+        }
+        assertEquals(22, new HashSet<>(remaining).size());
+        assertEquals(Collections.nCopies(25, returned), shoe.toList());
+    }
+
+    @Test
+    void testClaimReservesContiguousRangesFromTheTop() {
+        Shoe shoe = new Shoe();
+        List<Card> deck = new Deck("1").getCards();
+        shoe.addAll(deck);
+
+        int first = shoe.claim(5);
+        int second = shoe.claim(10);
+        assertEquals(deck.subList(0, 5), shoe.take(first, 5));
+        assertEquals(deck.subList(5, 15), shoe.take(second, 10));
+        assertEquals(37, shoe.size());
+        assertEquals(0, shoe.count(deck.get(0).ordinal()));
+        assertEquals(1, shoe.count(deck.get(15).ordinal()));
+        assertEquals(-1, shoe.claim(38));
+        assertEquals(deck.get(15), shoe.draw());
+    }
+
+    @Test
+    void testConcurrentClaimsNeverOverlap() throws InterruptedException {
+        Shoe shoe = new Shoe();
+        for (int i = 0; i < 8; i++) {
+            shoe.addAll(new Deck(String.valueOf(i)).getCards());
+        }
+        boolean[] claimed = new boolean[shoe.size()];
+        List<Thread> threads = new ArrayList<>();
+        for (int t = 0; t < 8; t++) {
+            threads.add(new Thread(() -> {
+                int from;
+                while ((from = shoe.claim(3)) >= 0) {
+                    shoe.take(from, 3);
+                    synchronized (claimed) {
+                        for (int i = from; i < from + 3; i++) {
+                            assertFalse(claimed[i]);
+                            claimed[i] = true;
+                        }
+                    }
+                }
+            }));
+        }
+        threads.forEach(Thread::start);
+        for (Thread thread : threads) {
+            thread.join();
+        }
+
+        assertEquals(416 % 3, shoe.size());
+        for (int ordinal = 0; ordinal < Card.DISTINCT_CARDS; ordinal++) {
+            int remaining = 0;
+            for (Card card : shoe.toList()) {
+                remaining += card.ordinal() == ordinal ? 1 : 0;
+            }
+            assertEquals(remaining, shoe.count(ordinal));
+        }
+    }
+
+    @Test
+    void testShufflePendingUntilLazyShuffleCompletes() {
+        Shoe shoe = new Shoe();
+        shoe.addAll(new Deck("1").getCards());
+        assertFalse(shoe.isShufflePending());
+        shoe.shuffleLazily(RandomMode.FAST);
+        assertTrue(shoe.isShufflePending());
+        shoe.toList();
+        assertFalse(shoe.isShufflePending());
+    }
+
+    @Test
+    void testViewRefusesToReadWhileShufflePending() {
+        Shoe shoe = new Shoe();
+        shoe.addAll(new Deck("1").getCards());
+        shoe.shuffleLazily(RandomMode.FAST);
+        List<Card> view = shoe.asList();
+
+        assertEquals(52, view.size());
+        assertThrows(IllegalStateException.class, () -> view.get(0));
+        assertTrue(shoe.isShufflePending());
+        shoe.completeShuffle();
+        assertEquals(shoe.toList(), view);
+    }
+
+    @Test
+    void testAddOrdinalArraysAppendsInOrder() {
+        Shoe shoe = new Shoe();
+        shoe.add(Card.of(Suit.SPADES, FaceValue.KING));
+        byte[] ordinals = new Deck("1").getCardOrdinals();
+        shoe.addOrdinals(List.of(ordinals, ordinals, ordinals));
+
+        assertEquals(157, shoe.size());
+        assertEquals(Card.of(Suit.SPADES, FaceValue.KING), shoe.draw());
+        assertEquals(3, shoe.count(Card.of(Suit.HEARTS, FaceValue.ACE).ordinal()));
+        assertEquals(3, shoe.count(Card.of(Suit.SPADES, FaceValue.KING).ordinal()));
+        List<Card> cards = shoe.toList();
+        assertEquals(cards.subList(0, 52), cards.subList(104, 156));
+    }
+}
@@ -1,10 +1,14 @@
 package com.gotocompany.cards.repository;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import org.junit.jupiter.api.Test;
 
@@ -30,4 +34,81 @@ public class DeckRepositoryTest {
         assertTrue(allDecks.containsKey(deck1.getId()));
         assertTrue(allDecks.containsKey(deck2.getId()));
     }
+
+    @Test
+    void testClaimAssignsDeckOnce() {
+        DeckRepository deckRepository = new DeckRepository();
+        deckRepository.save(new Deck("deck-1"));
+
+        Deck deck = deckRepository.claim("deck-1", "game-1");
+        assertTrue(deck.isAdded());
+        assertEquals("game-1", deck.getGameId());
+        assertTrue(deckRepository.findUnassigned(null, 10).isEmpty());
+        assertThrows(IllegalStateException.class, () -> deckRepository.claim("deck-1", "game-2"));
+        assertThrows(IllegalArgumentException.class, () -> deckRepository.claim("deck-2", "game-1"));
+
+        deckRepository.release(deck);
+        assertFalse(deck.isAdded());
+        assertEquals(List.of(deck), deckRepository.findUnassigned(null, 10));
+    }
+
+    @Test
+    void testFindUnassignedPagesInIdOrder() {
+        DeckRepository deckRepository = new DeckRepository();
+        for (String id : List.of("deck-3", "deck-1", "deck-5", "deck-2", "deck-4")) {
+            deckRepository.save(new Deck(id));
+        }
+        deckRepository.claim("deck-2", "game-1");
+
+        assertEquals(List.of("deck-1", "deck-3"), ids(deckRepository.findUnassigned(null, 2)));
+        assertEquals(List.of("deck-4", "deck-5"), ids(deckRepository.findUnassigned("deck-3", 2)));
+        assertTrue(deckRepository.findUnassigned("deck-5", 2).isEmpty());
+        assertEquals(4, deckRepository.findByAdded(false).size());
+        assertEquals(List.of("deck-2"), ids(deckRepository.findByAdded(true)));
+    }
+
+    @Test
+    void testFindUnassignedSkipsDecksMarkedAdded() {
+        DeckRepository deckRepository = new DeckRepository();
+        Deck deck1 = deckRepository.save(new Deck("deck-1"));
+        deckRepository.save(new Deck("deck-2"));
+        deck1.setAdded(true);
+
+        assertEquals(List.of("deck-2"), ids(deckRepository.findUnassigned(null, 10)));
+        assertThrows(IllegalStateException.class, () -> deckRepository.claim("deck-1", "game-1"));
+    }
+
+    @Test
+    void testConcurrentClaimsAssignEachDeckToOneGame() throws InterruptedException {
+        DeckRepository deckRepository = new DeckRepository();
+        for (int i = 0; i < 100; i++) {
+            deckRepository.save(new Deck("deck-" + i));
+        }
+        AtomicInteger claims = new AtomicInteger();
+        List<Thread> games = new ArrayList<>();
+        for (int g = 0; g < 8; g++) {
+            String gameId = "game-" + g;
+            games.add(new Thread(() -> {
+                for (int i = 0; i < 100; i++) {
+                    try {
+                        deckRepository.claim("deck-" + i, gameId);
+                        claims.incrementAndGet();
+                    } catch (IllegalStateException e) {
+                        // Another game got the deck first
+                    }
+                }
+            }));
+        }
+        games.forEach(Thread::start);
+        for (Thread game : games) {
+            game.join();
+        }
+
+        assertEquals(100, claims.get());
+        assertTrue(deckRepository.findUnassigned(null, 100).isEmpty());
+    }
+
+    private static List<String> ids(List<Deck> decks) {
+        return decks.stream().map(Deck::getId).toList();
+    }
 }
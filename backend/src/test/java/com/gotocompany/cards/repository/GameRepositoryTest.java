@@ -2,8 +2,11 @@ package com.gotocompany.cards.repository;
 
 import static org.junit.jupiter.api.Assertions.*;
 
+import com.gotocompany.cards.model.Game;
 import org.junit.jupiter.api.Test;
 
+import java.util.List;
+
 public class GameRepositoryTest {
     
     @Test
@@ -11,4 +14,29 @@ public class GameRepositoryTest {
         GameRepository gameRepository = new GameRepository();
         assertThrows(IllegalArgumentException.class, () -> gameRepository.save(null));
     }
+
+    @Test
+    void testFindPageInIdOrder() {
+        GameRepository gameRepository = new GameRepository();
+        gameRepository.save(new Game("c", "Game C"));
+        gameRepository.save(new Game("a", "Game A"));
+        gameRepository.save(new Game("b", "Game B"));
+
+        List<Game> first = gameRepository.findPage(null, 2);
+        assertEquals(List.of("a", "b"), first.stream().map(Game::getId).toList());
+        List<Game> second = gameRepository.findPage("b", 2);
+        assertEquals(List.of("c"), second.stream().map(Game::getId).toList());
+    }
+
+    @Test
+    void testFindPageSkipsDeletedGames() {
+        GameRepository gameRepository = new GameRepository();
+        gameRepository.save(new Game("a", "Game A"));
+        gameRepository.save(new Game("b", "Game B"));
+        gameRepository.deleteById("a");
+
+        // A cursor pointing at a deleted game still continues after it
+        assertEquals(List.of("b"), gameRepository.findPage(null, 10).stream().map(Game::getId).toList());
+        assertEquals(List.of("b"), gameRepository.findPage("a", 10).stream().map(Game::getId).toList());
+    }
 }
@@ -2,9 +2,12 @@ package com.gotocompany.cards.service;
 
 import com.gotocompany.cards.model.Deck;
 import com.gotocompany.cards.repository.DeckRepository;
+import com.gotocompany.cards.util.IdStrategy;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
+import java.util.List;
+
 import static org.junit.jupiter.api.Assertions.*;
 
 class DeckServiceTest {
@@ -43,6 +46,15 @@ class DeckServiceTest {
         assertEquals(52, uniqueCards);
     }
 
+    @Test
+    void testDecksShareImmutableCardTemplate() {
+        Deck deck1 = deckService.createDeck();
+        Deck deck2 = deckService.createDeck();
+
+        assertSame(deck1.getCards(), deck2.getCards());
+        assertThrows(UnsupportedOperationException.class, () -> deck1.getCards().remove(0));
+    }
+
     @Test
     void testFindDeckById() {
         Deck deck = deckService.createDeck();
@@ -73,5 +85,31 @@ class DeckServiceTest {
         assertFalse(unassignedIds.contains(deck1.getId()));
         assertEquals(1, unassignedIds.size());
     }
-}
 
+    @Test
+    void testGetUnassignedDeckIdsPage() {
+        deckRepository.save(new Deck("deck-1"));
+        deckRepository.save(new Deck("deck-2"));
+        deckRepository.save(new Deck("deck-3"));
+
+        assertEquals(List.of("deck-1", "deck-2"), deckService.getUnassignedDeckIds(null, 2));
+        assertEquals(List.of("deck-3"), deckService.getUnassignedDeckIds("deck-2", 2));
+        assertThrows(IllegalArgumentException.class, () -> deckService.getUnassignedDeckIds(null, 0));
+    }
+
+    @Test
+    void testCreateDeckUsesIdGenerator() {
+        DeckService uuidDecks = new DeckService(deckRepository, IdStrategy.UUID);
+        assertEquals(36, uuidDecks.createDeck().getId().length());
+        assertEquals(13, deckService.createDeck().getId().length());
+    }
+
+    @Test
+    void testCreateDecks() {
+        List<Deck> decks = deckService.createDecks(3);
+        assertEquals(3, decks.size());
+        assertEquals(3, deckService.getUnassignedDeckIds().size());
+        assertThrows(IllegalArgumentException.class, () -> deckService.createDecks(0));
+        assertThrows(IllegalArgumentException.class, () -> deckService.createDecks(DeckService.MAX_BULK_DECKS + 1));
+    }
+}
@@ -0,0 +1,179 @@
+package com.gotocompany.cards.service;
+
+import com.gotocompany.cards.exception.StaleVersionException;
+import com.gotocompany.cards.model.Deck;
+import com.gotocompany.cards.model.Game;
+import com.gotocompany.cards.model.Player;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class GameExecutorTest {
+
+    private GameExecutor gameExecutor;
+
+    @AfterEach
+    void tearDown() {
+        if (gameExecutor != null) {
+            gameExecutor.shutdown();
+        }
+    }
+
+    @Test
+    void testLockingExecutorRunsOnCallingThread() {
+        gameExecutor = GameExecutor.locking();
+        Game game = gameWithPlayers(1, 1);
+
+        Thread caller = Thread.currentThread();
+        Thread runner = gameExecutor.write(game, Thread::currentThread);
+
+        assertEquals(ExecutionMode.LOCKING, gameExecutor.getMode());
+        assertSame(caller, runner);
+    }
+
+    @Test
+    void testMailboxRunsCommandsOnWorkersAndReturnsResults() {
+        gameExecutor = new GameExecutor(ExecutionMode.MAILBOX, 2, 8);
+        Game game = gameWithPlayers(1, 1);
+
+        var dealt = gameExecutor.write(game, () -> game.dealCards("Player 0", 3));
+        String runner = gameExecutor.write(game, () -> Thread.currentThread().getName());
+
+        assertEquals(3, dealt.size());
+        assertEquals(49, game.getShoeSize());
+        assertTrue(runner.startsWith("game-mailbox-"));
+    }
+
+    @Test
+    void testMailboxRethrowsCommandExceptions() {
+        gameExecutor = new GameExecutor(ExecutionMode.MAILBOX, 1, 8);
+        Game game = gameWithPlayers(1, 1);
+
+        assertThrows(IllegalArgumentException.class, () -> gameExecutor.write(game, () -> game.dealCards("Nobody", 1)));
+        assertThrows(IllegalStateException.class, () -> gameExecutor.write(game, () -> game.dealCards("Player 0", 53)));
+        assertEquals(52, game.getShoeSize());
+    }
+
+    @Test
+    void testMailboxChecksExpectedVersionPerCommand() throws InterruptedException {
+        gameExecutor = new GameExecutor(ExecutionMode.MAILBOX, 1, 64);
+        Game game = gameWithPlayers(1, 1);
+        long version = game.getVersion();
+
+        // Racing commands conditional on the same version: exactly one may apply,
+        // even when they land in one batch under a single acquisition of the lock
+        int threads = 8;
+        List<Thread> workers = new ArrayList<>();
+        AtomicInteger applied = new AtomicInteger();
+        AtomicInteger stale = new AtomicInteger();
+        for (int t = 0; t < threads; t++) {
+            workers.add(new Thread(() -> {
+                try {
+                    gameExecutor.write(game, version, () -> game.dealCards("Player 0", 1));
+                    applied.incrementAndGet();
+                } catch (StaleVersionException e) {
+                    stale.incrementAndGet();
+                }
+            }));
+        }
+        for (Thread worker : workers) {
+            worker.start();
+        }
+        for (Thread worker : workers) {
+            worker.join();
+        }
+
+        assertEquals(1, applied.get());
+        assertEquals(threads - 1, stale.get());
+        assertEquals(51, game.getShoeSize());
+        assertEquals(version + 1, game.getVersion());
+    }
+
+    @Test
+    void testMailboxAppliesEachGamesCommandsInOrder() throws InterruptedException {
+        gameExecutor = new GameExecutor(ExecutionMode.MAILBOX, 4, 4);
+        List<Game> games = List.of(gameWithPlayers(1, 1), gameWithPlayers(1, 1));
+        List<List<Integer>> applied = List.of(new ArrayList<>(), new ArrayList<>());
+
+        List<Thread> threads = new ArrayList<>();
+        for (int t = 0; t < 8; t++) {
+            int offset = t * 1000;
+            threads.add(new Thread(() -> {
+                for (int i = 0; i < 200; i++) {
+                    int g = i % 2;
+                    int value = offset + i;
+                    // Each game's list is only touched by that game's mailbox
+                    gameExecutor.write(games.get(g), () -> applied.get(g).add(value));
+                }
+            }));
+        }
+        threads.forEach(Thread::start);
+        for (Thread thread : threads) {
+            thread.join();
+        }
+
+        for (int g = 0; g < 2; g++) {
+            assertEquals(800, applied.get(g).size());
+            // Every thread's own commands for a game stay in the order it sent them
+            for (int t = 0; t < 8; t++) {
+                int first = t * 1000;
+                List<Integer> fromThread = applied.get(g).stream()
+                        .filter(value -> value >= first && value < first + 1000).toList();
+                for (int i = 1; i < fromThread.size(); i++) {
+                    assertTrue(fromThread.get(i - 1) < fromThread.get(i));
+                }
+            }
+        }
+    }
+
+    @Test
+    void testMailboxKeepsConcurrentDealsConsistent() throws InterruptedException {
+        gameExecutor = new GameExecutor(ExecutionMode.MAILBOX, 2, 16);
+        Game game = gameWithPlayers(4, 8);
+
+        List<Thread> dealers = new ArrayList<>();
+        for (int i = 0; i < 8; i++) {
+            String playerName = "Player " + i;
+            dealers.add(new Thread(() -> {
+                for (int round = 0; round < 13; round++) {
+                    gameExecutor.write(game, () -> game.dealCards(playerName, 2));
+                }
+            }));
+        }
+        dealers.forEach(Thread::start);
+        for (Thread dealer : dealers) {
+            dealer.join();
+        }
+
+        assertEquals(0, game.getShoeSize());
+        for (Player player : game.getPlayers()) {
+            assertEquals(26, player.getHandSize());
+        }
+    }
+
+    @Test
+    void testShutdownRejectsNewCommands() {
+        gameExecutor = new GameExecutor(ExecutionMode.MAILBOX, 1, 8);
+        Game game = gameWithPlayers(1, 1);
+        gameExecutor.shutdown();
+
+        assertThrows(IllegalStateException.class, () -> gameExecutor.write(game, game::reset));
+    }
+
+    private static Game gameWithPlayers(int decks, int players) {
+        Game game = new Game(UUID.randomUUID().toString(), "Test Game");
+        for (int i = 0; i < decks; i++) {
+            game.addDeck(new Deck(String.valueOf(i)));
+        }
+        for (int i = 0; i < players; i++) {
+            game.addPlayer(new Player("Player " + i));
+        }
+        return game;
+    }
+}
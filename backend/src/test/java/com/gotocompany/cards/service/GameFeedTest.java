@@ -0,0 +1,190 @@
+package com.gotocompany.cards.service;
+
+import com.gotocompany.cards.model.Card;
+import com.gotocompany.cards.model.enums.FaceValue;
+import com.gotocompany.cards.model.enums.Suit;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class GameFeedTest {
+
+    private static final Card ACE = Card.of(Suit.HEARTS, FaceValue.ACE);
+    private static final Card KING = Card.of(Suit.SPADES, FaceValue.KING);
+
+    private GameFeed gameFeed;
+
+    @AfterEach
+    void tearDown() {
+        if (gameFeed != null) {
+            gameFeed.shutdown();
+        }
+    }
+
+    /**
+     * Collects the batches sent to a subscription.
+     */
+    private static class RecordingSink implements GameFeed.Sink {
+        final BlockingQueue<List<GameEvent>> batches = new LinkedBlockingQueue<>();
+        final CountDownLatch closed = new CountDownLatch(1);
+
+        @Override
+        public void send(List<GameEvent> events) {
+            batches.add(events);
+        }
+
+        @Override
+        public void close() {
+            closed.countDown();
+        }
+
+        List<GameEvent> next() throws InterruptedException {
+            List<GameEvent> batch = batches.poll(5, TimeUnit.SECONDS);
+            assertNotNull(batch, "No batch sent");
+            return batch;
+        }
+    }
+
+    @Test
+    void testSubscribersReceivePublishedEvents() throws Exception {
+        gameFeed = new GameFeed(2, 0, 16);
+        RecordingSink first = new RecordingSink();
+        RecordingSink second = new RecordingSink();
+        gameFeed.subscribe("game-1", first);
+        gameFeed.subscribe("game-1", second);
+        gameFeed.subscribe("game-2", new RecordingSink());
+
+        gameFeed.publish("game-1", GameEvent.playerAdded(1, "Alice"));
+
+        for (RecordingSink sink : List.of(first, second)) {
+            List<GameEvent> batch = sink.next();
+            assertEquals(1, batch.size());
+            assertEquals(GameEvent.Type.PLAYER_ADDED, batch.get(0).getType());
+            assertEquals("Alice", batch.get(0).getPlayerName());
+            assertEquals(1, batch.get(0).getVersion());
+        }
+        assertEquals(2, gameFeed.getSubscriberCount("game-1"));
+    }
+
+    @Test
+    void testPublishWithoutSubscribersIsIgnored() {
+        gameFeed = new GameFeed(1, 0, 16);
+
+        gameFeed.publish("game-1", GameEvent.shuffled(1, 52));
+
+        assertEquals(0, gameFeed.getSubscriberCount("game-1"));
+    }
+
+    @Test
+    void testBurstIsCoalescedIntoOneBatch() throws Exception {
+        gameFeed = new GameFeed(1, 200, 16);
+        RecordingSink sink = new RecordingSink();
+        gameFeed.subscribe("game-1", sink);
+
+        gameFeed.publish("game-1", GameEvent.dealt(1, "Alice", List.of(ACE)));
+        gameFeed.publish("game-1", GameEvent.dealt(2, "Alice", List.of(KING)));
+        gameFeed.publish("game-1", GameEvent.playerAdded(3, "Bob"));
+        gameFeed.publish("game-1", GameEvent.shuffled(4, 50));
+        gameFeed.publish("game-1", GameEvent.shuffled(5, 50));
+
+        List<GameEvent> batch = sink.next();
+        assertEquals(3, batch.size());
+        GameEvent dealt = batch.get(0);
+        assertEquals(GameEvent.Type.DEALT, dealt.getType());
+        assertEquals(List.of(ACE, KING), dealt.getCards());
+        assertEquals(1, dealt.getFirstVersion());
+        assertEquals(2, dealt.getVersion());
+        assertEquals(GameEvent.Type.PLAYER_ADDED, batch.get(1).getType());
+        assertEquals(5, batch.get(2).getVersion());
+        assertNull(sink.batches.poll(300, TimeUnit.MILLISECONDS));
+    }
+
+    @Test
+    void testResetSupersedesDealsAndShuffles() throws Exception {
+        gameFeed = new GameFeed(1, 200, 16);
+        RecordingSink sink = new RecordingSink();
+        gameFeed.subscribe("game-1", sink);
+
+        gameFeed.publish("game-1", GameEvent.playerAdded(1, "Alice"));
+        gameFeed.publish("game-1", GameEvent.dealt(2, "Alice", List.of(ACE)));
+        gameFeed.publish("game-1", GameEvent.dealt(3, "Bob", List.of(KING)));
+        gameFeed.publish("game-1", GameEvent.shuffled(4, 50));
+        gameFeed.publish("game-1", GameEvent.reset(5, 52));
+
+        List<GameEvent> batch = sink.next();
+        assertEquals(2, batch.size());
+        assertEquals(GameEvent.Type.PLAYER_ADDED, batch.get(0).getType());
+        assertEquals(GameEvent.Type.RESET, batch.get(1).getType());
+        assertEquals(52, batch.get(1).getShoeSize());
+    }
+
+    @Test
+    void testSlowSubscriberIsSentResyncInsteadOfBacklog() throws Exception {
+        gameFeed = new GameFeed(1, 200, 2);
+        RecordingSink sink = new RecordingSink();
+        gameFeed.subscribe("game-1", sink);
+
+        for (int version = 1; version <= 5; version++) {
+            gameFeed.publish("game-1", GameEvent.playerAdded(version, "Player " + version));
+        }
+
+        List<GameEvent> batch = sink.next();
+        assertEquals(1, batch.size());
+        assertEquals(GameEvent.Type.RESYNC, batch.get(0).getType());
+        assertEquals(5, batch.get(0).getVersion());
+
+        gameFeed.publish("game-1", GameEvent.playerRemoved(6, "Player 1"));
+        assertEquals(GameEvent.Type.PLAYER_REMOVED, sink.next().get(0).getType());
+    }
+
+    @Test
+    void testFailedSendCancelsSubscription() throws Exception {
+        gameFeed = new GameFeed(1, 0, 16);
+        CountDownLatch closed = new CountDownLatch(1);
+        gameFeed.subscribe("game-1", new GameFeed.Sink() {
+            @Override
+            public void send(List<GameEvent> events) throws IOException {
+                throw new IOException("Connection reset");
+            }
+
+            @Override
+            public void close() {
+                closed.countDown();
+            }
+        });
+
+        gameFeed.publish("game-1", GameEvent.shuffled(1, 52));
+
+        assertTrue(closed.await(5, TimeUnit.SECONDS));
+        assertEquals(0, gameFeed.getSubscriberCount("game-1"));
+    }
+
+    @Test
+    void testCancelAndCloseEndSubscriptions() throws Exception {
+        gameFeed = new GameFeed(1, 0, 16);
+        RecordingSink cancelled = new RecordingSink();
+        RecordingSink closedByGame = new RecordingSink();
+        GameFeed.Subscription subscription = gameFeed.subscribe("game-1", cancelled);
+        gameFeed.subscribe("game-1", closedByGame);
+
+        subscription.cancel();
+        subscription.cancel();
+        assertEquals(0, cancelled.closed.getCount());
+        assertEquals(1, gameFeed.getSubscriberCount("game-1"));
+
+        gameFeed.close("game-1");
+        assertEquals(0, closedByGame.closed.getCount());
+        assertEquals(0, gameFeed.getSubscriberCount("game-1"));
+
+        gameFeed.publish("game-1", GameEvent.shuffled(1, 52));
+        assertNull(cancelled.batches.poll(100, TimeUnit.MILLISECONDS));
+    }
+}
@@ -1,14 +1,30 @@
 package com.gotocompany.cards.service;
 
+import com.gotocompany.cards.exception.CommandFailedException;
+import com.gotocompany.cards.exception.StaleVersionException;
 import com.gotocompany.cards.model.Card;
+import com.gotocompany.cards.model.Deck;
 import com.gotocompany.cards.model.Game;
 import com.gotocompany.cards.model.Player;
+import com.gotocompany.cards.model.enums.FaceValue;
+import com.gotocompany.cards.model.enums.Suit;
 import com.gotocompany.cards.repository.DeckRepository;
 import com.gotocompany.cards.repository.GameRepository;
+import com.gotocompany.cards.util.IdStrategy;
+import com.gotocompany.cards.util.RandomMode;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -42,6 +58,21 @@ class GameServiceTest {
         assertEquals(0, game.getAddedDeckIds().size());
     }
 
+    @Test
+    void testCreateGameRandomMode() {
+        assertEquals(RandomMode.STRONG, createGame().getRandomMode());
+        assertEquals(RandomMode.FAST, gameService.createGame("Fast Game", RandomMode.FAST).getRandomMode());
+
+        GameService fastByDefault = new GameService(gameRepository, deckRepository, RandomMode.FAST);
+        assertEquals(RandomMode.FAST, fastByDefault.createGame("Default Game").getRandomMode());
+    }
+
+    @Test
+    void testCreateGameLazyShuffle() {
+        assertFalse(createGame().isLazyShuffle());
+        assertTrue(gameService.createGame("Lazy Game", null, true).isLazyShuffle());
+    }
+
     @Test
     void testCreateGameWithBlankNameThrows() {
         assertThrows(IllegalArgumentException.class, () -> gameService.createGame("  "));
@@ -69,6 +100,271 @@ class GameServiceTest {
         assertEquals(game.getId(), games.get(0).getId());
     }
 
+    @Test
+    void testGetGamesPaged() {
+        List<String> ids = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            ids.add(createGame().getId());
+        }
+        ids.sort(null);
+
+        List<String> first = gameService.getGames(null, 3, Game::getId);
+        assertEquals(ids.subList(0, 3), first);
+        List<String> second = gameService.getGames(first.get(2), 3, Game::getId);
+        assertEquals(ids.subList(3, 5), second);
+    }
+
+    @Test
+    void testGetGamesInvalidLimitThrows() {
+        assertThrows(IllegalArgumentException.class, () -> gameService.getGames(null, 0, Game::getId));
+        assertThrows(IllegalArgumentException.class,
+                () -> gameService.getGames(null, GameService.MAX_PAGE_SIZE + 1, Game::getId));
+    }
+
+    @Test
+    void testGetGamesWithShoeCompletesLazyShuffle() {
+        Game game = gameService.createGame("Lazy", null, true);
+        gameService.addNewDecksToGame(game.getId(), 1);
+
+        List<List<Card>> shoes = gameService.getGamesWithShoe(null, 10, g -> List.copyOf(g.getShoeView()));
+        assertEquals(1, shoes.size());
+        assertEquals(52, shoes.get(0).size());
+        assertFalse(game.getShoeView().contains(null));
+    }
+
+    @Test
+    void testGetGameProjection() {
+        Game game = createGame();
+        assertEquals(game.getName(), gameService.getGame(game.getId(), Game::getName));
+        assertThrows(IllegalArgumentException.class, () -> gameService.getGame("missing", Game::getName));
+    }
+
+    @Test
+    void testGetPlayersSortedProjection() {
+        Game game = createGame();
+        gameService.addPlayer(game.getId(), "Alice");
+        gameService.addPlayer(game.getId(), "Bob");
+        List<String> names = gameService.getPlayersSorted(game.getId(), 0, 10, Player::getName);
+        assertEquals(2, names.size());
+        assertTrue(names.containsAll(List.of("Alice", "Bob")));
+    }
+
+    @Test
+    void testGetShoeOrdinalsMatchesShoe() {
+        Game game = gameService.createGame("Lazy", null, true);
+        gameService.addNewDecksToGame(game.getId(), 2);
+        gameService.shuffleGameDeck(game.getId());
+
+        byte[] ordinals = gameService.getShoeOrdinals(game.getId());
+        List<Card> shoe = game.getShoe();
+        assertEquals(shoe.size(), ordinals.length);
+        for (int i = 0; i < ordinals.length; i++) {
+            assertEquals(shoe.get(i), Card.fromOrdinal(ordinals[i]));
+        }
+    }
+
+    @Test
+    void testGameVersionChangesWithState() {
+        Game game = createGame();
+        long created = gameService.getGameVersion(game.getId());
+        gameService.getPlayersSorted(game.getId());
+        assertEquals(created, gameService.getGameVersion(game.getId()));
+
+        gameService.addPlayer(game.getId(), "Alice");
+        assertTrue(gameService.getGameVersion(game.getId()) > created);
+        assertThrows(IllegalArgumentException.class, () -> gameService.getGameVersion("missing"));
+    }
+
+    @Test
+    void testConditionalDeal() {
+        Game game = createGame();
+        gameService.addNewDecksToGame(game.getId(), 1);
+        gameService.addPlayer(game.getId(), "Alice");
+        long version = gameService.getGameVersion(game.getId());
+
+        assertEquals(2, gameService.dealCards(game.getId(), "Alice", 2, version).size());
+        assertThrows(StaleVersionException.class, () -> gameService.dealCards(game.getId(), "Alice", 2, version));
+        assertThrows(StaleVersionException.class, () -> gameService.resetGame(game.getId(), version));
+        assertEquals(50, game.getShoeSize());
+    }
+
+    @Test
+    void testConditionalAddDeckReleasesClaimWhenStale() {
+        Game game = createGame();
+        Deck deck = new Deck("deck-1");
+        deckRepository.save(deck);
+        long stale = gameService.getGameVersion(game.getId()) + 1;
+
+        assertThrows(StaleVersionException.class, () -> gameService.addDeckToGame(game.getId(), "deck-1", stale));
+        assertFalse(deck.isAdded());
+        gameService.addDeckToGame(game.getId(), "deck-1");
+        assertEquals(52, game.getShoeSize());
+    }
+
+    @Test
+    void testMutationsArePublishedWithTheirVersions() throws Exception {
+        GameFeed gameFeed = new GameFeed(1, 0, 64);
+        GameService feedService = new GameService(gameRepository, deckRepository, RandomMode.STRONG,
+                ShuffleService.inline(), GameExecutor.locking(), IdStrategy.TIME_ORDERED, gameFeed);
+        Game game = feedService.createGame("Test Game");
+        BlockingQueue<GameEvent> events = new LinkedBlockingQueue<>();
+        CountDownLatch closed = new CountDownLatch(1);
+        feedService.subscribe(game.getId(), new GameFeed.Sink() {
+            @Override
+            public void send(List<GameEvent> batch) {
+                events.addAll(batch);
+            }
+
+            @Override
+            public void close() {
+                closed.countDown();
+            }
+        });
+
+        feedService.addNewDecksToGame(game.getId(), 1);
+        feedService.addPlayer(game.getId(), "Alice");
+        List<Card> dealt = feedService.dealCards(game.getId(), "Alice", 3);
+        feedService.shuffleGameDeck(game.getId());
+        feedService.removePlayer(game.getId(), "Alice");
+        feedService.resetGame(game.getId());
+
+        List<GameEvent> received = new ArrayList<>();
+        while (received.isEmpty() || received.get(received.size() - 1).getType() != GameEvent.Type.RESET) {
+            GameEvent event = events.poll(5, TimeUnit.SECONDS);
+            assertNotNull(event, "Missing events after " + received.size());
+            received.add(event);
+        }
+        // Deltas may be coalesced, but always end at the game's version
+        assertEquals(feedService.getGameVersion(game.getId()), received.get(received.size() - 1).getVersion());
+        assertEquals(GameEvent.Type.DECKS_ADDED, received.get(0).getType());
+        assertEquals(52, received.get(0).getShoeSize());
+        assertEquals(GameEvent.Type.PLAYER_ADDED, received.get(1).getType());
+        assertEquals(52, received.get(received.size() - 1).getShoeSize());
+        for (int i = 1; i < received.size(); i++) {
+            assertTrue(received.get(i).getVersion() > received.get(i - 1).getVersion());
+        }
+
+        feedService.deleteGame(game.getId());
+        assertTrue(closed.await(5, TimeUnit.SECONDS));
+        assertThrows(IllegalArgumentException.class, () -> feedService.subscribe("missing", null));
+        assertEquals(3, dealt.size());
+        gameFeed.shutdown();
+    }
+
+    @Test
+    void testExecuteCommandsAppliesRoundInOrder() {
+        Game game = createGame();
+        long version = gameService.getGameVersion(game.getId());
+
+        List<GameCommand.Result> results = gameService.executeCommands(game.getId(), List.of(
+                GameCommand.addPlayer("Alice"),
+                GameCommand.addPlayer("Bob"),
+                GameCommand.addNewDecks(2),
+                GameCommand.shuffle(),
+                GameCommand.deal("Alice", 2),
+                GameCommand.deal("Bob", 3)), version, result -> result);
+
+        assertEquals(6, results.size());
+        assertEquals(GameCommand.Type.ADD_PLAYER, results.get(0).getType());
+        assertEquals(2, results.get(2).getDeckIds().size());
+        assertEquals(2, results.get(4).getCards().size());
+        assertEquals(3, results.get(5).getCards().size());
+        assertEquals(results.get(5).getCards(), gameService.getPlayerCards(game.getId(), "Bob"));
+        assertEquals(99, game.getShoeSize());
+        assertEquals(version + 1, gameService.getGameVersion(game.getId()));
+        for (String deckId : results.get(2).getDeckIds()) {
+            assertTrue(deckRepository.findById(deckId).isPresent());
+        }
+    }
+
+    @Test
+    void testExecuteCommandsAppliesNothingWhenACommandWouldFail() {
+        Game game = createGame();
+        Deck deck = new Deck("deck-1");
+        deckRepository.save(deck);
+        gameService.addPlayer(game.getId(), "Bob");
+        long version = gameService.getGameVersion(game.getId());
+
+        CommandFailedException e = assertThrows(CommandFailedException.class, () -> gameService.executeCommands(
+                game.getId(), List.of(
+                        GameCommand.addPlayer("Alice"),
+                        GameCommand.addDecks(List.of("deck-1")),
+                        GameCommand.deal("Alice", 50),
+                        GameCommand.removePlayer("Bob"),
+                        GameCommand.deal("Alice", 3)),
+                Game.ANY_VERSION, result -> result.getType()));
+
+        assertEquals(4, e.getCommandIndex());
+        assertInstanceOf(IllegalStateException.class, e.getCause());
+        assertEquals("Command 4 failed: Not enough cards in shoe. Requested: 3, Available: 2", e.getMessage());
+        assertNull(game.getPlayer("Alice"));
+        assertNotNull(game.getPlayer("Bob"));
+        assertEquals(0, game.getShoeSize());
+        assertFalse(deck.isAdded());
+        assertEquals(List.of(deck), deckRepository.findUnassigned(null, 10));
+        assertEquals(version, gameService.getGameVersion(game.getId()));
+
+        e = assertThrows(CommandFailedException.class, () -> gameService.executeCommands(
+                game.getId(), List.of(
+                        GameCommand.addNewDecks(1),
+                        GameCommand.removePlayer("Bob"),
+                        GameCommand.deal("Bob", 1)),
+                Game.ANY_VERSION, result -> result));
+        assertEquals(2, e.getCommandIndex());
+        assertInstanceOf(IllegalArgumentException.class, e.getCause());
+        assertNotNull(game.getPlayer("Bob"));
+        assertEquals(version, gameService.getGameVersion(game.getId()));
+    }
+
+    @Test
+    void testExecuteCommandsReleasesClaimedDecksWhenTheExecutorFails() {
+        GameExecutor gameExecutor = new GameExecutor(ExecutionMode.MAILBOX, 1, 8);
+        GameService mailboxService = new GameService(gameRepository, deckRepository,
+                RandomMode.FAST, ShuffleService.inline(), gameExecutor);
+        Game game = mailboxService.createGame("Mailbox Game");
+        Deck deck = new Deck("deck-1");
+        deckRepository.save(deck);
+        gameExecutor.shutdown();
+
+        assertThrows(IllegalStateException.class, () -> mailboxService.executeCommands(game.getId(),
+                List.of(GameCommand.addDecks(List.of("deck-1"))), Game.ANY_VERSION, result -> result));
+
+        assertFalse(deck.isAdded());
+        assertEquals(List.of(deck), deckRepository.findUnassigned(null, 10));
+    }
+
+    @Test
+    void testExecuteCommandsChecksVersionBeforeFirstCommand() {
+        Game game = createGame();
+        long stale = gameService.getGameVersion(game.getId()) + 1;
+
+        CommandFailedException e = assertThrows(CommandFailedException.class, () -> gameService.executeCommands(
+                game.getId(), List.of(GameCommand.addPlayer("Alice")), stale, result -> result));
+
+        assertEquals(0, e.getCommandIndex());
+        assertInstanceOf(StaleVersionException.class, e.getCause());
+        assertNull(game.getPlayer("Alice"));
+    }
+
+    @Test
+    void testExecuteCommandsReleasesClaimedDecksWhenAClaimFails() {
+        Game game = createGame();
+        Deck deck = new Deck("deck-1");
+        deckRepository.save(deck);
+
+        CommandFailedException e = assertThrows(CommandFailedException.class, () -> gameService.executeCommands(
+                game.getId(), List.of(
+                        GameCommand.addDecks(List.of("deck-1")),
+                        GameCommand.addDecks(List.of("missing"))),
+                Game.ANY_VERSION, result -> result));
+
+        assertEquals(1, e.getCommandIndex());
+        assertFalse(deck.isAdded());
+        assertEquals(0, game.getShoeSize());
+        assertThrows(IllegalArgumentException.class,
+                () -> gameService.executeCommands(game.getId(), List.of(), Game.ANY_VERSION, result -> result));
+    }
+
     @Test
     void testGetGamesEmpty() {
         List<Game> games = gameService.getGames();
@@ -128,6 +424,69 @@ class GameServiceTest {
         });
     }
 
+    @Test
+    void testCannotAddDeckToTwoGames() {
+        Game first = createGame();
+        Game second = gameService.createGame("Second Game");
+        var deck = deckService.createDeck();
+
+        gameService.addDeckToGame(first.getId(), deck.getId());
+
+        assertThrows(IllegalStateException.class, () -> gameService.addDeckToGame(second.getId(), deck.getId()));
+        assertEquals(0, second.getShoeSize());
+        assertEquals(first.getId(), deck.getGameId());
+        assertFalse(deckService.getUnassignedDeckIds().contains(deck.getId()));
+    }
+
+    @Test
+    void testAddDecksToGame() {
+        Game game = createGame();
+        var deckIds = deckService.createDecks(8).stream().map(deck -> deck.getId()).toList();
+
+        gameService.addDecksToGame(game.getId(), deckIds);
+
+        assertEquals(416, game.getShoeSize());
+        assertEquals(Set.copyOf(deckIds), gameService.getAddedDeckIds(game.getId()));
+        assertTrue(deckService.getUnassignedDeckIds().isEmpty());
+    }
+
+    @Test
+    void testAddDecksToGameIsAllOrNothing() {
+        Game game = createGame();
+        var added = deckService.createDeck();
+        var fresh = deckService.createDeck();
+        gameService.addDeckToGame(game.getId(), added.getId());
+
+        assertThrows(IllegalStateException.class,
+                () -> gameService.addDecksToGame(game.getId(), List.of(fresh.getId(), added.getId())));
+        assertThrows(IllegalArgumentException.class,
+                () -> gameService.addDecksToGame(game.getId(), List.of(fresh.getId(), "missing")));
+        assertThrows(IllegalArgumentException.class,
+                () -> gameService.addDecksToGame(game.getId(), Arrays.asList(fresh.getId(), null)));
+        assertThrows(IllegalArgumentException.class,
+                () -> gameService.addDecksToGame(game.getId(), List.of(fresh.getId(), " ")));
+
+        assertEquals(52, game.getShoeSize());
+        assertFalse(fresh.isAdded());
+        assertEquals(List.of(fresh.getId()), deckService.getUnassignedDeckIds());
+    }
+
+    @Test
+    void testAddNewDecksToGame() {
+        Game game = createGame();
+
+        List<String> deckIds = gameService.addNewDecksToGame(game.getId(), 416);
+
+        assertEquals(416, deckIds.size());
+        assertEquals(416 * 52, game.getShoeSize());
+        assertEquals(416, gameService.getAddedDeckIds(game.getId()).size());
+        assertTrue(deckService.deckExists(deckIds.get(0)));
+        assertTrue(deckService.getUnassignedDeckIds().isEmpty());
+        assertThrows(IllegalArgumentException.class, () -> gameService.addNewDecksToGame(game.getId(), 0));
+        assertThrows(IllegalArgumentException.class,
+                () -> gameService.addNewDecksToGame(game.getId(), DeckService.MAX_BULK_DECKS + 1));
+    }
+
     @Test
     void testAddPlayer() {
         Game game = createGame();
@@ -201,6 +560,50 @@ class GameServiceTest {
         assertThrows(IllegalStateException.class, () -> gameService.dealCards(game.getId(), "Alice", 53));
     }
 
+    @Test
+    void testDealRound() {
+        Game game = createGame();
+        gameService.addNewDecksToGame(game.getId(), 1);
+        gameService.addPlayer(game.getId(), "Bob");
+        gameService.addPlayer(game.getId(), "Alice");
+        long version = gameService.getGameVersion(game.getId());
+
+        Map<String, List<Card>> hands = gameService.dealRound(game.getId(), 3, List.of("Bob", "Alice"), version);
+
+        assertEquals(List.of("Bob", "Alice"), new ArrayList<>(hands.keySet()));
+        assertEquals(3, hands.get("Alice").size());
+        assertEquals(46, game.getShoeSize());
+        assertEquals(version + 1, gameService.getGameVersion(game.getId()));
+        assertThrows(StaleVersionException.class, () -> gameService.dealRound(game.getId(), 1, null, version));
+    }
+
+    @Test
+    void testDealRoundWithoutOrderDealsToEveryPlayerByName() {
+        Game game = createGame();
+        gameService.addNewDecksToGame(game.getId(), 1);
+        gameService.addPlayer(game.getId(), "Carol");
+        gameService.addPlayer(game.getId(), "Alice");
+        gameService.addPlayer(game.getId(), "Bob");
+
+        Map<String, List<Card>> hands = gameService.dealRound(game.getId(), 2, null);
+
+        assertEquals(List.of("Alice", "Bob", "Carol"), new ArrayList<>(hands.keySet()));
+        assertEquals(46, game.getShoeSize());
+        assertThrows(IllegalStateException.class, () -> gameService.dealRound(game.getId(), 16, List.of()));
+        assertEquals(46, game.getShoeSize());
+    }
+
+    @Test
+    void testDealRoundWithoutPlayersReportsNoPlayers() {
+        Game game = createGame();
+        gameService.addNewDecksToGame(game.getId(), 1);
+
+        IllegalStateException e = assertThrows(IllegalStateException.class,
+                () -> gameService.dealRound(game.getId(), 1, null));
+        assertEquals("There are no players to deal to", e.getMessage());
+        assertEquals(52, game.getShoeSize());
+    }
+
     @Test
     void testDealAllCardsFromSingleDeck() {
         Game game = createGame();
@@ -262,6 +665,26 @@ class GameServiceTest {
         assertTrue(sortedPlayers.get(0).getHandValue() >= sortedPlayers.get(1).getHandValue());
     }
 
+    @Test
+    void testGetPlayersSortedPageAndRank() {
+        Game game = createGame();
+        var deck = deckService.createDeck();
+        gameService.addDeckToGame(game.getId(), deck.getId());
+        gameService.addPlayer(game.getId(), "Alice");
+        gameService.addPlayer(game.getId(), "Bob");
+        gameService.addPlayer(game.getId(), "Carol");
+        gameService.dealCards(game.getId(), "Bob", 3);     // 1 + 2 + 3 of Hearts = 6
+        gameService.dealCards(game.getId(), "Carol", 1);   // 4 of Hearts = 4
+
+        List<Player> top = gameService.getPlayersSorted(game.getId(), 0, 2);
+        assertEquals(List.of("Bob", "Carol"), top.stream().map(Player::getName).toList());
+        List<Player> rest = gameService.getPlayersSorted(game.getId(), 2, 5);
+        assertEquals(List.of("Alice"), rest.stream().map(Player::getName).toList());
+        assertEquals(1, gameService.getPlayerRank(game.getId(), "Bob"));
+        assertEquals(3, gameService.getPlayerRank(game.getId(), "Alice"));
+        assertThrows(IllegalArgumentException.class, () -> gameService.getPlayersSorted(game.getId(), -1, 2));
+    }
+
     @Test
     void testGetUndealtCardsBySuit() {
         Game game = createGame();
@@ -291,6 +714,26 @@ class GameServiceTest {
         assertEquals(47, totalCards);
     }
 
+    @Test
+    void testGetUndealtCardsCountOrderAndValues() {
+        Game game = createGame();
+        var deck = deckService.createDeck();
+        gameService.addDeckToGame(game.getId(), deck.getId());
+        gameService.addPlayer(game.getId(), "Alice");
+        gameService.dealCards(game.getId(), "Alice", 1); // Ace of Hearts
+
+        var cardCounts = gameService.getUndealtCardsCount(game.getId());
+
+        assertEquals(List.of(Suit.HEARTS, Suit.SPADES, Suit.CLUBS, Suit.DIAMONDS),
+                List.copyOf(cardCounts.keySet()));
+        var hearts = List.copyOf(cardCounts.get(Suit.HEARTS).keySet());
+        assertEquals(FaceValue.KING, hearts.get(0));
+        assertEquals(FaceValue.ACE, hearts.get(hearts.size() - 1));
+        assertEquals(0, cardCounts.get(Suit.HEARTS).get(FaceValue.ACE));
+        assertEquals(1, cardCounts.get(Suit.SPADES).get(FaceValue.ACE));
+        assertEquals(12, gameService.getUndealtCardsBySuit(game.getId()).get(Suit.HEARTS));
+    }
+
     @Test
     void testShuffleGameDeck() {
         Game game = createGame();
@@ -353,5 +796,74 @@ class GameServiceTest {
         assertEquals(52, afterReset.getShoeSize());
     }
 
-}
+    @Test
+    void testConcurrentDealsAndReadsSeeConsistentState() throws InterruptedException {
+        Game game = createGame();
+        for (int i = 0; i < 4; i++) {
+            gameService.addDeckToGame(game.getId(), deckService.createDeck().getId());
+            gameService.addPlayer(game.getId(), "Player " + i);
+        }
+
+        AtomicBoolean tornRead = new AtomicBoolean();
+        AtomicBoolean dealing = new AtomicBoolean(true);
+        List<Thread> threads = new ArrayList<>();
+        for (int i = 0; i < 4; i++) {
+            String playerName = "Player " + i;
+            threads.add(new Thread(() -> {
+                for (int round = 0; round < 26; round++) {
+                    gameService.dealCards(game.getId(), playerName, 2);
+                }
+            }));
+        }
+        Thread reader = new Thread(() -> {
+            while (dealing.get()) {
+                // Cards are dealt in pairs, so a consistent view always has an even number left
+                Map<Suit, Integer> suitCounts = gameService.getUndealtCardsBySuit(game.getId());
+                int undealt = suitCounts.values().stream().mapToInt(Integer::intValue).sum();
+                int held = gameService.getPlayersSorted(game.getId()).stream().mapToInt(Player::getHandSize).sum();
+                if (undealt % 2 != 0 || held % 2 != 0) {
+                    tornRead.set(true);
+                }
+            }
+        });
+        reader.start();
+        threads.forEach(Thread::start);
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        dealing.set(false);
+        reader.join();
+
+        assertFalse(tornRead.get());
+        assertEquals(0, gameService.findGameById(game.getId()).getShoeSize());
+        for (Player player : gameService.getPlayersSorted(game.getId())) {
+            assertEquals(52, player.getHandSize());
+        }
+    }
 
+    @Test
+    void testMailboxExecutionMode() {
+        GameExecutor gameExecutor = new GameExecutor(ExecutionMode.MAILBOX, 2, 8);
+        try {
+            GameService mailboxService = new GameService(gameRepository, deckRepository,
+                    RandomMode.FAST, ShuffleService.inline(), gameExecutor);
+            Game game = mailboxService.createGame("Mailbox Game");
+            mailboxService.addDeckToGame(game.getId(), deckService.createDeck().getId());
+            mailboxService.addPlayer(game.getId(), "Alice");
+            mailboxService.shuffleGameDeck(game.getId());
+
+            assertEquals(5, mailboxService.dealCards(game.getId(), "Alice", 5).size());
+            assertEquals(5, mailboxService.getPlayerCards(game.getId(), "Alice").size());
+            long version = mailboxService.getGameVersion(game.getId());
+            assertThrows(IllegalArgumentException.class, () -> mailboxService.removePlayer(game.getId(), "Bob"));
+            assertThrows(IllegalArgumentException.class, () -> mailboxService.dealCards(game.getId(), "Bob", 1));
+            assertEquals(version, mailboxService.getGameVersion(game.getId()));
+
+            mailboxService.resetGame(game.getId());
+            assertEquals(52, mailboxService.findGameById(game.getId()).getShoeSize());
+        } finally {
+            gameExecutor.shutdown();
+        }
+    }
+
+}
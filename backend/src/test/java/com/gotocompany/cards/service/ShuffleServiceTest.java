@@ -0,0 +1,144 @@
+package com.gotocompany.cards.service;
+
+import com.gotocompany.cards.model.Card;
+import com.gotocompany.cards.model.Deck;
+import com.gotocompany.cards.model.Game;
+import com.gotocompany.cards.util.RandomMode;
+import com.gotocompany.cards.util.ShuffleUtil;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ShuffleServiceTest {
+
+    private ShuffleService shuffleService;
+
+    @AfterEach
+    void tearDown() {
+        if (shuffleService != null) {
+            shuffleService.shutdown();
+        }
+    }
+
+    @Test
+    void testInlineServiceShufflesWithoutPool() {
+        shuffleService = ShuffleService.inline();
+        Game game = gameWithDecks(1);
+
+        shuffleService.shuffle(game);
+
+        assertFalse(shuffleService.isEnabled());
+        assertEquals(52, game.getShoeSize());
+        assertEquals(0, shuffleService.getHits());
+        assertEquals(0, shuffleService.getMisses());
+    }
+
+    @Test
+    void testPooledSizeIsServedFromPoolAndRefilled() throws InterruptedException {
+        shuffleService = new ShuffleService(true, new int[]{1}, new RandomMode[]{RandomMode.STRONG}, 2, 1 << 20);
+        awaitPooled(2);
+        assertEquals(2L * 52 * Integer.BYTES, shuffleService.getPooledBytes());
+
+        Game game = gameWithDecks(1);
+        Map<Card, Integer> before = cardCounts(game.getShoe());
+        shuffleService.shuffle(game);
+
+        assertEquals(1, shuffleService.getHits());
+        assertEquals(0, shuffleService.getMisses());
+        assertEquals(before, cardCounts(game.getShoe()));
+        awaitPooled(2);
+    }
+
+    @Test
+    void testUnpooledSizeOrModeFallsBackToInlineShuffle() throws InterruptedException {
+        shuffleService = new ShuffleService(true, new int[]{1}, new RandomMode[]{RandomMode.STRONG}, 1, 1 << 20);
+        awaitPooled(1);
+
+        Game twoDecks = gameWithDecks(2);
+        shuffleService.shuffle(twoDecks);
+        Game fast = gameWithDecks(1);
+        fast.setRandomMode(RandomMode.FAST);
+        shuffleService.shuffle(fast);
+
+        assertEquals(0, shuffleService.getHits());
+        assertEquals(2, shuffleService.getMisses());
+        assertEquals(104, twoDecks.getShoeSize());
+        assertEquals(1, shuffleService.getPooledPermutations());
+    }
+
+    @Test
+    void testPoolRespectsMemoryBudget() throws InterruptedException {
+        // Room for three 52-card permutations only
+        shuffleService = new ShuffleService(true, new int[]{1}, new RandomMode[]{RandomMode.STRONG, RandomMode.FAST},
+                8, 3L * 52 * Integer.BYTES);
+        awaitPooled(3);
+        Thread.sleep(50);
+        assertEquals(3, shuffleService.getPooledPermutations());
+        assertEquals(3L * 52 * Integer.BYTES, shuffleService.getPooledBytes());
+    }
+
+    @Test
+    void testLazyGameDoesNotUsePool() throws InterruptedException {
+        shuffleService = new ShuffleService(true, new int[]{1}, new RandomMode[]{RandomMode.STRONG}, 1, 1 << 20);
+        awaitPooled(1);
+        Game game = gameWithDecks(1);
+        game.setLazyShuffle(true);
+
+        shuffleService.shuffle(game);
+
+        assertEquals(0, shuffleService.getHits());
+        assertEquals(0, shuffleService.getMisses());
+        assertEquals(1, shuffleService.getPooledPermutations());
+    }
+
+    @Test
+    void testShuffleEmptyShoeStillThrows() {
+        shuffleService = new ShuffleService(true, new int[]{1}, new RandomMode[]{RandomMode.STRONG}, 1, 1 << 20);
+        Game game = new Game("game-1", "Test Game");
+        assertThrows(IllegalStateException.class, () -> shuffleService.shuffle(game));
+    }
+
+    @Test
+    void testParallelThresholdIsPerService() {
+        shuffleService = new ShuffleService(false, new int[0], new RandomMode[0], 1, 0, 2048);
+        assertEquals(2048, shuffleService.getParallelThreshold());
+        assertEquals(ShuffleUtil.DEFAULT_PARALLEL_THRESHOLD, ShuffleService.inline().getParallelThreshold());
+
+        Game game = gameWithDecks(40); // 2080 cards, shuffled in parallel on a multi-core machine
+        Map<Card, Integer> before = cardCounts(game.getShoe());
+        shuffleService.shuffle(game);
+        assertEquals(before, cardCounts(game.getShoe()));
+
+        assertThrows(IllegalArgumentException.class,
+                () -> new ShuffleService(false, new int[0], new RandomMode[0], 1, 0, 1));
+    }
+
+    private Game gameWithDecks(int decks) {
+        Game game = new Game("game-1", "Test Game");
+        for (int i = 0; i < decks; i++) {
+            game.addDeck(new Deck(String.valueOf(i)));
+        }
+        return game;
+    }
+
+    private void awaitPooled(int permutations) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 5000;
+        while (shuffleService.getPooledPermutations() < permutations) {
+            assertTrue(System.currentTimeMillis() < deadline, "Pool was not filled in time");
+            Thread.sleep(5);
+        }
+    }
+
+    private Map<Card, Integer> cardCounts(List<Card> cards) {
+        Map<Card, Integer> counts = new HashMap<>();
+        for (Card card : cards) {
+            counts.merge(card, 1, Integer::sum);
+        }
+        return counts;
+    }
+}
@@ -0,0 +1,63 @@
+package com.gotocompany.cards.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class IdStrategyTest {
+
+    @Test
+    void testFormatIsFixedWidthAndOrderPreserving() {
+        assertEquals("0000000000000", IdStrategy.format(0));
+        assertEquals("000000000000z", IdStrategy.format(31));
+        assertEquals("0000000000010", IdStrategy.format(32));
+        assertEquals("7zzzzzzzzzzzz", IdStrategy.format(Long.MAX_VALUE));
+        assertTrue(IdStrategy.format(1_000_000).compareTo(IdStrategy.format(1_000_001)) < 0);
+    }
+
+    @Test
+    void testTimeOrderedIdsAreCompactAndIncreasing() {
+        String previous = IdStrategy.TIME_ORDERED.nextId();
+        for (int i = 0; i < 100_000; i++) {
+            String id = IdStrategy.TIME_ORDERED.nextId();
+            assertEquals(13, id.length());
+            assertTrue(previous.compareTo(id) < 0);
+            previous = id;
+        }
+    }
+
+    @Test
+    void testTimeOrderedIdsAreUniqueAcrossThreads() throws InterruptedException {
+        Set<String> ids = ConcurrentHashMap.newKeySet();
+        List<Thread> threads = new ArrayList<>();
+        for (int t = 0; t < 8; t++) {
+            threads.add(new Thread(() -> {
+                for (int i = 0; i < 10_000; i++) {
+                    ids.add(IdStrategy.TIME_ORDERED.nextId());
+                }
+            }));
+        }
+        threads.forEach(Thread::start);
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        assertEquals(80_000, ids.size());
+    }
+
+    @Test
+    void testUuidIds() {
+        Set<String> ids = new HashSet<>();
+        for (int i = 0; i < 100; i++) {
+            String id = IdStrategy.UUID.nextId();
+            assertEquals(36, id.length());
+            ids.add(id);
+        }
+        assertEquals(100, ids.size());
+    }
+}
@@ -6,9 +6,14 @@ import com.gotocompany.cards.model.enums.Suit;
 import org.junit.jupiter.api.Test;
 
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -72,6 +77,156 @@ class ShuffleUtilTest {
         assertEquals(originalSize, cards.size());
     }
 
+    @Test
+    void testShuffleArrayRangeLeavesOutsideUntouched() {
+        byte[] cards = new byte[52];
+        for (int i = 0; i < cards.length; i++) {
+            cards[i] = (byte) i;
+        }
+
+        ShuffleUtil.shuffle(cards, 10, 40);
+
+        Set<Byte> shuffled = new HashSet<>();
+        for (int i = 0; i < cards.length; i++) {
+            if (i < 10 || i >= 40) {
+                assertEquals(i, cards[i]);
+            } else {
+                shuffled.add(cards[i]);
+            }
+        }
+        assertEquals(30, shuffled.size());
+    }
+
+    @Test
+    void testBatchedShuffleIsUniform() {
+        // 4 elements have 24 permutations; count how often each one is produced
+        SplittableRandom random = new SplittableRandom(7);
+        Map<String, Integer> counts = new HashMap<>();
+        int samples = 48_000;
+        for (int s = 0; s < samples; s++) {
+            byte[] cards = {0, 1, 2, 3};
+            ShuffleUtil.shuffle(cards, 0, cards.length, random);
+            counts.merge(Arrays.toString(cards), 1, Integer::sum);
+        }
+
+        assertEquals(24, counts.size());
+        double expected = samples / 24.0;
+        double chiSquare = 0;
+        for (int count : counts.values()) {
+            chiSquare += (count - expected) * (count - expected) / expected;
+        }
+        // Critical value for 23 degrees of freedom at p = 0.001
+        assertTrue(chiSquare < 49.73, "chi-square " + chiSquare);
+    }
+
+    @Test
+    void testBatchedShufflePositionsAreUniformForLargeRange() {
+        // Each card should land in each of 52 positions about equally often
+        SplittableRandom random = new SplittableRandom(11);
+        int[][] positions = new int[52][52];
+        int samples = 20_000;
+        for (int s = 0; s < samples; s++) {
+            byte[] cards = new byte[52];
+            for (int i = 0; i < cards.length; i++) {
+                cards[i] = (byte) i;
+            }
+            ShuffleUtil.shuffle(cards, 0, cards.length, random);
+            for (int i = 0; i < cards.length; i++) {
+                positions[cards[i]][i]++;
+            }
+        }
+
+        double expected = samples / 52.0;
+        for (int[] card : positions) {
+            for (int count : card) {
+                assertTrue(Math.abs(count - expected) < 6 * Math.sqrt(expected), "count " + count);
+            }
+        }
+    }
+
+    @Test
+    void testShuffleWithEachRandomMode() {
+        for (RandomMode mode : RandomMode.values()) {
+            byte[] cards = new byte[416];
+            for (int i = 0; i < cards.length; i++) {
+                cards[i] = (byte) (i % 52);
+            }
+            ShuffleUtil.shuffle(cards, 0, cards.length, mode);
+
+            int[] counts = new int[52];
+            for (byte card : cards) {
+                counts[card]++;
+            }
+            for (int count : counts) {
+                assertEquals(8, count);
+            }
+        }
+    }
+
+    @Test
+    void testParallelShuffleIsUniform() {
+        // Force several buckets and chunks onto a tiny array so every phase is exercised
+        ForkJoinPool pool = new ForkJoinPool(4);
+        try {
+            Map<String, Integer> counts = new HashMap<>();
+            int samples = 24_000;
+            for (int s = 0; s < samples; s++) {
+                byte[] cards = {9, 0, 1, 2, 3, 9};
+                ShuffleUtil.parallelShuffle(cards, 1, 5, RandomMode.FAST, pool, 2, 3);
+                assertEquals(9, cards[0]);
+                assertEquals(9, cards[5]);
+                counts.merge(Arrays.toString(cards), 1, Integer::sum);
+            }
+
+            assertEquals(24, counts.size());
+            double expected = samples / 24.0;
+            double chiSquare = 0;
+            for (int count : counts.values()) {
+                chiSquare += (count - expected) * (count - expected) / expected;
+            }
+            // Critical value for 23 degrees of freedom at p = 0.0001
+            assertTrue(chiSquare < 55.0, "chi-square " + chiSquare);
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    @Test
+    void testParallelShuffleKeepsAllCardsOfLargeShoe() {
+        ForkJoinPool pool = new ForkJoinPool(4);
+        try {
+            byte[] cards = new byte[52 * 2000];
+            for (int i = 0; i < cards.length; i++) {
+                cards[i] = (byte) (i % 52);
+            }
+            byte[] original = cards.clone();
+
+            ShuffleUtil.parallelShuffle(cards, 0, cards.length, RandomMode.STRONG, pool);
+
+            int[] counts = new int[52];
+            for (byte card : cards) {
+                counts[card]++;
+            }
+            for (int count : counts) {
+                assertEquals(2000, count);
+            }
+            assertFalse(Arrays.equals(original, cards));
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    @Test
+    void testRandomPermutationContainsEveryIndexOnce() {
+        int[] permutation = ShuffleUtil.randomPermutation(416, RandomMode.FAST.generator());
+        int[] sorted = permutation.clone();
+        Arrays.sort(sorted);
+        for (int i = 0; i < sorted.length; i++) {
+            assertEquals(i, sorted[i]);
+        }
+        assertEquals(0, ShuffleUtil.randomPermutation(0, RandomMode.FAST.generator()).length);
+    }
+
     private List<Card> createStandardDeck() {
         List<Card> deck = new ArrayList<>();
         for (Suit suit : Suit.values()) {
@@ -12,34 +12,22 @@ import {
   TextField,
   Typography,
 } from '@mui/material';
-import { dealCards, getPlayersSorted } from '../services/api';
+import { dealCards } from '../services/api';
 import { useGame } from '../context/GameContext';
 
 const CardDealer: React.FC = () => {
-  const { gameId, refreshTrigger, triggerRefresh } = useGame();
+  const { gameId, players, triggerRefresh } = useGame();
   const [selectedPlayer, setSelectedPlayer] = useState('');
   const [count, setCount] = useState(1);
   const [loading, setLoading] = useState(false);
   const [error, setError] = useState<string | null>(null);
   const [success, setSuccess] = useState<string | null>(null);
-  const [players, setPlayers] = useState<any[]>([]);
-
-  const loadPlayers = async () => {
-    if (!gameId) return;
-    try {
-      const data = await getPlayersSorted(gameId);
-      setPlayers(data);
-      if (data.length > 0 && !selectedPlayer) {
-        setSelectedPlayer(data[0].name);
-      }
-    } catch (err) {
-      // Ignore errors when loading
-    }
-  };
 
   useEffect(() => {
-    loadPlayers();
-  }, [gameId, refreshTrigger]);
+    if (!players.some(player => player.name === selectedPlayer)) {
+      setSelectedPlayer(players.length > 0 ? players[0].name : '');
+    }
+  }, [players]);
 
   const handleDealCards = async () => {
     if (!gameId) {
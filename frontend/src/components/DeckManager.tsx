@@ -16,7 +16,7 @@ import { createDeck, addDeckToGame, getAddedDeckIds, getUnassignedDeckIds } from
 import { useGame } from '../context/GameContext';
 
 const DeckManager: React.FC = () => {
-  const { gameId, decks, addDeck, triggerRefresh, refreshTrigger, replaceDecks } = useGame();
+  const { gameId, decks, addDeck, triggerRefresh, refreshTrigger, replaceDecks, subscribeToChanges } = useGame();
   const [loading, setLoading] = useState(false);
   const [error, setError] = useState<string | null>(null);
   const [unassignedDecks, setUnassignedDecks] = useState<string[]>([]);
@@ -113,6 +113,13 @@ const DeckManager: React.FC = () => {
     loadDecks();
   }, [gameId, refreshTrigger]);
 
+  // Decks added elsewhere arrive through the game's feed
+  useEffect(() => subscribeToChanges(events => {
+    if (events.some(event => event.type === 'DECKS_ADDED' || event.type === 'RESYNC')) {
+      loadDecks();
+    }
+  }), [subscribeToChanges, gameId]);
+
   return (
     <Card>
       <CardContent sx={{ display: 'flex', flexDirection: 'column', gap: 3 }}>
@@ -17,18 +17,35 @@ import {
   TextField,
   Typography,
 } from '@mui/material';
-import { createGame, deleteGame, getGames, resetGame } from '../services/api';
-import { useGame } from '../context/GameContext';
-import { Game } from '../types';
+import { createGame, deleteGame, getGameCounts, getGames, resetGame } from '../services/api';
+import { useGame, useGameView } from '../context/GameContext';
+import { GameEvent, GameSummary, GameSummaryCounts } from '../types';
+
+const applyToCounts = (counts: GameSummaryCounts, event: GameEvent): GameSummaryCounts | null => {
+  switch (event.type) {
+    case 'DEALT':
+      return { ...counts, shoeSize: counts.shoeSize - (event.cards || []).length };
+    case 'SHUFFLED':
+    case 'RESET':
+    case 'DECKS_ADDED':
+      return event.shoeSize === undefined ? null : { ...counts, shoeSize: event.shoeSize };
+    case 'PLAYER_ADDED':
+      return { ...counts, playerCount: counts.playerCount + 1 };
+    default:
+      return null;
+  }
+};
 
 const GameManager: React.FC = () => {
   const { gameId, gameName, setGameId, setGameName, triggerRefresh, replaceDecks, refreshTrigger } = useGame();
   const [loading, setLoading] = useState(false);
   const [error, setError] = useState<string | null>(null);
   const [deleteDialogOpen, setDeleteDialogOpen] = useState(false);
-  const [gameList, setGameList] = useState<Game[]>([]);
+  const [gameList, setGameList] = useState<GameSummary[]>([]);
   const [success, setSuccess] = useState<string | null>(null);
   const [newGameName, setNewGameName] = useState('');
+  // The current game's counts follow its feed, the other games' are as last listed
+  const [currentCounts] = useGameView(getGameCounts, applyToCounts);
 
   const handleCreateGame = async () => {
     setError(null);
@@ -95,7 +112,7 @@ const GameManager: React.FC = () => {
     }
   }, [gameId, setGameName]);
 
-  const handleSelectGame = async (gameToSelect: Game) => {
+  const handleSelectGame = async (gameToSelect: GameSummary) => {
     if (!gameToSelect?.id) return;
     setLoading(true);
     setError(null);
@@ -211,7 +228,7 @@ const GameManager: React.FC = () => {
             </Typography>
           ) : (
             <List disablePadding>
-              {gameList.map((game) => (
+              {gameList.map((listed) => ({ ...listed, ...(listed.id === gameId ? currentCounts : null) })).map((game) => (
                 <ListItem
                   key={game.id}
                   divider
@@ -12,54 +12,18 @@ import {
   Stack,
   Typography,
 } from '@mui/material';
-import { getPlayerCards, getPlayersSorted } from '../services/api';
 import { useGame } from '../context/GameContext';
-import { Card as CardType } from '../types';
 
 const PlayerHand: React.FC = () => {
-  const { gameId, refreshTrigger } = useGame();
+  const { players } = useGame();
   const [selectedPlayer, setSelectedPlayer] = useState('');
-  const [cards, setCards] = useState<CardType[]>([]);
-  const [players, setPlayers] = useState<any[]>([]);
-  const [loading, setLoading] = useState(false);
-
-  const loadPlayers = async () => {
-    if (!gameId) return;
-    try {
-      const data = await getPlayersSorted(gameId);
-      setPlayers(data);
-      if (data.length === 0) {
-        setSelectedPlayer('');
-        setCards([]);
-      }
-      if (data.length > 0 && !selectedPlayer) {
-        setSelectedPlayer(data[0].name);
-      }
-    } catch (err) {
-      // Ignore errors when loading
-    }
-  };
-
-  const loadPlayerCards = async () => {
-    if (!gameId || !selectedPlayer) return;
-    setLoading(true);
-    try {
-      const data = await getPlayerCards(gameId, selectedPlayer);
-      setCards(data);
-    } catch (err) {
-      setCards([]);
-    } finally {
-      setLoading(false);
-    }
-  };
-
-  useEffect(() => {
-    loadPlayers();
-  }, [gameId, refreshTrigger]);
+  const cards = players.find(player => player.name === selectedPlayer)?.hand ?? [];
 
   useEffect(() => {
-    loadPlayerCards();
-  }, [selectedPlayer, refreshTrigger]);
+    if (!players.some(player => player.name === selectedPlayer)) {
+      setSelectedPlayer(players.length > 0 ? players[0].name : '');
+    }
+  }, [players]);
 
   const getCardColor = (suit: string) => {
     switch (suit) {
@@ -1,4 +1,4 @@
-import React, { useState, useEffect } from 'react';
+import React, { useState } from 'react';
 import {
   Alert,
   Box,
@@ -15,29 +15,14 @@ import {
   Typography,
 } from '@mui/material';
 import DeleteIcon from '@mui/icons-material/Delete';
-import { addPlayer, removePlayer, getPlayersSorted } from '../services/api';
+import { addPlayer, removePlayer } from '../services/api';
 import { useGame } from '../context/GameContext';
 
 const PlayerManager: React.FC = () => {
-  const { gameId, refreshTrigger, triggerRefresh } = useGame();
+  const { gameId, players, triggerRefresh } = useGame();
   const [playerName, setPlayerName] = useState('');
   const [loading, setLoading] = useState(false);
   const [error, setError] = useState<string | null>(null);
-  const [players, setPlayers] = useState<any[]>([]);
-
-  const loadPlayers = async () => {
-    if (!gameId) return;
-    try {
-      const data = await getPlayersSorted(gameId);
-      setPlayers(data);
-    } catch (err) {
-      // Ignore errors when loading
-    }
-  };
-
-  useEffect(() => {
-    loadPlayers();
-  }, [gameId, refreshTrigger]);
 
   const handleAddPlayer = async () => {
     if (!gameId) {
@@ -54,7 +39,6 @@ const PlayerManager: React.FC = () => {
       await addPlayer(gameId, { playerName: playerName.trim() });
       triggerRefresh();
       setPlayerName('');
-      await loadPlayers();
     } catch (err: any) {
       setError(err.response?.data?.message || 'Failed to add player');
     } finally {
@@ -69,7 +53,6 @@ const PlayerManager: React.FC = () => {
     try {
       await removePlayer(gameId, name);
       triggerRefresh();
-      await loadPlayers();
     } catch (err: any) {
       setError(err.response?.data?.message || 'Failed to remove player');
     } finally {
@@ -1,4 +1,4 @@
-import React, { useState, useEffect } from 'react';
+import React from 'react';
 import {
   Alert,
   Card,
@@ -14,33 +14,10 @@ import {
   TableRow,
   Typography,
 } from '@mui/material';
-import { getPlayersSorted } from '../services/api';
 import { useGame } from '../context/GameContext';
 
 const PlayersLeaderboard: React.FC = () => {
-  const { gameId, refreshTrigger } = useGame();
-  const [players, setPlayers] = useState<any[]>([]);
-  const [loading, setLoading] = useState(false);
-
-  const loadPlayers = async () => {
-    if (!gameId) {
-      setPlayers([]);
-      return;
-    }
-    setLoading(true);
-    try {
-      const data = await getPlayersSorted(gameId);
-      setPlayers(data);
-    } catch (err) {
-      setPlayers([]);
-    } finally {
-      setLoading(false);
-    }
-  };
-
-  useEffect(() => {
-    loadPlayers();
-  }, [gameId, refreshTrigger]);
+  const { gameId, players } = useGame();
 
   return (
     <Card>
@@ -1,4 +1,4 @@
-import React, { useState, useEffect } from 'react';
+import React, { useState } from 'react';
 import {
   Alert,
   Box,
@@ -11,50 +11,48 @@ import {
   Tabs,
   Typography,
 } from '@mui/material';
-import { getUndealtCardsBySuit, getUndealtCardsCount } from '../services/api';
-import { useGame } from '../context/GameContext';
-import { Suit, FaceValue } from '../types';
+import { decodeCard, getUndealtCardsBySuit, getUndealtCardsCount } from '../services/api';
+import { useGame, useGameView } from '../context/GameContext';
+import { Suit, FaceValue, GameEvent, UndealtCardsBySuit, UndealtCardsCount } from '../types';
 
-const UndealtCardsView: React.FC = () => {
-  const { gameId, refreshTrigger } = useGame();
-  const [tabValue, setTabValue] = useState(0);
-  const [suitCounts, setSuitCounts] = useState<Record<Suit, number> | null>(null);
-  const [cardCounts, setCardCounts] = useState<any>(null);
-  const [loading, setLoading] = useState(false);
-
-  const loadSuitCounts = async () => {
-    if (!gameId) return;
-    setLoading(true);
-    try {
-      const data = await getUndealtCardsBySuit(gameId);
-      setSuitCounts(data.suitCounts);
-    } catch (err) {
-      setSuitCounts(null);
-    } finally {
-      setLoading(false);
-    }
-  };
+type UndealtCounts = UndealtCardsBySuit | UndealtCardsCount;
 
-  const loadCardCounts = async () => {
-    if (!gameId) return;
-    setLoading(true);
-    try {
-      const data = await getUndealtCardsCount(gameId);
-      setCardCounts(data.cardCounts);
-    } catch (err) {
-      setCardCounts(null);
-    } finally {
-      setLoading(false);
+// Takes dealt cards off the counts; other changes that move cards in or out of the shoe read them again
+const applyToCounts = (counts: UndealtCounts, event: GameEvent): UndealtCounts | null => {
+  switch (event.type) {
+    case 'DEALT': {
+      const cards = (event.cards || []).map(decodeCard);
+      if ('suitCounts' in counts) {
+        const suitCounts = { ...counts.suitCounts };
+        cards.forEach(card => {
+          suitCounts[card.suit] -= 1;
+        });
+        return { suitCounts };
+      }
+      const cardCounts = { ...counts.cardCounts };
+      cards.forEach(card => {
+        cardCounts[card.suit] = { ...cardCounts[card.suit], [card.faceValue]: cardCounts[card.suit][card.faceValue] - 1 };
+      });
+      return { cardCounts };
     }
-  };
+    case 'PLAYER_ADDED':
+    case 'SHUFFLED':
+      return counts;
+    default:
+      return null;
+  }
+};
 
-  useEffect(() => {
-    if (tabValue === 0) {
-      loadSuitCounts();
-    } else {
-      loadCardCounts();
-    }
-  }, [gameId, refreshTrigger, tabValue]);
+const UndealtCardsView: React.FC = () => {
+  const { gameId } = useGame();
+  const [tabValue, setTabValue] = useState(0);
+  const [counts] = useGameView<UndealtCounts>(
+    id => (tabValue === 0 ? getUndealtCardsBySuit(id) : getUndealtCardsCount(id)),
+    applyToCounts,
+    [tabValue],
+  );
+  const suitCounts = counts && 'suitCounts' in counts ? counts.suitCounts : null;
+  const cardCounts: any = counts && 'cardCounts' in counts ? counts.cardCounts : null;
 
   const getSuitColor = (suit: Suit) => {
     switch (suit) {
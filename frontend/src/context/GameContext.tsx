@@ -1,4 +1,8 @@
-import React, { createContext, useContext, useState, ReactNode } from 'react';
+import React, { createContext, useCallback, useContext, useEffect, useRef, useState, ReactNode } from 'react';
+import { decodeCard, followGame, getPlayersSorted } from '../services/api';
+import { GameEvent, Player, Versioned } from '../types';
+
+type ChangeListener = (events: GameEvent[]) => void;
 
 interface GameContextType {
   gameId: string | null;
@@ -11,15 +15,169 @@ interface GameContextType {
   triggerRefresh: () => void;
   clearGameDecks: () => void;
   replaceDecks: (deckIds: string[]) => void;
+  players: Player[];
+  playersLoading: boolean;
+  subscribeToChanges: (listener: ChangeListener) => () => void;
 }
 
 const GameContext = createContext<GameContextType | undefined>(undefined);
 
+interface ViewState<T> {
+  data: T | null;
+  version: number; // Game version the data reflects, NaN when the server sent none
+  fromRead: boolean; // Whether the version was read, rather than reached by applying deltas
+  loading: boolean;
+  pending: GameEvent[]; // Deltas received while loading
+  loadId: number; // Latest load; results of earlier ones are dropped
+}
+
+// Keeps a view of the game in step with the game's feed: the view is read once, then
+// each delta after the version read is applied locally. Deltas the read already covers
+// are skipped. A gap in the versions, a RESYNC, or a delta `apply` can't handle
+// (it returns null) reads the view again.
+const useVersionedView = <T,>(
+  gameId: string | null,
+  refreshTrigger: number,
+  subscribeToChanges: (listener: ChangeListener) => () => void,
+  load: (gameId: string) => Promise<Versioned<T>>,
+  apply: (data: T, event: GameEvent) => T | null,
+  deps: React.DependencyList,
+): [T | null, boolean] => {
+  const [data, setData] = useState<T | null>(null);
+  const [loading, setLoading] = useState(false);
+  const view = useRef<ViewState<T>>({ data: null, version: NaN, fromRead: true, loading: false, pending: [], loadId: 0 });
+  const loadRef = useRef(load);
+  const applyRef = useRef(apply);
+  loadRef.current = load;
+  applyRef.current = apply;
+
+  const reloadRef = useRef<() => void>(() => {});
+  const receiveRef = useRef<ChangeListener>(() => {});
+
+  receiveRef.current = (events: GameEvent[]) => {
+    const current = view.current;
+    if (current.loading) {
+      current.pending.push(...events);
+      return;
+    }
+    if (current.data === null || events.length === 0) {
+      return;
+    }
+    if (Number.isNaN(current.version)) {
+      reloadRef.current(); // Can't tell which deltas the read covered
+      return;
+    }
+    let next: T = current.data;
+    for (const event of events) {
+      if (event.type === 'RESYNC') {
+        reloadRef.current();
+        return;
+      }
+      if (event.version < current.version || (event.version === current.version && current.fromRead)) {
+        continue;
+      }
+      // Deltas of one change share its version, so a delta continues at the same version or the next
+      const expectedFirst = event.version === current.version ? current.version : current.version + 1;
+      const applied = (event.firstVersion ?? event.version) === expectedFirst ? applyRef.current(next, event) : null;
+      if (applied === null) {
+        reloadRef.current();
+        return;
+      }
+      next = applied;
+      current.version = event.version;
+      current.fromRead = false;
+    }
+    current.data = next;
+    setData(next);
+  };
+
+  const reload = useCallback(async () => {
+    const current = view.current;
+    const loadId = ++current.loadId;
+    current.pending = [];
+    if (!gameId) {
+      current.data = null;
+      current.loading = false;
+      setData(null);
+      return;
+    }
+    current.loading = true;
+    setLoading(true);
+    try {
+      const result = await loadRef.current(gameId);
+      if (loadId !== current.loadId) {
+        return;
+      }
+      current.data = result.data;
+      current.version = result.version;
+      current.fromRead = true;
+      current.loading = false;
+      setData(result.data);
+      const pending = current.pending;
+      current.pending = [];
+      receiveRef.current(pending);
+    } catch (err) {
+      if (loadId === current.loadId) {
+        current.data = null;
+        current.loading = false;
+        setData(null);
+      }
+    } finally {
+      if (loadId === current.loadId) {
+        setLoading(false);
+      }
+    }
+  }, [gameId]);
+  reloadRef.current = reload;
+
+  useEffect(() => {
+    reload();
+  }, [reload, refreshTrigger, ...deps]);
+
+  useEffect(() => subscribeToChanges(events => receiveRef.current(events)), [subscribeToChanges]);
+
+  return [data, loading];
+};
+
+// Orders players as the leaderboard does: by hand value, highest first, then by name
+const rankPlayers = (players: Player[]): Player[] =>
+  [...players].sort((a, b) => b.handValue - a.handValue || (a.name < b.name ? -1 : a.name > b.name ? 1 : 0));
+
+const applyToPlayers = (players: Player[], event: GameEvent): Player[] | null => {
+  switch (event.type) {
+    case 'DEALT': {
+      if (!players.some(player => player.name === event.player)) {
+        return null;
+      }
+      const cards = (event.cards || []).map(decodeCard);
+      const value = cards.reduce((sum, card) => sum + card.value, 0);
+      return rankPlayers(players.map(player => player.name !== event.player ? player : {
+        ...player,
+        hand: [...player.hand, ...cards],
+        handValue: player.handValue + value,
+        handSize: player.handSize + cards.length,
+      }));
+    }
+    case 'PLAYER_ADDED':
+      return rankPlayers([
+        ...players.filter(player => player.name !== event.player),
+        { name: event.player as string, hand: [], handValue: 0, handSize: 0 },
+      ]);
+    case 'PLAYER_REMOVED':
+      return players.filter(player => player.name !== event.player);
+    case 'RESET':
+      return rankPlayers(players.map(player => ({ ...player, hand: [], handValue: 0, handSize: 0 })));
+    default:
+      return players; // Decks and shuffles leave the hands alone
+  }
+};
+
 export const GameProvider: React.FC<{ children: ReactNode }> = ({ children }) => {
   const [gameId, setGameId] = useState<string | null>(null);
   const [gameName, setGameName] = useState<string | null>(null);
   const [decks, setDecks] = useState<string[]>([]);
   const [refreshTrigger, setRefreshTrigger] = useState(0);
+  const listeners = useRef(new Set<ChangeListener>());
 
   const addDeck = (deckId: string) => {
     setDecks(prev => [...prev, deckId]);
@@ -35,10 +193,33 @@ export const GameProvider: React.FC<{ children: ReactNode }> = ({ children }) =>
 
   const clearGameDecks = () => {
     setDecks([]);
-  } 
+  }
+
+  const subscribeToChanges = useCallback((listener: ChangeListener) => {
+    listeners.current.add(listener);
+    return () => {
+      listeners.current.delete(listener);
+    };
+  }, []);
+
+  // Changes made elsewhere, by other players or tabs, arrive through the game's feed one
+  // coalesced batch at a time, and each view applies the deltas it is affected by
+  useEffect(() => {
+    if (!gameId) {
+      return;
+    }
+    return followGame(gameId, events => listeners.current.forEach(listener => listener(events)));
+  }, [gameId]);
+
+  // The players and their hands are shown by several views, so they are kept here once
+  const [players, playersLoading] = useVersionedView(
+    gameId, refreshTrigger, subscribeToChanges, getPlayersSorted, applyToPlayers, []);
 
   return (
-    <GameContext.Provider value={{ gameId, setGameId, gameName, setGameName, decks, addDeck, refreshTrigger, triggerRefresh, clearGameDecks, replaceDecks }}>
+    <GameContext.Provider value={{
+      gameId, setGameId, gameName, setGameName, decks, addDeck, refreshTrigger, triggerRefresh, clearGameDecks,
+      replaceDecks, players: players || [], playersLoading, subscribeToChanges,
+    }}>
       {children}
     </GameContext.Provider>
   );
@@ -52,3 +233,13 @@ export const useGame = () => {
   return context;
 };
 
+// Reads a view of the current game and keeps it up to date from the game's feed
+// (see useVersionedView). `apply` returns the view after a delta, or null to read it again.
+export const useGameView = <T,>(
+  load: (gameId: string) => Promise<Versioned<T>>,
+  apply: (data: T, event: GameEvent) => T | null,
+  deps: React.DependencyList = [],
+): [T | null, boolean] => {
+  const { gameId, refreshTrigger, subscribeToChanges } = useGame();
+  return useVersionedView(gameId, refreshTrigger, subscribeToChanges, load, apply, deps);
+};
@@ -1,4 +1,4 @@
-import axios from 'axios';
+import axios, { AxiosResponse } from 'axios';
 import {
   CreateGameResponse,
   CreateDeckResponse,
@@ -6,10 +6,15 @@ import {
   AddPlayerRequest,
   DealCardsRequest,
   Card,
+  FaceValue,
   Player,
-  Game,
+  GameEvent,
+  GameSummary,
+  GameSummaryCounts,
+  Suit,
   UndealtCardsBySuit,
-  UndealtCardsCount
+  UndealtCardsCount,
+  Versioned
 } from '../types';
 
 const API_BASE_URL = process.env.REACT_APP_API_URL || 'http://localhost:8080/api';
@@ -21,6 +26,12 @@ const apiClient = axios.create({
   },
 });
 
+// Reads the game version from a response's ETag, e.g. "7" or "7-compact"
+const versioned = <T>(response: AxiosResponse<T>): Versioned<T> => {
+  const etag: string = response.headers['etag'] || '';
+  return { data: response.data, version: parseInt(etag.replace(/^W\//, '').replace(/"/g, ''), 10) };
+};
+
 // Games
 export const createGame = async (name: string): Promise<CreateGameResponse> => {
   const response = await apiClient.post<CreateGameResponse>('/games', { name });
@@ -35,9 +46,15 @@ export const resetGame = async (gameId: string): Promise<void> => {
   await apiClient.post(`/games/${gameId}/reset`);
 };
 
-export const getGames = async (): Promise<Game[]> => {
-  const response = await apiClient.get<Game[]>(`/games`);
-  return response.data;
+export const getGames = async (): Promise<GameSummary[]> => {
+  const games: GameSummary[] = [];
+  let after: string | undefined;
+  do {
+    const response = await apiClient.get<GameSummary[]>(`/games`, { params: { after } });
+    games.push(...response.data);
+    after = response.headers['x-next-cursor'];
+  } while (after);
+  return games;
 };
 
 export const addDeckToGame = async (gameId: string, request: AddDeckRequest): Promise<void> => {
@@ -72,28 +89,70 @@ export const getPlayerCards = async (gameId: string, playerName: string): Promis
   return response.data;
 };
 
-export const getPlayersSorted = async (gameId: string): Promise<Player[]> => {
+export const getGameCounts = async (gameId: string): Promise<Versioned<GameSummaryCounts>> => {
+  const response = await apiClient.get<GameSummaryCounts>(`/games/${gameId}`, {
+    params: { fields: 'shoeSize,playerCount' },
+  });
+  return versioned(response);
+};
+
+export const getPlayersSorted = async (gameId: string): Promise<Versioned<Player[]>> => {
   const response = await apiClient.get<Player[]>(`/games/${gameId}/players`);
-  return response.data;
+  return versioned(response);
 };
 
-export const getUndealtCardsBySuit = async (gameId: string): Promise<UndealtCardsBySuit> => {
+export const getUndealtCardsBySuit = async (gameId: string): Promise<Versioned<UndealtCardsBySuit>> => {
   const response = await apiClient.get<UndealtCardsBySuit>(`/games/${gameId}/undealt/suits`);
-  return response.data;
+  return versioned(response);
 };
 
-export const getUndealtCardsCount = async (gameId: string): Promise<UndealtCardsCount> => {
+export const getUndealtCardsCount = async (gameId: string): Promise<Versioned<UndealtCardsCount>> => {
   const response = await apiClient.get<UndealtCardsCount>(`/games/${gameId}/undealt/cards`);
-  return response.data;
+  return versioned(response);
 };
 
 export const shuffleGameDeck = async (gameId: string): Promise<void> => {
   await apiClient.post(`/games/${gameId}/shuffle`);
 };
 
+// Streams the game's changes until the returned function is called. Each batch holds
+// the deltas applied since the previous one. The browser reconnects on its own, and since
+// changes made while disconnected are not replayed, a reconnect is reported as a RESYNC.
+export const followGame = (gameId: string, onChanges: (events: GameEvent[]) => void): (() => void) => {
+  const source = new EventSource(`${API_BASE_URL}/games/${gameId}/feed`);
+  let connected = false;
+  source.onopen = () => {
+    if (connected) {
+      onChanges([{ type: 'RESYNC', version: 0 }]);
+    }
+    connected = true;
+  };
+  source.addEventListener('changes', event => {
+    onChanges(JSON.parse((event as MessageEvent).data) as GameEvent[]);
+  });
+  return () => source.close();
+};
+
 // Decks
 export const createDeck = async (): Promise<CreateDeckResponse> => {
   const response = await apiClient.post<CreateDeckResponse>('/decks');
   return response.data;
 };
 
+const FACE_VALUES = Object.values(FaceValue); // In code order, A 2-9 T J Q K
+const FACE_CODES = 'A23456789TJQK';
+const FACE_NAMES = ['Ace', '2', '3', '4', '5', '6', '7', '8', '9', '10', 'Jack', 'Queen', 'King'];
+const SUITS: Record<string, Suit> = { H: Suit.HEARTS, S: Suit.SPADES, C: Suit.CLUBS, D: Suit.DIAMONDS };
+
+// Turns a card code from the feed, e.g. KH, back into a card
+export const decodeCard = (code: string): Card => {
+  const face = FACE_CODES.indexOf(code.charAt(0));
+  const suit = SUITS[code.charAt(1)];
+  const suitName = suit.charAt(0) + suit.slice(1).toLowerCase();
+  return {
+    suit,
+    faceValue: FACE_VALUES[face],
+    value: face + 1,
+    displayName: `${FACE_NAMES[face]} of ${suitName}`,
+  };
+};
@@ -45,6 +45,14 @@ export interface Game {
   playerCount: number;
 }
 
+export interface GameSummary {
+  id: string;
+  name: string;
+  shoeSize: number;
+  playerCount: number;
+  deckCount: number;
+}
+
 export interface CreateGameResponse {
   gameId: string;
   name: string;
@@ -75,3 +83,31 @@ export interface UndealtCardsCount {
   cardCounts: Record<Suit, Record<FaceValue, number>>;
 }
 
+export type GameEventType =
+  | 'DEALT'
+  | 'PLAYER_ADDED'
+  | 'PLAYER_REMOVED'
+  | 'DECKS_ADDED'
+  | 'SHUFFLED'
+  | 'RESET'
+  | 'RESYNC';
+
+export interface GameEvent {
+  type: GameEventType;
+  version: number;
+  firstVersion?: number;
+  player?: string;
+  cards?: string[];
+  shoeSize?: number;
+}
+
+export interface GameSummaryCounts {
+  shoeSize: number;
+  playerCount: number;
+}
+
+// A response along with the game version it reflects, taken from its ETag
+export interface Versioned<T> {
+  data: T;
+  version: number;
+}